@@ -0,0 +1,45 @@
+package com.library.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs every benchmark once per thread count and writes one JMH JSON file per run.
+ *
+ * Usage: java -jar target/benchmarks.jar [include-regex] [thread-counts] [output-dir]
+ * e.g.   java -jar target/benchmarks.jar BookService 1,4,16 results/1.0.0
+ */
+public class BenchmarkRunner {
+    private static final String DEFAULT_INCLUDE = "com\\.library\\..*Benchmark";
+    private static final String DEFAULT_THREADS = "1,4,8";
+    private static final String DEFAULT_OUTPUT_DIR = "target/jmh-results";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        String threadCounts = args.length > 1 ? args[1] : DEFAULT_THREADS;
+        File outputDir = new File(args.length > 2 ? args[2] : DEFAULT_OUTPUT_DIR);
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create output directory " + outputDir);
+        }
+
+        for (String count : threadCounts.split(",")) {
+            int threads = Integer.parseInt(count.trim());
+            File result = new File(outputDir, "jmh-threads-" + threads + ".json");
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.getPath())
+                    .build();
+
+            System.out.println("=== Running benchmarks with " + threads + " thread(s) ===");
+            new Runner(options).run();
+            System.out.println("Results written to " + result.getPath());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.library.benchmark;
+
+import com.library.exception.LibraryException;
+import com.library.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        @Param({"1000", "10000", "100000"})
+        public int catalogSize;
+
+        public CatalogFixture fixture;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            fixture = new CatalogFixture(catalogSize, 100, 3);
+        }
+    }
+
+    // Inputs are drawn once per thread and cycled, since a per-invocation fixture would cost
+    // about as much as the lookups being measured
+    @State(Scope.Thread)
+    public static class Lookup {
+        private static final int SAMPLES = 1 << 12;
+
+        private final int[] bookIds = new int[SAMPLES];
+        private final String[] keywords = new String[SAMPLES];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Catalog catalog) {
+            Random random = new Random();
+            for (int i = 0; i < SAMPLES; i++) {
+                bookIds[i] = 1 + random.nextInt(catalog.catalogSize);
+                keywords[i] = CatalogFixture.word(random);
+            }
+        }
+
+        int advance() {
+            int current = next;
+            next = (current + 1) & (SAMPLES - 1);
+            return current;
+        }
+    }
+
+    @Benchmark
+    public Book findBook(Catalog catalog, Lookup lookup) throws LibraryException {
+        return catalog.fixture.bookService.findBook(lookup.bookIds[lookup.advance()]);
+    }
+
+    @Benchmark
+    public List<Book> searchBooks(Catalog catalog, Lookup lookup) throws LibraryException {
+        return catalog.fixture.bookService.searchBooks(lookup.keywords[lookup.advance()]);
+    }
+}
@@ -0,0 +1,70 @@
+package com.library.benchmark;
+
+import com.library.dao.memory.InMemoryBookDAO;
+import com.library.dao.memory.InMemoryHoldDAO;
+import com.library.dao.memory.InMemoryStore;
+import com.library.dao.memory.InMemoryTransactionDAO;
+import com.library.dao.memory.InMemoryUserDAO;
+import com.library.model.Book;
+import com.library.model.User;
+import com.library.service.BookService;
+import com.library.service.HoldService;
+import com.library.service.OverdueSweepService;
+import com.library.service.TransactionService;
+import com.library.service.UserService;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * A seeded in-memory catalog so benchmark numbers measure the service layer, not PostgreSQL.
+ */
+public class CatalogFixture {
+    private static final String[] CATEGORIES = {"Fiction", "History", "Science", "Poetry", "Travel", "Computing"};
+    private static final String[] WORDS = {"river", "shadow", "garden", "winter", "empire", "signal",
+            "harbor", "silent", "machine", "journey", "crown", "ocean", "forest", "letter", "storm", "glass"};
+
+    public final InMemoryBookDAO bookDAO;
+    public final InMemoryUserDAO userDAO;
+    public final InMemoryTransactionDAO transactionDAO;
+    public final BookService bookService;
+    public final UserService userService;
+    public final HoldService holdService;
+    public final TransactionService transactionService;
+    public final int bookCount;
+    public final int userCount;
+
+    public CatalogFixture(int bookCount, int userCount, int copiesPerBook) throws SQLException {
+        InMemoryStore store = new InMemoryStore();
+        this.bookDAO = new InMemoryBookDAO(store);
+        this.userDAO = new InMemoryUserDAO(store);
+        this.transactionDAO = new InMemoryTransactionDAO(store);
+        this.bookService = new BookService(bookDAO);
+        this.userService = new UserService(userDAO);
+        this.holdService = new HoldService(new InMemoryHoldDAO(store), bookService, userService);
+        this.transactionService = new TransactionService(transactionDAO, bookService, userService, holdService,
+                new OverdueSweepService(transactionDAO));
+        this.bookCount = bookCount;
+        this.userCount = userCount;
+
+        Random random = new Random(42);
+        for (int i = 0; i < bookCount; i++) {
+            String title = word(random) + " " + word(random) + " " + i;
+            String author = capitalize(word(random)) + " " + capitalize(word(random));
+            bookDAO.create(new Book(String.format("978%010d", i), title, author,
+                    CATEGORIES[i % CATEGORIES.length], copiesPerBook, LocalDate.of(1950 + i % 70, 1, 1)));
+        }
+        for (int i = 0; i < userCount; i++) {
+            userDAO.create(new User("Reader", "No" + i, "reader" + i + "@example.com", "555" + i));
+        }
+    }
+
+    public static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.library.benchmark;
+
+import com.library.dao.impl.RowMappers;
+import com.library.model.Book;
+import com.library.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private ResultSet bookRow;
+    private ResultSet transactionRow;
+
+    @Setup
+    public void setUp() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        Map<String, Object> book = new HashMap<>();
+        book.put("book_id", 42);
+        book.put("isbn", "9780306406157");
+        book.put("title", "The Silent Harbor");
+        book.put("author", "Ada Winter");
+        book.put("category", "Fiction");
+        book.put("total_copies", 5);
+        book.put("available_copies", 3);
+        book.put("published_date", Date.valueOf(LocalDate.of(1999, 4, 1)));
+        book.put("status", "AVAILABLE");
+        book.put("created_at", now);
+        book.put("updated_at", now);
+        bookRow = StubResultSet.of(book);
+
+        Map<String, Object> transaction = new HashMap<>();
+        transaction.put("transaction_id", 7);
+        transaction.put("book_id", 42);
+        transaction.put("user_id", 3);
+        transaction.put("borrow_date", Date.valueOf(LocalDate.now().minusDays(20)));
+        transaction.put("due_date", Date.valueOf(LocalDate.now().minusDays(6)));
+        transaction.put("return_date", Date.valueOf(LocalDate.now()));
+        transaction.put("status", "OVERDUE");
+        transaction.put("fine_amount", 6.0);
+        transaction.put("created_at", now);
+        transaction.put("updated_at", now);
+        transactionRow = StubResultSet.of(transaction);
+    }
+
+    @Benchmark
+    public Book toBook() throws SQLException {
+        return RowMappers.toBook(bookRow);
+    }
+
+    @Benchmark
+    public Transaction toTransaction() throws SQLException {
+        return RowMappers.toTransaction(transactionRow);
+    }
+}
@@ -0,0 +1,44 @@
+package com.library.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * A single-row ResultSet backed by a column map, so the JDBC mappers can be timed without a driver.
+ */
+class StubResultSet {
+
+    static ResultSet of(Map<String, Object> row) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    Object value = args != null && args.length == 1 ? row.get((String) args[0]) : null;
+                    switch (method.getName()) {
+                        case "getInt":
+                            return value != null ? ((Number) value).intValue() : 0;
+                        case "getLong":
+                            return value != null ? ((Number) value).longValue() : 0L;
+                        case "getDouble":
+                            return value != null ? ((Number) value).doubleValue() : 0.0;
+                        case "getString":
+                            return (String) value;
+                        case "getDate":
+                            return (Date) value;
+                        case "getTimestamp":
+                            return (Timestamp) value;
+                        case "wasNull":
+                            return false;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubResultSet" + row;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,103 @@
+package com.library.benchmark;
+
+import com.library.config.AppConfig;
+import com.library.exception.LibraryException;
+import com.library.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+    private static final int COPIES_PER_BOOK = 1_000_000;
+    private static final int USER_COUNT = 10_000;
+    // Borrows per thread per iteration of borrowBook, timed as one shot
+    private static final int BORROW_BATCH = 1_000;
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        @Param({"1000", "10000", "100000"})
+        public int catalogSize;
+
+        public CatalogFixture fixture;
+
+        // Rebuilt every iteration so the loan history from earlier iterations does not skew later ones
+        @Setup(Level.Iteration)
+        public void setUp() throws SQLException {
+            fixture = new CatalogFixture(catalogSize, USER_COUNT, COPIES_PER_BOOK);
+        }
+    }
+
+    // Inputs are drawn once per thread and cycled, so no fixture runs between measured calls.
+    // Each thread takes its own users in turn, so one batch of borrows never puts a user
+    // over MAX_BOOKS_PER_USER
+    @State(Scope.Thread)
+    public static class Loan {
+        private static final int SAMPLES = 1 << 12;
+
+        private final int[] bookIds = new int[SAMPLES];
+        private final int[] userIds = new int[SAMPLES];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Catalog catalog, ThreadParams threads) {
+            Random random = new Random();
+            int threadCount = threads.getThreadCount();
+            int ownUsers = USER_COUNT / threadCount;
+            if (ownUsers * AppConfig.MAX_BOOKS_PER_USER < BORROW_BATCH) {
+                throw new IllegalStateException("Too many threads for " + USER_COUNT + " users");
+            }
+            for (int i = 0; i < SAMPLES; i++) {
+                bookIds[i] = 1 + random.nextInt(catalog.catalogSize);
+                userIds[i] = 1 + threads.getThreadIndex() + (i % ownUsers) * threadCount;
+            }
+        }
+
+        // The catalog is rebuilt with no loans, so every user starts over
+        @Setup(Level.Iteration)
+        public void rewind() {
+            next = 0;
+        }
+
+        int advance() {
+            int current = next;
+            next = (current + 1) & (SAMPLES - 1);
+            return current;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5, batchSize = BORROW_BATCH)
+    @Measurement(iterations = 10, batchSize = BORROW_BATCH)
+    public int borrowBook(Catalog catalog, Loan loan) throws LibraryException {
+        int sample = loan.advance();
+        return catalog.fixture.transactionService.borrowBook(loan.bookIds[sample], loan.userIds[sample]);
+    }
+
+    @Benchmark
+    public Transaction borrowAndReturnBook(Catalog catalog, Loan loan) throws LibraryException {
+        int sample = loan.advance();
+        int transactionId = catalog.fixture.transactionService.borrowBook(loan.bookIds[sample], loan.userIds[sample]);
+        return catalog.fixture.transactionService.returnBook(transactionId);
+    }
+}
@@ -0,0 +1,60 @@
+package com.library.benchmark;
+
+import com.library.util.ValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private String email;
+    private String phone;
+    private String isbn;
+
+    @Setup
+    public void setUp() {
+        boolean valid = "valid".equals(input);
+        email = valid ? "jane.reader@example.com" : "jane.reader@@example";
+        phone = valid ? "+1-555-0100" : "call me maybe";
+        isbn = valid ? "9780306406157" : "978-03064X";
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return ValidationUtil.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean isValidPhone() {
+        return ValidationUtil.isValidPhone(phone);
+    }
+
+    @Benchmark
+    public boolean isValidISBN() {
+        return ValidationUtil.isValidISBN(isbn);
+    }
+
+    @Benchmark
+    public String sanitizeInput() {
+        return ValidationUtil.sanitizeInput("  " + email + "  ");
+    }
+}
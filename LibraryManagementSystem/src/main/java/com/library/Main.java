@@ -1,5 +1,6 @@
 package com.library;
 
+import com.library.config.AppContext;
 import com.library.ui.ConsoleUI;
 import com.library.util.DatabaseConnection;
 import java.sql.SQLException;
@@ -8,7 +9,10 @@ public class Main {
     public static void main(String[] args) {
         try {
             // Initialize database connection
-            DatabaseConnection.initializeDatabase();
+            if (!AppContext.isInMemory()) {
+                DatabaseConnection.initializeDatabase();
+            }
+            AppContext.get().startBackgroundJobs();
             System.out.println("=== Library Management System Started ===");
 
             // Start the console UI
@@ -19,6 +23,9 @@ public class Main {
             System.err.println("Database connection error: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("Application error: " + e.getMessage());
+        } finally {
+            AppContext.get().shutdown();
+            DatabaseConnection.shutdown();
         }
     }
 }
@@ -1,5 +1,7 @@
 package com.library.config;
 
+import com.library.model.enums.SearchMode;
+import com.library.model.enums.StorageEngine;
 
 public class AppConfig {
     // Application constants
@@ -10,16 +12,93 @@ public class AppConfig {
     public static final int DEFAULT_BORROW_DAYS = 14;
     public static final double FINE_PER_DAY = 1.0;
     public static final int MAX_BOOKS_PER_USER = 5;
+    // Borrowing is refused while a user owes more than this in unpaid fines
+    public static final double MAX_OUTSTANDING_FINES = 10.0;
 
     // Display constants
     public static final int MAX_TITLE_DISPLAY_LENGTH = 30;
     public static final int MAX_AUTHOR_DISPLAY_LENGTH = 20;
     public static final int MAX_NAME_DISPLAY_LENGTH = 25;
     public static final int MAX_EMAIL_DISPLAY_LENGTH = 30;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Search constants
+    public static final SearchMode DEFAULT_SEARCH_MODE = SearchMode.FULL_TEXT;
+    // Fuzzy search returns books sharing at least this fraction of the query's trigrams
+    public static final double FUZZY_SIMILARITY_THRESHOLD = 0.3;
+    public static final int FUZZY_MAX_RESULTS = 20;
+
+    // Autocomplete constants; completions rank books by loans over the last AUTOCOMPLETE_POPULARITY_DAYS
+    public static final int AUTOCOMPLETE_MAX_RESULTS = 10;
+    public static final int AUTOCOMPLETE_POPULARITY_DAYS = 365;
+    public static final long AUTOCOMPLETE_REFRESH_INTERVAL_MS = 300_000;
+    // Each refresh re-reads books written this long before the previous one, for commits that landed late
+    public static final long AUTOCOMPLETE_REFRESH_OVERLAP_MS = 60_000;
+
+    // Storage constants; run with -Dlibrary.storage=memory for the embedded engine
+    public static final StorageEngine STORAGE_ENGINE =
+            StorageEngine.valueOf(System.getProperty("library.storage", "postgres").toUpperCase());
+
+    // Metrics constants; -Dlibrary.metrics=false turns instrumentation off
+    public static final boolean METRICS_ENABLED =
+            !"false".equalsIgnoreCase(System.getProperty("library.metrics"));
+    public static final String METRICS_EXPORT_FILE = "library-metrics.prom";
 
     // Database constants
     public static final int CONNECTION_TIMEOUT = 30;
     public static final int QUERY_TIMEOUT = 15;
+    // Batch lookups bind at most this many ids per query
+    public static final int LOOKUP_BATCH_SIZE = 1_000;
+
+    // Connection pool constants
+    public static final int POOL_MIN_SIZE = 2;
+    public static final int POOL_MAX_SIZE = 10;
+    public static final long POOL_ACQUIRE_TIMEOUT_MS = 5_000;
+    public static final long POOL_IDLE_TIMEOUT_MS = 300_000;
+    public static final long POOL_LEAK_THRESHOLD_MS = 60_000;
+    public static final long POOL_HOUSEKEEPING_INTERVAL_MS = 30_000;
+    public static final int POOL_VALIDATION_TIMEOUT = 2;
+    public static final int STATEMENT_CACHE_SIZE = 64;
+
+    // Async service constants; keeps concurrent async calls within the connection pool
+    public static final int ASYNC_MAX_CONCURRENCY = POOL_MAX_SIZE;
+
+    // Optimistic locking constants; conflicting updates retry with jittered exponential backoff
+    public static final int OPTIMISTIC_MAX_ATTEMPTS = 5;
+    public static final long OPTIMISTIC_BACKOFF_BASE_MS = 5;
+    public static final long OPTIMISTIC_BACKOFF_MAX_MS = 200;
+
+    // Hold queue constants; a ready hold keeps its copy for HOLD_PICKUP_DAYS before it expires
+    public static final int HOLD_PICKUP_DAYS = 3;
+    public static final long HOLD_EXPIRY_INTERVAL_MS = 60_000;
+
+    // Inventory constants; how often the maintained counters are checked against a full recount
+    public static final long INVENTORY_RECONCILE_INTERVAL_MS = 900_000;
+
+    // Overdue sweep constants; the job wakes hourly but does a full pass once per day
+    public static final int OVERDUE_SWEEP_CHUNK_SIZE = 1_000;
+    public static final long OVERDUE_SWEEP_INITIAL_DELAY_MS = 60_000;
+    public static final long OVERDUE_SWEEP_INTERVAL_MS = 3_600_000;
+
+    // Archive constants; loans returned more than ARCHIVE_AFTER_DAYS ago move out of the live table
+    public static final int ARCHIVE_AFTER_DAYS = 90;
+    public static final int ARCHIVE_CHUNK_SIZE = 1_000;
+    public static final long ARCHIVE_INITIAL_DELAY_MS = 600_000;
+    public static final long ARCHIVE_INTERVAL_MS = 86_400_000;
+
+    // Entity cache constants
+    public static final int BOOK_CACHE_SIZE = 10_000;
+    public static final int USER_CACHE_SIZE = 10_000;
+    public static final long ENTITY_CACHE_TTL_MS = 300_000;
+
+    // Bulk import constants
+    public static final int IMPORT_BATCH_SIZE = 1_000;
+
+    // Export constants; progress is reported every EXPORT_PROGRESS_INTERVAL rows
+    public static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    public static final int EXPORT_PROGRESS_INTERVAL = 10_000;
+    public static final String EXPORT_DEFAULT_FILE = "transactions-export";
 
     // Validation constants
     public static final int MIN_ISBN_LENGTH = 10;
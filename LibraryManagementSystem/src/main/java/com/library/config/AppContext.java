@@ -0,0 +1,235 @@
+package com.library.config;
+
+import com.library.dao.impl.BookDAOImpl;
+import com.library.dao.impl.HoldDAOImpl;
+import com.library.dao.impl.IndexingBookDAO;
+import com.library.dao.impl.InventoryDAOImpl;
+import com.library.dao.impl.CachingBookDAO;
+import com.library.dao.impl.CachingUserDAO;
+import com.library.dao.impl.TransactionDAOImpl;
+import com.library.dao.impl.UserDAOImpl;
+import com.library.dao.interfaces.BookDAO;
+import com.library.dao.interfaces.HoldDAO;
+import com.library.dao.interfaces.InventoryDAO;
+import com.library.dao.interfaces.TransactionDAO;
+import com.library.dao.interfaces.UserDAO;
+import com.library.dao.memory.InMemoryBookDAO;
+import com.library.dao.memory.InMemoryHoldDAO;
+import com.library.dao.memory.InMemoryInventoryDAO;
+import com.library.dao.memory.InMemoryStore;
+import com.library.dao.memory.InMemoryTransactionDAO;
+import com.library.dao.memory.InMemoryUserDAO;
+import com.library.metrics.InstrumentedProxy;
+import com.library.model.enums.StorageEngine;
+import com.library.search.AutocompleteIndex;
+import com.library.service.AsyncLibraryService;
+import com.library.service.AutocompleteService;
+import com.library.service.BookService;
+import com.library.service.CatalogImportService;
+import com.library.service.HoldService;
+import com.library.service.InstrumentedBookService;
+import com.library.service.InstrumentedTransactionService;
+import com.library.service.InstrumentedUserService;
+import com.library.service.InventoryService;
+import com.library.service.OverdueSweepService;
+import com.library.service.TransactionArchiveService;
+import com.library.service.TransactionExportService;
+import com.library.service.TransactionService;
+import com.library.service.UserService;
+import com.library.util.AsyncExecutor;
+import com.library.util.Lazy;
+import com.library.util.LruCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application's single object graph. Every DAO and service is built once, on first
+ * use, and shared process-wide so caches, metrics and invalidations are never split
+ * across duplicate instances.
+ */
+public class AppContext {
+    private static final AppContext INSTANCE = new AppContext();
+
+    private final Lazy<InMemoryStore> memoryStore = new Lazy<>(InMemoryStore::new);
+    private final Lazy<CachingBookDAO> bookCache = new Lazy<>(() ->
+            new CachingBookDAO(new BookDAOImpl(), AppConfig.BOOK_CACHE_SIZE, AppConfig.ENTITY_CACHE_TTL_MS));
+    private final Lazy<CachingUserDAO> userCache = new Lazy<>(() ->
+            new CachingUserDAO(new UserDAOImpl(), AppConfig.USER_CACHE_SIZE, AppConfig.ENTITY_CACHE_TTL_MS));
+
+    private final Lazy<AutocompleteIndex> autocompleteIndex =
+            new Lazy<>(() -> new AutocompleteIndex(AppConfig.AUTOCOMPLETE_MAX_RESULTS));
+
+    private final Lazy<BookDAO> bookDAO = new Lazy<>(this::createBookDAO);
+    private final Lazy<UserDAO> userDAO = new Lazy<>(this::createUserDAO);
+    private final Lazy<TransactionDAO> transactionDAO = new Lazy<>(this::createTransactionDAO);
+    private final Lazy<HoldDAO> holdDAO = new Lazy<>(this::createHoldDAO);
+    private final Lazy<InventoryDAO> inventoryDAO = new Lazy<>(this::createInventoryDAO);
+
+    private final Lazy<BookService> bookService = new Lazy<>(this::createBookService);
+    private final Lazy<UserService> userService = new Lazy<>(this::createUserService);
+    private final Lazy<TransactionService> transactionService = new Lazy<>(this::createTransactionService);
+    private final Lazy<HoldService> holdService = new Lazy<>(this::createHoldService);
+    private final Lazy<InventoryService> inventoryService = new Lazy<>(this::createInventoryService);
+    private final Lazy<OverdueSweepService> overdueSweepService = new Lazy<>(this::createOverdueSweepService);
+    private final Lazy<TransactionArchiveService> transactionArchiveService =
+            new Lazy<>(this::createTransactionArchiveService);
+    private final Lazy<AutocompleteService> autocompleteService = new Lazy<>(this::createAutocompleteService);
+    private final Lazy<ScheduledExecutorService> scheduler = new Lazy<>(AppContext::createScheduler);
+    private final Lazy<CatalogImportService> catalogImportService =
+            new Lazy<>(() -> new CatalogImportService(bookDAO()));
+    private final Lazy<TransactionExportService> transactionExportService =
+            new Lazy<>(() -> new TransactionExportService(transactionDAO()));
+    private final Lazy<AsyncExecutor> asyncExecutor =
+            new Lazy<>(() -> new AsyncExecutor(AppConfig.ASYNC_MAX_CONCURRENCY));
+    private final Lazy<AsyncLibraryService> asyncLibraryService = new Lazy<>(() ->
+            new AsyncLibraryService(bookService(), userService(), transactionService(), asyncExecutor.get()));
+
+    public static AppContext get() {
+        return INSTANCE;
+    }
+
+    public static boolean isInMemory() {
+        return AppConfig.STORAGE_ENGINE == StorageEngine.MEMORY;
+    }
+
+    public BookDAO bookDAO() { return bookDAO.get(); }
+    public UserDAO userDAO() { return userDAO.get(); }
+    public TransactionDAO transactionDAO() { return transactionDAO.get(); }
+    public BookService bookService() { return bookService.get(); }
+    public UserService userService() { return userService.get(); }
+    public TransactionService transactionService() { return transactionService.get(); }
+    public HoldDAO holdDAO() { return holdDAO.get(); }
+    public InventoryDAO inventoryDAO() { return inventoryDAO.get(); }
+    public HoldService holdService() { return holdService.get(); }
+    public InventoryService inventoryService() { return inventoryService.get(); }
+    public OverdueSweepService overdueSweepService() { return overdueSweepService.get(); }
+    public TransactionArchiveService transactionArchiveService() { return transactionArchiveService.get(); }
+    public AutocompleteService autocompleteService() { return autocompleteService.get(); }
+    public CatalogImportService catalogImportService() { return catalogImportService.get(); }
+    public TransactionExportService transactionExportService() { return transactionExportService.get(); }
+    public AsyncLibraryService asyncLibraryService() { return asyncLibraryService.get(); }
+
+    // Null until the first async call
+    public AsyncExecutor getAsyncExecutor() {
+        return asyncExecutor.isInitialized() ? asyncExecutor.get() : null;
+    }
+
+    // Each job resolves its service when it first runs, so startup itself builds no DAO or service
+    public void startBackgroundJobs() {
+        schedule("expiring holds", () -> holdService().expireReadyHolds(),
+                AppConfig.HOLD_EXPIRY_INTERVAL_MS, AppConfig.HOLD_EXPIRY_INTERVAL_MS);
+        schedule("reconciling inventory", () -> inventoryService().reconcile(),
+                AppConfig.INVENTORY_RECONCILE_INTERVAL_MS, AppConfig.INVENTORY_RECONCILE_INTERVAL_MS);
+        schedule("sweeping overdue loans", () -> overdueSweepService().runSweep(),
+                AppConfig.OVERDUE_SWEEP_INITIAL_DELAY_MS, AppConfig.OVERDUE_SWEEP_INTERVAL_MS);
+        schedule("archiving returned loans", () -> transactionArchiveService().archiveReturnedLoans(),
+                AppConfig.ARCHIVE_INITIAL_DELAY_MS, AppConfig.ARCHIVE_INTERVAL_MS);
+        // The index is built by the first lookup; the job only keeps it fresh afterwards
+        schedule("refreshing autocomplete index", () -> autocompleteService().refresh(),
+                AppConfig.AUTOCOMPLETE_REFRESH_INTERVAL_MS, AppConfig.AUTOCOMPLETE_REFRESH_INTERVAL_MS);
+    }
+
+    public void shutdown() {
+        if (scheduler.isInitialized()) {
+            scheduler.get().shutdownNow();
+        }
+        if (asyncExecutor.isInitialized()) {
+            asyncExecutor.get().shutdown();
+        }
+    }
+
+    // Null until the corresponding cache has been built
+    public LruCache.Stats getBookCacheStats() {
+        return bookCache.isInitialized() ? bookCache.get().getStats() : null;
+    }
+
+    public LruCache.Stats getUserCacheStats() {
+        return userCache.isInitialized() ? userCache.get().getStats() : null;
+    }
+
+    private BookDAO createBookDAO() {
+        BookDAO dao = isInMemory() ? new InMemoryBookDAO(memoryStore.get()) : bookCache.get();
+        return instrument(BookDAO.class, new IndexingBookDAO(dao, autocompleteIndex.get()), "BookDAO");
+    }
+
+    private UserDAO createUserDAO() {
+        UserDAO dao = isInMemory() ? new InMemoryUserDAO(memoryStore.get()) : userCache.get();
+        return instrument(UserDAO.class, dao, "UserDAO");
+    }
+
+    private TransactionDAO createTransactionDAO() {
+        TransactionDAO dao = isInMemory() ? new InMemoryTransactionDAO(memoryStore.get()) : new TransactionDAOImpl();
+        return instrument(TransactionDAO.class, dao, "TransactionDAO");
+    }
+
+    private HoldDAO createHoldDAO() {
+        HoldDAO dao = isInMemory() ? new InMemoryHoldDAO(memoryStore.get()) : new HoldDAOImpl();
+        return instrument(HoldDAO.class, dao, "HoldDAO");
+    }
+
+    private InventoryDAO createInventoryDAO() {
+        InventoryDAO dao = isInMemory() ? new InMemoryInventoryDAO(memoryStore.get()) : new InventoryDAOImpl();
+        return instrument(InventoryDAO.class, dao, "InventoryDAO");
+    }
+
+    private HoldService createHoldService() {
+        return new HoldService(holdDAO(), bookService(), userService());
+    }
+
+    private InventoryService createInventoryService() {
+        return new InventoryService(inventoryDAO());
+    }
+
+    private OverdueSweepService createOverdueSweepService() {
+        return new OverdueSweepService(transactionDAO());
+    }
+
+    private TransactionArchiveService createTransactionArchiveService() {
+        return new TransactionArchiveService(transactionDAO());
+    }
+
+    private AutocompleteService createAutocompleteService() {
+        return new AutocompleteService(autocompleteIndex.get(), bookDAO(), transactionDAO());
+    }
+
+    private void schedule(String description, Callable<?> job, long initialDelayMs, long intervalMs) {
+        scheduler.get().scheduleWithFixedDelay(() -> {
+            try {
+                job.call();
+            } catch (Exception e) {
+                System.err.println("Error " + description + ": " + e.getMessage());
+            }
+        }, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "library-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private BookService createBookService() {
+        return AppConfig.METRICS_ENABLED ? new InstrumentedBookService(bookDAO()) : new BookService(bookDAO());
+    }
+
+    private UserService createUserService() {
+        return AppConfig.METRICS_ENABLED ? new InstrumentedUserService(userDAO()) : new UserService(userDAO());
+    }
+
+    private TransactionService createTransactionService() {
+        return AppConfig.METRICS_ENABLED
+                ? new InstrumentedTransactionService(transactionDAO(), bookService(), userService(), holdService(),
+                        overdueSweepService())
+                : new TransactionService(transactionDAO(), bookService(), userService(), holdService(),
+                        overdueSweepService());
+    }
+
+    private static <T> T instrument(Class<T> type, T dao, String name) {
+        return AppConfig.METRICS_ENABLED ? InstrumentedProxy.wrap(type, dao, name) : dao;
+    }
+}
@@ -1,14 +1,22 @@
 package com.library.dao.impl;
 
 
+import com.library.config.AppConfig;
 import com.library.dao.interfaces.BookDAO;
 import com.library.model.Book;
-import com.library.model.enums.BookStatus;
+import com.library.model.BookMatch;
+import com.library.model.Page;
+import com.library.util.CursorUtil;
 import com.library.util.DatabaseConnection;
+import com.library.util.DatabaseUtil;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BookDAOImpl implements BookDAO{
     @Override
@@ -43,6 +51,43 @@ public class BookDAOImpl implements BookDAO{
         return -1;
     }
 
+    @Override
+    public int[] createBatch(List<Book> books) throws SQLException {
+        // Rows whose ISBN is already catalogued report an update count of 0
+        String sql = """
+            INSERT INTO books (isbn, title, author, category, total_copies,
+                             available_copies, published_date, status)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (isbn) DO NOTHING
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Book book : books) {
+                    pstmt.setString(1, book.getIsbn());
+                    pstmt.setString(2, book.getTitle());
+                    pstmt.setString(3, book.getAuthor());
+                    pstmt.setString(4, book.getCategory());
+                    pstmt.setInt(5, book.getTotalCopies());
+                    pstmt.setInt(6, book.getAvailableCopies());
+                    pstmt.setDate(7, Date.valueOf(book.getPublishedDate()));
+                    pstmt.setString(8, book.getStatus().name());
+                    pstmt.addBatch();
+                }
+
+                int[] counts = pstmt.executeBatch();
+                conn.commit();
+                return counts;
+            } catch (SQLException e) {
+                DatabaseUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
     @Override
     public Book findById(int id) throws SQLException {
         String sql = "SELECT * FROM books WHERE book_id = ?";
@@ -53,7 +98,7 @@ public class BookDAOImpl implements BookDAO{
             pstmt.setInt(1, id);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToBook(rs);
+                    return RowMappers.toBook(rs);
                 }
             }
         }
@@ -70,13 +115,38 @@ public class BookDAOImpl implements BookDAO{
             pstmt.setString(1, isbn);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToBook(rs);
+                    return RowMappers.toBook(rs);
                 }
             }
         }
         return null;
     }
 
+    @Override
+    public Map<Integer, Book> findByIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, Book> books = new HashMap<>();
+        List<Integer[]> chunks = DatabaseUtil.chunkIds(ids, AppConfig.LOOKUP_BATCH_SIZE);
+        if (chunks.isEmpty()) {
+            return books;
+        }
+        String sql = "SELECT * FROM books WHERE book_id = ANY(?)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (Integer[] chunk : chunks) {
+                pstmt.setArray(1, conn.createArrayOf("integer", chunk));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Book book = RowMappers.toBook(rs);
+                        books.put(book.getBookId(), book);
+                    }
+                }
+            }
+        }
+        return books;
+    }
+
     @Override
     public List<Book> findAll() throws SQLException {
         List<Book> books = new ArrayList<>();
@@ -87,7 +157,25 @@ public class BookDAOImpl implements BookDAO{
              ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
-                books.add(mapResultSetToBook(rs));
+                books.add(RowMappers.toBook(rs));
+            }
+        }
+        return books;
+    }
+
+    @Override
+    public List<Book> findUpdatedSince(LocalDateTime since) throws SQLException {
+        List<Book> books = new ArrayList<>();
+        String sql = "SELECT * FROM books WHERE updated_at >= ? ORDER BY book_id";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(since));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    books.add(RowMappers.toBook(rs));
+                }
             }
         }
         return books;
@@ -113,7 +201,7 @@ public class BookDAOImpl implements BookDAO{
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(RowMappers.toBook(rs));
                 }
             }
         }
@@ -125,8 +213,9 @@ public class BookDAOImpl implements BookDAO{
         String sql = """
             UPDATE books SET title = ?, author = ?, category = ?, 
                            total_copies = ?, available_copies = ?, 
-                           published_date = ?, status = ?, updated_at = CURRENT_TIMESTAMP
-            WHERE book_id = ?
+                           published_date = ?, status = ?, updated_at = CURRENT_TIMESTAMP,
+                           version = version + 1
+            WHERE book_id = ? AND version = ?
             """;
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -140,14 +229,19 @@ public class BookDAOImpl implements BookDAO{
             pstmt.setDate(6, Date.valueOf(book.getPublishedDate()));
             pstmt.setString(7, book.getStatus().name());
             pstmt.setInt(8, book.getBookId());
+            pstmt.setInt(9, book.getVersion());
 
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            book.setVersion(book.getVersion() + 1);
+            return true;
         }
     }
 
     @Override
     public boolean delete(int id) throws SQLException {
-        String sql = "UPDATE books SET status = 'DELETED', updated_at = CURRENT_TIMESTAMP WHERE book_id = ?";
+        String sql = "UPDATE books SET status = 'DELETED', updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE book_id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -158,33 +252,189 @@ public class BookDAOImpl implements BookDAO{
     }
 
     @Override
-    public boolean updateAvailability(int bookId, int availableCopies) throws SQLException {
-        String sql = "UPDATE books SET available_copies = ?, updated_at = CURRENT_TIMESTAMP WHERE book_id = ?";
+    public boolean updateAvailability(int bookId, int availableCopies, int expectedVersion) throws SQLException {
+        String sql = "UPDATE books SET available_copies = ?, updated_at = CURRENT_TIMESTAMP, version = version + 1"
+                + " WHERE book_id = ? AND version = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, availableCopies);
             pstmt.setInt(2, bookId);
+            pstmt.setInt(3, expectedVersion);
 
             return pstmt.executeUpdate() > 0;
         }
     }
 
-    private Book mapResultSetToBook(ResultSet rs) throws SQLException {
-        Book book = new Book();
-        book.setBookId(rs.getInt("book_id"));
-        book.setIsbn(rs.getString("isbn"));
-        book.setTitle(rs.getString("title"));
-        book.setAuthor(rs.getString("author"));
-        book.setCategory(rs.getString("category"));
-        book.setTotalCopies(rs.getInt("total_copies"));
-        book.setAvailableCopies(rs.getInt("available_copies"));
-        book.setPublishedDate(rs.getDate("published_date").toLocalDate());
-        book.setStatus(BookStatus.valueOf(rs.getString("status")));
-        book.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime().toLocalDate());
-        book.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime().toLocalDate());
-        return book;
+    @Override
+    public Page<Book> findAllPage(String cursor, int pageSize) throws SQLException {
+        String[] after = cursor != null ? CursorUtil.decode(cursor, 2) : null;
+        String sql = "SELECT * FROM books WHERE status != 'DELETED'"
+                + (after != null ? " AND (title, book_id) > (?, ?)" : "")
+                + " ORDER BY title, book_id LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (after != null) {
+                pstmt.setString(index++, after[0]);
+                pstmt.setInt(index++, Integer.parseInt(after[1]));
+            }
+            pstmt.setInt(index, pageSize + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return toPage(rs, pageSize);
+            }
+        }
+    }
+
+    @Override
+    public Page<Book> searchBooksPage(String keyword, String cursor, int pageSize) throws SQLException {
+        String[] after = cursor != null ? CursorUtil.decode(cursor, 2) : null;
+        String sql = """
+            SELECT * FROM books
+            WHERE status != 'DELETED'
+            AND (LOWER(title) LIKE ? OR LOWER(author) LIKE ? OR LOWER(category) LIKE ?)
+            """
+                + (after != null ? " AND (title, book_id) > (?, ?)" : "")
+                + " ORDER BY title, book_id LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            String searchPattern = "%" + keyword.toLowerCase() + "%";
+            pstmt.setString(1, searchPattern);
+            pstmt.setString(2, searchPattern);
+            pstmt.setString(3, searchPattern);
+            int index = 4;
+            if (after != null) {
+                pstmt.setString(index++, after[0]);
+                pstmt.setInt(index++, Integer.parseInt(after[1]));
+            }
+            pstmt.setInt(index, pageSize + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return toPage(rs, pageSize);
+            }
+        }
+    }
+
+    @Override
+    public Page<Book> searchBooksRanked(String keyword, String cursor, int pageSize) throws SQLException {
+        String tsQuery = toPrefixTsQuery(keyword);
+        if (tsQuery.isEmpty()) {
+            return new Page<>(new ArrayList<>(), null);
+        }
+
+        // Relevance order has no stable seek key, so ranked pages carry an offset
+        int offset = cursor != null ? Integer.parseInt(CursorUtil.decode(cursor, 1)[0]) : 0;
+        String sql = """
+            SELECT b.*, ts_rank_cd(b.search_vector, q) AS rank
+            FROM books b, to_tsquery('english', ?) q
+            WHERE b.status != 'DELETED' AND b.search_vector @@ q
+            ORDER BY rank DESC, b.book_id
+            LIMIT ? OFFSET ?
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, tsQuery);
+            pstmt.setInt(2, pageSize + 1);
+            pstmt.setInt(3, offset);
+
+            List<Book> books = new ArrayList<>();
+            boolean more = false;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (books.size() == pageSize) {
+                        more = true;
+                        break;
+                    }
+                    books.add(RowMappers.toBook(rs));
+                }
+            }
+            return new Page<>(books, more ? CursorUtil.encode(String.valueOf(offset + pageSize)) : null);
+        }
+    }
+
+    @Override
+    public List<BookMatch> searchBooksFuzzy(String keyword, double threshold, int limit) throws SQLException {
+        // <% is index-assisted and filters on pg_trgm.word_similarity_threshold, which
+        // set_config scopes to this transaction so pooled connections keep the default
+        String sql = """
+            SELECT b.*, word_similarity(?, b.search_text) AS similarity
+            FROM books b
+            WHERE b.status != 'DELETED' AND ? <% b.search_text
+            ORDER BY similarity DESC, b.book_id
+            LIMIT ?
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement setThreshold = conn.prepareStatement(
+                         "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)");
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                setThreshold.setString(1, String.valueOf(threshold));
+                setThreshold.executeQuery().close();
+
+                pstmt.setString(1, keyword);
+                pstmt.setString(2, keyword);
+                pstmt.setInt(3, limit);
+
+                List<BookMatch> matches = new ArrayList<>();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        matches.add(new BookMatch(RowMappers.toBook(rs), rs.getDouble("similarity")));
+                    }
+                }
+                conn.commit();
+                return matches;
+            } catch (SQLException e) {
+                DatabaseUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Turns free text into an AND of prefix terms, e.g. "lord ring" -> "lord:* & ring:*"
+    private String toPrefixTsQuery(String keyword) {
+        StringBuilder query = new StringBuilder();
+        for (String token : keyword.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(" & ");
+            }
+            query.append(token).append(":*");
+        }
+        return query.toString();
+    }
+
+    // Reads up to pageSize + 1 rows; the extra row only signals that another page exists
+    private Page<Book> toPage(ResultSet rs, int pageSize) throws SQLException {
+        List<Book> books = new ArrayList<>();
+        boolean more = false;
+        while (rs.next()) {
+            if (books.size() == pageSize) {
+                more = true;
+                break;
+            }
+            books.add(RowMappers.toBook(rs));
+        }
+
+        String nextCursor = null;
+        if (more) {
+            Book last = books.get(books.size() - 1);
+            nextCursor = CursorUtil.encode(last.getTitle(), String.valueOf(last.getBookId()));
+        }
+        return new Page<>(books, nextCursor);
     }
 }
 
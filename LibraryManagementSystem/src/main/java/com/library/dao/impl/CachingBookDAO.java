@@ -0,0 +1,179 @@
+package com.library.dao.impl;
+
+import com.library.dao.interfaces.BookDAO;
+import com.library.model.Book;
+import com.library.model.BookMatch;
+import com.library.model.Page;
+import com.library.util.LruCache;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-through cache in front of another BookDAO. Single-book lookups are served
+ * from memory; every write through this DAO invalidates the affected entry.
+ */
+public class CachingBookDAO implements BookDAO {
+    private final BookDAO delegate;
+    private final LruCache<Integer, Book> byId;
+    private final LruCache<String, Integer> idByIsbn;
+
+    public CachingBookDAO(BookDAO delegate, int maxSize, long ttlMillis) {
+        this.delegate = delegate;
+        this.byId = new LruCache<>(maxSize, ttlMillis);
+        this.idByIsbn = new LruCache<>(maxSize, ttlMillis);
+    }
+
+    @Override
+    public int create(Book book) throws SQLException {
+        return delegate.create(book);
+    }
+
+    @Override
+    public int[] createBatch(List<Book> books) throws SQLException {
+        return delegate.createBatch(books);
+    }
+
+    @Override
+    public Book findById(int id) throws SQLException {
+        Book cached = byId.get(id);
+        if (cached != null) {
+            return new Book(cached);
+        }
+
+        long stamp = byId.generation();
+        Book book = delegate.findById(id);
+        if (book != null) {
+            cache(book, stamp);
+        }
+        return book;
+    }
+
+    @Override
+    public Book findByIsbn(String isbn) throws SQLException {
+        Integer id = idByIsbn.get(isbn);
+        if (id != null) {
+            Book cached = byId.get(id);
+            if (cached != null && isbn.equals(cached.getIsbn())) {
+                return new Book(cached);
+            }
+        }
+
+        long stamp = byId.generation();
+        Book book = delegate.findByIsbn(isbn);
+        if (book != null) {
+            cache(book, stamp);
+        }
+        return book;
+    }
+
+    // Cached entries are answered from memory; only the misses go to the delegate, in one batch
+    @Override
+    public Map<Integer, Book> findByIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, Book> found = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer id : ids) {
+            if (id == null || found.containsKey(id)) {
+                continue;
+            }
+            Book cached = byId.get(id);
+            if (cached != null) {
+                found.put(id, new Book(cached));
+            } else {
+                misses.add(id);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        long stamp = byId.generation();
+        for (Book book : delegate.findByIds(misses).values()) {
+            cache(book, stamp);
+            found.put(book.getBookId(), book);
+        }
+        return found;
+    }
+
+    private void cache(Book book, long stamp) {
+        byId.put(book.getBookId(), new Book(book), stamp);
+        idByIsbn.put(book.getIsbn(), book.getBookId());
+    }
+
+    @Override
+    public List<Book> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Book> findUpdatedSince(LocalDateTime since) throws SQLException {
+        return delegate.findUpdatedSince(since);
+    }
+
+    @Override
+    public List<Book> searchBooks(String keyword) throws SQLException {
+        return delegate.searchBooks(keyword);
+    }
+
+    @Override
+    public boolean update(Book book) throws SQLException {
+        try {
+            return delegate.update(book);
+        } finally {
+            byId.invalidate(book.getBookId());
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            byId.invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean updateAvailability(int bookId, int availableCopies, int expectedVersion) throws SQLException {
+        try {
+            return delegate.updateAvailability(bookId, availableCopies, expectedVersion);
+        } finally {
+            byId.invalidate(bookId);
+        }
+    }
+
+    @Override
+    public Page<Book> findAllPage(String cursor, int pageSize) throws SQLException {
+        return delegate.findAllPage(cursor, pageSize);
+    }
+
+    @Override
+    public Page<Book> searchBooksPage(String keyword, String cursor, int pageSize) throws SQLException {
+        return delegate.searchBooksPage(keyword, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Book> searchBooksRanked(String keyword, String cursor, int pageSize) throws SQLException {
+        return delegate.searchBooksRanked(keyword, cursor, pageSize);
+    }
+
+    @Override
+    public List<BookMatch> searchBooksFuzzy(String keyword, double threshold, int limit) throws SQLException {
+        return delegate.searchBooksFuzzy(keyword, threshold, limit);
+    }
+
+    @Override
+    public void invalidate(int bookId) {
+        byId.invalidate(bookId);
+        delegate.invalidate(bookId);
+    }
+
+    public LruCache.Stats getStats() {
+        return byId.getStats();
+    }
+}
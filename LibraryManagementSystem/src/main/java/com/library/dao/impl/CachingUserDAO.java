@@ -0,0 +1,153 @@
+package com.library.dao.impl;
+
+import com.library.dao.interfaces.UserDAO;
+import com.library.model.Page;
+import com.library.model.User;
+import com.library.util.LruCache;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-through cache in front of another UserDAO. Single-user lookups are served
+ * from memory; every write through this DAO invalidates the affected entry.
+ */
+public class CachingUserDAO implements UserDAO {
+    private final UserDAO delegate;
+    private final LruCache<Integer, User> byId;
+    private final LruCache<String, Integer> idByEmail;
+
+    public CachingUserDAO(UserDAO delegate, int maxSize, long ttlMillis) {
+        this.delegate = delegate;
+        this.byId = new LruCache<>(maxSize, ttlMillis);
+        this.idByEmail = new LruCache<>(maxSize, ttlMillis);
+    }
+
+    @Override
+    public int create(User user) throws SQLException {
+        return delegate.create(user);
+    }
+
+    @Override
+    public User findById(int id) throws SQLException {
+        User cached = byId.get(id);
+        if (cached != null) {
+            return new User(cached);
+        }
+
+        long stamp = byId.generation();
+        User user = delegate.findById(id);
+        if (user != null) {
+            cache(user, stamp);
+        }
+        return user;
+    }
+
+    @Override
+    public User findByEmail(String email) throws SQLException {
+        Integer id = idByEmail.get(email);
+        if (id != null) {
+            // The email may have changed since it was indexed, so confirm it still matches
+            User cached = byId.get(id);
+            if (cached != null && email.equals(cached.getEmail())) {
+                return new User(cached);
+            }
+        }
+
+        long stamp = byId.generation();
+        User user = delegate.findByEmail(email);
+        if (user != null) {
+            cache(user, stamp);
+        }
+        return user;
+    }
+
+    // Cached entries are answered from memory; only the misses go to the delegate, in one batch
+    @Override
+    public Map<Integer, User> findByIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, User> found = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer id : ids) {
+            if (id == null || found.containsKey(id)) {
+                continue;
+            }
+            User cached = byId.get(id);
+            if (cached != null) {
+                found.put(id, new User(cached));
+            } else {
+                misses.add(id);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        long stamp = byId.generation();
+        for (User user : delegate.findByIds(misses).values()) {
+            cache(user, stamp);
+            found.put(user.getUserId(), user);
+        }
+        return found;
+    }
+
+    private void cache(User user, long stamp) {
+        byId.put(user.getUserId(), new User(user), stamp);
+        idByEmail.put(user.getEmail(), user.getUserId());
+    }
+
+    @Override
+    public List<User> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<User> searchUsers(String keyword) throws SQLException {
+        return delegate.searchUsers(keyword);
+    }
+
+    @Override
+    public boolean update(User user) throws SQLException {
+        try {
+            return delegate.update(user);
+        } finally {
+            byId.invalidate(user.getUserId());
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            byId.invalidate(id);
+        }
+    }
+
+    @Override
+    public Page<User> findAllPage(String cursor, int pageSize) throws SQLException {
+        return delegate.findAllPage(cursor, pageSize);
+    }
+
+    @Override
+    public double recordFinePayment(int userId, double amount) throws SQLException {
+        try {
+            return delegate.recordFinePayment(userId, amount);
+        } finally {
+            byId.invalidate(userId);
+        }
+    }
+
+    @Override
+    public void invalidate(int userId) {
+        byId.invalidate(userId);
+        delegate.invalidate(userId);
+    }
+
+    public LruCache.Stats getStats() {
+        return byId.getStats();
+    }
+}
@@ -0,0 +1,199 @@
+package com.library.dao.impl;
+
+import com.library.dao.interfaces.HoldDAO;
+import com.library.model.Hold;
+import com.library.model.enums.HoldStatus;
+import com.library.util.DatabaseConnection;
+import com.library.util.DatabaseUtil;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class HoldDAOImpl implements HoldDAO {
+
+    @Override
+    public int create(Hold hold) throws SQLException {
+        String sql = """
+            INSERT INTO holds (book_id, user_id, priority, status, placed_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setInt(1, hold.getBookId());
+            pstmt.setInt(2, hold.getUserId());
+            pstmt.setInt(3, hold.getPriority());
+            pstmt.setString(4, hold.getStatus().name());
+            pstmt.setTimestamp(5, Timestamp.valueOf(hold.getPlacedAt()));
+
+            int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Hold findById(int id) throws SQLException {
+        List<Hold> holds = query("SELECT * FROM holds WHERE hold_id = ?", id);
+        return holds.isEmpty() ? null : holds.get(0);
+    }
+
+    @Override
+    public List<Hold> findByUserId(int userId) throws SQLException {
+        return query("SELECT * FROM holds WHERE user_id = ? ORDER BY placed_at DESC, hold_id DESC", userId);
+    }
+
+    @Override
+    public List<Hold> findByBookId(int bookId) throws SQLException {
+        return query("""
+            SELECT * FROM holds WHERE book_id = ?
+            ORDER BY status, priority DESC, placed_at, hold_id
+            """, bookId);
+    }
+
+    @Override
+    public List<Hold> findActive() throws SQLException {
+        return query("""
+            SELECT * FROM holds WHERE status IN ('WAITING', 'READY')
+            ORDER BY book_id, priority DESC, placed_at, hold_id
+            """);
+    }
+
+    @Override
+    public List<Hold> findExpiredReady(LocalDate asOf) throws SQLException {
+        String sql = "SELECT * FROM holds WHERE status = 'READY' AND expiry_date < ? ORDER BY expiry_date, hold_id";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setDate(1, Date.valueOf(asOf));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return mapAll(rs);
+            }
+        }
+    }
+
+    @Override
+    public boolean allocate(int holdId, int bookId, LocalDate expiryDate) throws SQLException {
+        // RESERVED only once the claim takes the last copy off the shelf
+        String claimCopy = """
+            UPDATE books SET available_copies = available_copies - 1,
+                             status = CASE WHEN available_copies = 1 THEN 'RESERVED' ELSE status END,
+                             updated_at = CURRENT_TIMESTAMP, version = version + 1
+            WHERE book_id = ? AND available_copies > 0 AND status != 'DELETED'
+            """;
+        String readyHold = """
+            UPDATE holds SET status = 'READY', ready_date = CURRENT_DATE, expiry_date = ?,
+                             updated_at = CURRENT_TIMESTAMP
+            WHERE hold_id = ? AND book_id = ? AND status = 'WAITING'
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement claim = conn.prepareStatement(claimCopy);
+                 PreparedStatement ready = conn.prepareStatement(readyHold)) {
+
+                claim.setInt(1, bookId);
+                if (claim.executeUpdate() == 0) {
+                    DatabaseUtil.rollback(conn);
+                    return false;
+                }
+
+                // The hold row lock makes a concurrent allocate of the same hold see it as READY
+                ready.setDate(1, Date.valueOf(expiryDate));
+                ready.setInt(2, holdId);
+                ready.setInt(3, bookId);
+                if (ready.executeUpdate() == 0) {
+                    DatabaseUtil.rollback(conn);
+                    return false;
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                DatabaseUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
+    public Hold release(int holdId, HoldStatus newStatus) throws SQLException {
+        String sql = """
+            WITH target AS (
+                SELECT * FROM holds WHERE hold_id = ? AND status IN ('WAITING', 'READY') FOR UPDATE
+            ), released AS (
+                UPDATE holds h SET status = ?, updated_at = CURRENT_TIMESTAMP
+                FROM target WHERE h.hold_id = target.hold_id
+                RETURNING target.*
+            ), restocked AS (
+                UPDATE books b SET available_copies = LEAST(b.available_copies + 1, b.total_copies),
+                    status = CASE WHEN b.status = 'RESERVED' THEN 'AVAILABLE' ELSE b.status END,
+                    updated_at = CURRENT_TIMESTAMP, version = b.version + 1
+                WHERE b.book_id IN (SELECT book_id FROM released WHERE status = 'READY')
+            )
+            SELECT * FROM released
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, holdId);
+            pstmt.setString(2, newStatus.name());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapResultSetToHold(rs) : null;
+            }
+        }
+    }
+
+    private List<Hold> query(String sql, Object... params) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return mapAll(rs);
+            }
+        }
+    }
+
+    private List<Hold> mapAll(ResultSet rs) throws SQLException {
+        List<Hold> holds = new ArrayList<>();
+        while (rs.next()) {
+            holds.add(mapResultSetToHold(rs));
+        }
+        return holds;
+    }
+
+    Hold mapResultSetToHold(ResultSet rs) throws SQLException {
+        Hold hold = new Hold();
+        hold.setHoldId(rs.getInt("hold_id"));
+        hold.setBookId(rs.getInt("book_id"));
+        hold.setUserId(rs.getInt("user_id"));
+        hold.setPriority(rs.getInt("priority"));
+        hold.setStatus(HoldStatus.valueOf(rs.getString("status")));
+        hold.setPlacedAt(rs.getTimestamp("placed_at").toLocalDateTime());
+
+        Date readyDate = rs.getDate("ready_date");
+        if (readyDate != null) {
+            hold.setReadyDate(readyDate.toLocalDate());
+        }
+        Date expiryDate = rs.getDate("expiry_date");
+        if (expiryDate != null) {
+            hold.setExpiryDate(expiryDate.toLocalDate());
+        }
+        return hold;
+    }
+}
@@ -0,0 +1,121 @@
+package com.library.dao.impl;
+
+import com.library.dao.interfaces.BookDAO;
+import com.library.model.Book;
+import com.library.model.BookMatch;
+import com.library.model.Page;
+import com.library.search.AutocompleteIndex;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the autocomplete index in step with every catalog write made through the wrapped DAO.
+ * A batch insert marks the index for a rebuild rather than indexing books one by one.
+ */
+public class IndexingBookDAO implements BookDAO {
+    private final BookDAO delegate;
+    private final AutocompleteIndex index;
+
+    public IndexingBookDAO(BookDAO delegate, AutocompleteIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    @Override
+    public int create(Book book) throws SQLException {
+        int bookId = delegate.create(book);
+        Book indexed = new Book(book);
+        indexed.setBookId(bookId);
+        index.put(indexed);
+        return bookId;
+    }
+
+    @Override
+    public int[] createBatch(List<Book> books) throws SQLException {
+        int[] counts = delegate.createBatch(books);
+        index.markStale();
+        return counts;
+    }
+
+    @Override
+    public Book findById(int id) throws SQLException {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Map<Integer, Book> findByIds(Collection<Integer> ids) throws SQLException {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    public Book findByIsbn(String isbn) throws SQLException {
+        return delegate.findByIsbn(isbn);
+    }
+
+    @Override
+    public List<Book> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Book> findUpdatedSince(LocalDateTime since) throws SQLException {
+        return delegate.findUpdatedSince(since);
+    }
+
+    @Override
+    public List<Book> searchBooks(String keyword) throws SQLException {
+        return delegate.searchBooks(keyword);
+    }
+
+    @Override
+    public boolean update(Book book) throws SQLException {
+        boolean updated = delegate.update(book);
+        if (updated) {
+            index.put(book);
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        boolean deleted = delegate.delete(id);
+        if (deleted) {
+            index.remove(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean updateAvailability(int bookId, int availableCopies, int expectedVersion) throws SQLException {
+        return delegate.updateAvailability(bookId, availableCopies, expectedVersion);
+    }
+
+    @Override
+    public Page<Book> findAllPage(String cursor, int pageSize) throws SQLException {
+        return delegate.findAllPage(cursor, pageSize);
+    }
+
+    @Override
+    public Page<Book> searchBooksPage(String keyword, String cursor, int pageSize) throws SQLException {
+        return delegate.searchBooksPage(keyword, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Book> searchBooksRanked(String keyword, String cursor, int pageSize) throws SQLException {
+        return delegate.searchBooksRanked(keyword, cursor, pageSize);
+    }
+
+    @Override
+    public List<BookMatch> searchBooksFuzzy(String keyword, double threshold, int limit) throws SQLException {
+        return delegate.searchBooksFuzzy(keyword, threshold, limit);
+    }
+
+    @Override
+    public void invalidate(int bookId) {
+        delegate.invalidate(bookId);
+    }
+}
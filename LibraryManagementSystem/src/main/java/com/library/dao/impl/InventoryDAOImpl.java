@@ -0,0 +1,133 @@
+package com.library.dao.impl;
+
+import com.library.config.AppConfig;
+import com.library.dao.interfaces.InventoryDAO;
+import com.library.model.InventorySummary;
+import com.library.util.DatabaseConnection;
+import com.library.util.DatabaseUtil;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InventoryDAOImpl implements InventoryDAO {
+    private static final String SERIALIZATION_FAILURE = "40001";
+
+    @Override
+    public InventorySummary getTotals() throws SQLException {
+        // A handful of rows per category, so this stays cheap however large the catalog grows
+        String sql = """
+            SELECT COALESCE(SUM(title_count), 0) AS title_count,
+                   COALESCE(SUM(total_copies), 0) AS total_copies,
+                   COALESCE(SUM(available_copies), 0) AS available_copies
+            FROM inventory_summary
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return new InventorySummary(InventorySummary.ALL_CATEGORIES, rs.getInt("title_count"),
+                    rs.getLong("total_copies"), rs.getLong("available_copies"));
+        }
+    }
+
+    @Override
+    public List<InventorySummary> getCategoryBreakdown() throws SQLException {
+        String sql = """
+            SELECT category, SUM(title_count) AS title_count, SUM(total_copies) AS total_copies,
+                   SUM(available_copies) AS available_copies
+            FROM inventory_summary
+            GROUP BY category
+            HAVING SUM(title_count) > 0
+            ORDER BY category
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            return mapResultSetToSummaries(rs);
+        }
+    }
+
+    @Override
+    public List<InventorySummary> reconcile() throws SQLException {
+        // Recount and repair in one statement; categories that emptied out come back as zeros.
+        // Counters and books are read from the same snapshot, so the difference is the drift,
+        // and adding it to a category's first shard leaves changes the triggers make meanwhile intact
+        String sql = """
+            WITH actual AS (
+                SELECT COALESCE(category, ?) AS category, COUNT(*) AS title_count,
+                       SUM(total_copies) AS total_copies, SUM(available_copies) AS available_copies
+                FROM books WHERE status != 'DELETED'
+                GROUP BY 1
+            ), counted AS (
+                SELECT category, SUM(title_count) AS title_count, SUM(total_copies) AS total_copies,
+                       SUM(available_copies) AS available_copies
+                FROM inventory_summary
+                GROUP BY category
+            ), drift AS (
+                SELECT COALESCE(a.category, s.category) AS category,
+                       COALESCE(a.title_count, 0) - COALESCE(s.title_count, 0) AS title_count,
+                       COALESCE(a.total_copies, 0) - COALESCE(s.total_copies, 0) AS total_copies,
+                       COALESCE(a.available_copies, 0) - COALESCE(s.available_copies, 0) AS available_copies
+                FROM actual a
+                FULL JOIN counted s ON s.category = a.category
+                WHERE COALESCE(a.title_count, 0) <> COALESCE(s.title_count, 0)
+                   OR COALESCE(a.total_copies, 0) <> COALESCE(s.total_copies, 0)
+                   OR COALESCE(a.available_copies, 0) <> COALESCE(s.available_copies, 0)
+            ), repaired AS (
+                INSERT INTO inventory_summary AS s (category, shard, title_count, total_copies, available_copies)
+                SELECT category, 0, title_count, total_copies, available_copies FROM drift
+                ON CONFLICT (category, shard) DO UPDATE
+                SET title_count = s.title_count + EXCLUDED.title_count,
+                    total_copies = s.total_copies + EXCLUDED.total_copies,
+                    available_copies = s.available_copies + EXCLUDED.available_copies,
+                    updated_at = CURRENT_TIMESTAMP
+                RETURNING s.category
+            )
+            SELECT r.category, COALESCE(a.title_count, 0) AS title_count,
+                   COALESCE(a.total_copies, 0) AS total_copies, COALESCE(a.available_copies, 0) AS available_copies
+            FROM repaired r
+            LEFT JOIN actual a ON a.category = r.category
+            ORDER BY r.category
+            """;
+
+        // No table lock, so circulation carries on during the scan; a trigger that writes a
+        // shard this repairs first makes this transaction fail to serialize, and it starts over
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                for (int attempt = 1; ; attempt++) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        pstmt.setString(1, InventorySummary.UNCATEGORIZED);
+                        List<InventorySummary> repaired;
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            repaired = mapResultSetToSummaries(rs);
+                        }
+                        conn.commit();
+                        return repaired;
+                    } catch (SQLException e) {
+                        DatabaseUtil.rollback(conn);
+                        if (!SERIALIZATION_FAILURE.equals(e.getSQLState())
+                                || attempt >= AppConfig.OPTIMISTIC_MAX_ATTEMPTS) {
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private List<InventorySummary> mapResultSetToSummaries(ResultSet rs) throws SQLException {
+        List<InventorySummary> summaries = new ArrayList<>();
+        while (rs.next()) {
+            summaries.add(new InventorySummary(rs.getString("category"), rs.getInt("title_count"),
+                    rs.getLong("total_copies"), rs.getLong("available_copies")));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,57 @@
+package com.library.dao.impl;
+
+import com.library.model.Book;
+import com.library.model.Transaction;
+import com.library.model.enums.BookStatus;
+import com.library.model.enums.TransactionStatus;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a books or transactions query to its model object.
+ */
+public final class RowMappers {
+    private RowMappers() {
+    }
+
+    public static Book toBook(ResultSet rs) throws SQLException {
+        Book book = new Book();
+        book.setBookId(rs.getInt("book_id"));
+        book.setIsbn(rs.getString("isbn"));
+        book.setTitle(rs.getString("title"));
+        book.setAuthor(rs.getString("author"));
+        book.setCategory(rs.getString("category"));
+        book.setTotalCopies(rs.getInt("total_copies"));
+        book.setAvailableCopies(rs.getInt("available_copies"));
+        book.setPublishedDate(rs.getDate("published_date").toLocalDate());
+        book.setStatus(BookStatus.valueOf(rs.getString("status")));
+        book.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime().toLocalDate());
+        book.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime().toLocalDate());
+        book.setVersion(rs.getInt("version"));
+        return book;
+    }
+
+    public static Transaction toTransaction(ResultSet rs) throws SQLException {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(rs.getInt("transaction_id"));
+        transaction.setBookId(rs.getInt("book_id"));
+        transaction.setUserId(rs.getInt("user_id"));
+        transaction.setBorrowDate(rs.getDate("borrow_date").toLocalDate());
+        transaction.setDueDate(rs.getDate("due_date").toLocalDate());
+
+        Date returnDate = rs.getDate("return_date");
+        if (returnDate != null) {
+            transaction.setReturnDate(returnDate.toLocalDate());
+        }
+
+        transaction.setStatus(TransactionStatus.valueOf(rs.getString("status")));
+        transaction.setFineAmount(rs.getDouble("fine_amount"));
+        transaction.setReturnedLate(rs.getBoolean("returned_late"));
+        transaction.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime().toLocalDate());
+        transaction.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime().toLocalDate());
+        transaction.setVersion(rs.getInt("version"));
+        return transaction;
+    }
+}
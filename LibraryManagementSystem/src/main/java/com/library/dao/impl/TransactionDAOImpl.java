@@ -1,15 +1,26 @@
 package com.library.dao.impl;
 
 import com.library.dao.interfaces.TransactionDAO;
+import com.library.model.OverdueReportEntry;
+import com.library.model.Page;
+import com.library.model.SweepCheckpoint;
 import com.library.model.Transaction;
-import com.library.model.enums.TransactionStatus;
+import com.library.model.TransactionFilter;
+import com.library.util.CursorUtil;
 import com.library.util.DatabaseConnection;
+import com.library.util.DatabaseUtil;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class TransactionDAOImpl implements TransactionDAO {
+    private static final int STREAM_FETCH_SIZE = 500;
 
     @Override
     public int create(Transaction transaction) throws SQLException {
@@ -43,7 +54,7 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public Transaction findById(int id) throws SQLException {
-        String sql = "SELECT * FROM transactions WHERE transaction_id = ?";
+        String sql = "SELECT * FROM transaction_history WHERE transaction_id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -51,7 +62,7 @@ public class TransactionDAOImpl implements TransactionDAO {
             pstmt.setInt(1, id);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToTransaction(rs);
+                    return RowMappers.toTransaction(rs);
                 }
             }
         }
@@ -61,14 +72,14 @@ public class TransactionDAOImpl implements TransactionDAO {
     @Override
     public List<Transaction> findAll() throws SQLException {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions ORDER BY borrow_date DESC";
+        String sql = "SELECT * FROM transaction_history ORDER BY borrow_date DESC";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
-                transactions.add(mapResultSetToTransaction(rs));
+                transactions.add(RowMappers.toTransaction(rs));
             }
         }
         return transactions;
@@ -77,7 +88,7 @@ public class TransactionDAOImpl implements TransactionDAO {
     @Override
     public List<Transaction> findByUserId(int userId) throws SQLException {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE user_id = ? ORDER BY borrow_date DESC";
+        String sql = "SELECT * FROM transaction_history WHERE user_id = ? ORDER BY borrow_date DESC";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -85,7 +96,7 @@ public class TransactionDAOImpl implements TransactionDAO {
             pstmt.setInt(1, userId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    transactions.add(mapResultSetToTransaction(rs));
+                    transactions.add(RowMappers.toTransaction(rs));
                 }
             }
         }
@@ -95,7 +106,7 @@ public class TransactionDAOImpl implements TransactionDAO {
     @Override
     public List<Transaction> findByBookId(int bookId) throws SQLException {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE book_id = ? ORDER BY borrow_date DESC";
+        String sql = "SELECT * FROM transaction_history WHERE book_id = ? ORDER BY borrow_date DESC";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -103,7 +114,7 @@ public class TransactionDAOImpl implements TransactionDAO {
             pstmt.setInt(1, bookId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    transactions.add(mapResultSetToTransaction(rs));
+                    transactions.add(RowMappers.toTransaction(rs));
                 }
             }
         }
@@ -114,9 +125,9 @@ public class TransactionDAOImpl implements TransactionDAO {
     public List<Transaction> findOverdue() throws SQLException {
         List<Transaction> transactions = new ArrayList<>();
         String sql = """
-            SELECT * FROM transactions 
-            WHERE status = 'BORROWED' AND due_date < CURRENT_DATE
-            ORDER BY due_date ASC
+            SELECT * FROM transactions
+            WHERE status = 'OVERDUE'
+            ORDER BY due_date, transaction_id
             """;
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -124,7 +135,7 @@ public class TransactionDAOImpl implements TransactionDAO {
              ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
-                transactions.add(mapResultSetToTransaction(rs));
+                transactions.add(RowMappers.toTransaction(rs));
             }
         }
         return transactions;
@@ -132,10 +143,19 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public boolean update(Transaction transaction) throws SQLException {
-        String sql = """
-            UPDATE transactions SET return_date = ?, status = ?, fine_amount = ?, 
-                                  updated_at = CURRENT_TIMESTAMP
-            WHERE transaction_id = ?
+        // Archived loans are closed and rarely edited, so only fall back to the archive on a miss
+        if (!updateIn("transactions", transaction) && !updateIn("transactions_archive", transaction)) {
+            return false;
+        }
+        transaction.setVersion(transaction.getVersion() + 1);
+        return true;
+    }
+
+    private boolean updateIn(String table, Transaction transaction) throws SQLException {
+        String sql = "UPDATE " + table + """
+             SET return_date = ?, status = ?, fine_amount = ?,
+                                  updated_at = CURRENT_TIMESTAMP, version = version + 1
+            WHERE transaction_id = ? AND version = ?
             """;
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -149,41 +169,569 @@ public class TransactionDAOImpl implements TransactionDAO {
             pstmt.setString(2, transaction.getStatus().name());
             pstmt.setDouble(3, transaction.getFineAmount());
             pstmt.setInt(4, transaction.getTransactionId());
-
+            pstmt.setInt(5, transaction.getVersion());
             return pstmt.executeUpdate() > 0;
         }
     }
 
     @Override
     public boolean delete(int id) throws SQLException {
-        String sql = "DELETE FROM transactions WHERE transaction_id = ?";
+        String sql = """
+            WITH hot AS (
+                DELETE FROM transactions WHERE transaction_id = ? RETURNING transaction_id
+            ), archived AS (
+                DELETE FROM transactions_archive WHERE transaction_id = ? RETURNING transaction_id
+            )
+            SELECT (SELECT COUNT(*) FROM hot) + (SELECT COUNT(*) FROM archived)
+            """;
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
+            pstmt.setInt(2, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getLong(1) > 0;
+            }
+        }
+    }
+
+    @Override
+    public int borrowBook(int bookId, int userId, LocalDate borrowDate, LocalDate dueDate,
+                          int maxActiveLoans, double maxOutstandingFines) throws SQLException {
+        // The conditional decrement row-locks the book, so concurrent borrowers
+        // re-check available_copies and can never oversell the last copy. The borrower
+        // row is locked first, so one user's concurrent borrows cannot overshoot a limit.
+        // The final SELECT always returns one row, so a refusal carries its reason
+        // without another round trip.
+        String sql = """
+            WITH borrower AS (
+                SELECT status, active_loans, outstanding_fines FROM users WHERE user_id = ? FOR UPDATE
+            ), claimed AS (
+                UPDATE books SET available_copies = available_copies - 1, updated_at = CURRENT_TIMESTAMP,
+                                 version = version + 1
+                WHERE book_id = ? AND available_copies > 0 AND status != 'DELETED'
+                  AND EXISTS (SELECT 1 FROM borrower WHERE status = 'ACTIVE'
+                              AND active_loans < ? AND outstanding_fines <= ?)
+                RETURNING book_id
+            ), counted AS (
+                UPDATE users SET active_loans = active_loans + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE user_id = ? AND EXISTS (SELECT 1 FROM claimed)
+            ), loan AS (
+                INSERT INTO transactions (book_id, user_id, borrow_date, due_date, status, fine_amount)
+                SELECT book_id, ?, ?, ?, 'BORROWED', 0 FROM claimed
+                RETURNING transaction_id
+            )
+            SELECT (SELECT transaction_id FROM loan) AS transaction_id,
+                   EXISTS (SELECT 1 FROM books WHERE book_id = ? AND status != 'DELETED') AS book_found,
+                   b.status AS user_status, b.active_loans, b.outstanding_fines
+            FROM (SELECT 1) AS one
+            LEFT JOIN borrower b ON TRUE
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, bookId);
+            pstmt.setInt(3, maxActiveLoans);
+            pstmt.setDouble(4, maxOutstandingFines);
+            pstmt.setInt(5, userId);
+            pstmt.setInt(6, userId);
+            pstmt.setDate(7, Date.valueOf(borrowDate));
+            pstmt.setDate(8, Date.valueOf(dueDate));
+            pstmt.setInt(9, bookId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                int transactionId = rs.getInt("transaction_id");
+                if (!rs.wasNull()) {
+                    return transactionId;
+                }
+                if (!rs.getBoolean("book_found")) {
+                    return BOOK_NOT_FOUND;
+                }
+                int refusal = userRefusal(rs, maxActiveLoans, maxOutstandingFines);
+                return refusal != 0 ? refusal : NO_COPY_AVAILABLE;
+            }
+        }
+    }
+
+    // Why the borrower columns of a refused loan rule the user out, or 0 if they do not
+    private static int userRefusal(ResultSet rs, int maxActiveLoans, double maxOutstandingFines)
+            throws SQLException {
+        String userStatus = rs.getString("user_status");
+        if (userStatus == null) {
+            return USER_NOT_FOUND;
+        }
+        if (!"ACTIVE".equals(userStatus)) {
+            return USER_NOT_ACTIVE;
+        }
+        if (rs.getInt("active_loans") >= maxActiveLoans) {
+            return LOAN_LIMIT_REACHED;
+        }
+        if (rs.getDouble("outstanding_fines") > maxOutstandingFines) {
+            return FINE_LIMIT_EXCEEDED;
+        }
+        return 0;
+    }
+
+    @Override
+    public Transaction returnBook(int transactionId, LocalDate returnDate, double finePerDay,
+                                  LocalDate holdExpiryDate) throws SQLException {
+        // A copy that goes straight to the head of the queue never reappears in available_copies
+        String sql = """
+            WITH closed AS (
+                UPDATE transactions
+                SET return_date = CAST(? AS DATE),
+                    fine_amount = GREATEST(CAST(? AS DATE) - due_date, 0) * ?,
+                    status = 'RETURNED', returned_late = CAST(? AS DATE) > due_date,
+                    updated_at = CURRENT_TIMESTAMP, version = version + 1
+                WHERE transaction_id = ? AND status IN ('BORROWED', 'OVERDUE')
+                RETURNING *
+            ), uncounted AS (
+                UPDATE users SET active_loans = GREATEST(active_loans - 1, 0),
+                                 outstanding_fines = outstanding_fines + closed.fine_amount,
+                                 updated_at = CURRENT_TIMESTAMP
+                FROM closed
+                WHERE users.user_id = closed.user_id
+            ), next_hold AS (
+                SELECT hold_id FROM holds
+                WHERE book_id IN (SELECT book_id FROM closed) AND status = 'WAITING'
+                ORDER BY priority DESC, placed_at, hold_id
+                LIMIT 1
+                FOR UPDATE
+            ), allocated AS (
+                UPDATE holds SET status = 'READY', ready_date = CAST(? AS DATE), expiry_date = ?,
+                                 updated_at = CURRENT_TIMESTAMP
+                WHERE hold_id IN (SELECT hold_id FROM next_hold) AND status = 'WAITING'
+                RETURNING hold_id
+            ), restocked AS (
+                UPDATE books SET
+                    available_copies = CASE WHEN EXISTS (SELECT 1 FROM allocated) THEN available_copies
+                                            ELSE LEAST(available_copies + 1, total_copies) END,
+                    status = CASE WHEN EXISTS (SELECT 1 FROM allocated) AND available_copies = 0 THEN 'RESERVED'
+                                  WHEN NOT EXISTS (SELECT 1 FROM allocated) AND status = 'RESERVED' THEN 'AVAILABLE'
+                                  ELSE status END,
+                    updated_at = CURRENT_TIMESTAMP, version = version + 1
+                WHERE book_id IN (SELECT book_id FROM closed)
+            )
+            SELECT * FROM closed
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            Date date = Date.valueOf(returnDate);
+            pstmt.setDate(1, date);
+            pstmt.setDate(2, date);
+            pstmt.setDouble(3, finePerDay);
+            pstmt.setDate(4, date);
+            pstmt.setInt(5, transactionId);
+            pstmt.setDate(6, date);
+            pstmt.setDate(7, Date.valueOf(holdExpiryDate));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return RowMappers.toTransaction(rs);
+                }
+            }
         }
+        return null;
     }
 
-    private Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
-        Transaction transaction = new Transaction();
-        transaction.setTransactionId(rs.getInt("transaction_id"));
-        transaction.setBookId(rs.getInt("book_id"));
-        transaction.setUserId(rs.getInt("user_id"));
-        transaction.setBorrowDate(rs.getDate("borrow_date").toLocalDate());
-        transaction.setDueDate(rs.getDate("due_date").toLocalDate());
+    @Override
+    public int borrowHeldCopy(int holdId, int userId, LocalDate borrowDate, LocalDate dueDate,
+                              int maxActiveLoans, double maxOutstandingFines) throws SQLException {
+        String sql = """
+            WITH borrower AS (
+                SELECT status, active_loans, outstanding_fines FROM users WHERE user_id = ? FOR UPDATE
+            ), fulfilled AS (
+                UPDATE holds SET status = 'FULFILLED', updated_at = CURRENT_TIMESTAMP
+                WHERE hold_id = ? AND user_id = ? AND status = 'READY'
+                  AND EXISTS (SELECT 1 FROM borrower WHERE status = 'ACTIVE'
+                              AND active_loans < ? AND outstanding_fines <= ?)
+                RETURNING hold_id, book_id
+            ), relabeled AS (
+                UPDATE books b SET
+                    status = CASE WHEN b.status = 'RESERVED' AND NOT EXISTS (
+                                 SELECT 1 FROM holds o WHERE o.book_id = b.book_id AND o.status = 'READY'
+                                 AND o.hold_id <> ?) THEN 'AVAILABLE' ELSE b.status END,
+                    updated_at = CURRENT_TIMESTAMP, version = b.version + 1
+                WHERE b.book_id IN (SELECT book_id FROM fulfilled)
+            ), counted AS (
+                UPDATE users SET active_loans = active_loans + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE user_id = ? AND EXISTS (SELECT 1 FROM fulfilled)
+            ), loan AS (
+                INSERT INTO transactions (book_id, user_id, borrow_date, due_date, status, fine_amount)
+                SELECT book_id, ?, ?, ?, 'BORROWED', 0 FROM fulfilled
+                RETURNING transaction_id
+            )
+            SELECT (SELECT transaction_id FROM loan) AS transaction_id,
+                   b.status AS user_status, b.active_loans, b.outstanding_fines
+            FROM (SELECT 1) AS one
+            LEFT JOIN borrower b ON TRUE
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, holdId);
+            pstmt.setInt(3, userId);
+            pstmt.setInt(4, maxActiveLoans);
+            pstmt.setDouble(5, maxOutstandingFines);
+            pstmt.setInt(6, holdId);
+            pstmt.setInt(7, userId);
+            pstmt.setInt(8, userId);
+            pstmt.setDate(9, Date.valueOf(borrowDate));
+            pstmt.setDate(10, Date.valueOf(dueDate));
 
-        Date returnDate = rs.getDate("return_date");
-        if (returnDate != null) {
-            transaction.setReturnDate(returnDate.toLocalDate());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                int transactionId = rs.getInt("transaction_id");
+                if (!rs.wasNull()) {
+                    return transactionId;
+                }
+                int refusal = userRefusal(rs, maxActiveLoans, maxOutstandingFines);
+                return refusal != 0 ? refusal : HOLD_NOT_READY;
+            }
         }
+    }
 
-        transaction.setStatus(TransactionStatus.valueOf(rs.getString("status")));
-        transaction.setFineAmount(rs.getDouble("fine_amount"));
-        transaction.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime().toLocalDate());
-        transaction.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime().toLocalDate());
-        return transaction;
+    @Override
+    public Page<Transaction> findAllPage(String cursor, int pageSize) throws SQLException {
+        return findPage(null, 0, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Transaction> findByUserIdPage(int userId, String cursor, int pageSize) throws SQLException {
+        return findPage("user_id", userId, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Transaction> findByBookIdPage(int bookId, String cursor, int pageSize) throws SQLException {
+        return findPage("book_id", bookId, cursor, pageSize);
     }
 
+    // Seeks past the (borrow_date, transaction_id) of the previous page's last row
+    private Page<Transaction> findPage(String filterColumn, int filterValue, String cursor, int pageSize)
+            throws SQLException {
+        String[] after = cursor != null ? CursorUtil.decode(cursor, 2) : null;
+        StringBuilder sql = new StringBuilder("SELECT * FROM transaction_history WHERE TRUE");
+        if (filterColumn != null) {
+            sql.append(" AND ").append(filterColumn).append(" = ?");
+        }
+        if (after != null) {
+            sql.append(" AND (borrow_date, transaction_id) < (?, ?)");
+        }
+        sql.append(" ORDER BY borrow_date DESC, transaction_id DESC LIMIT ?");
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            if (filterColumn != null) {
+                pstmt.setInt(index++, filterValue);
+            }
+            if (after != null) {
+                pstmt.setDate(index++, Date.valueOf(LocalDate.parse(after[0])));
+                pstmt.setInt(index++, Integer.parseInt(after[1]));
+            }
+            pstmt.setInt(index, pageSize + 1);
+
+            List<Transaction> transactions = new ArrayList<>();
+            boolean more = false;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (transactions.size() == pageSize) {
+                        more = true;
+                        break;
+                    }
+                    transactions.add(RowMappers.toTransaction(rs));
+                }
+            }
+
+            String nextCursor = null;
+            if (more) {
+                Transaction last = transactions.get(transactions.size() - 1);
+                nextCursor = CursorUtil.encode(last.getBorrowDate().toString(),
+                        String.valueOf(last.getTransactionId()));
+            }
+            return new Page<>(transactions, nextCursor);
+        }
+    }
+
+    @Override
+    public double streamOverdueReport(LocalDate asOf, Consumer<OverdueReportEntry> consumer) throws SQLException {
+        String sql = """
+            SELECT t.transaction_id, t.book_id, b.title, t.user_id,
+                   u.first_name || ' ' || u.last_name AS user_name, t.due_date,
+                   CAST(? AS DATE) - t.due_date AS days_late,
+                   t.fine_amount AS fine
+            FROM transactions t
+            LEFT JOIN books b ON b.book_id = t.book_id
+            LEFT JOIN users u ON u.user_id = t.user_id
+            WHERE t.status = 'OVERDUE'
+            ORDER BY t.due_date, t.transaction_id
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // A fetch size only streams through a server-side cursor inside a transaction
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setDate(1, Date.valueOf(asOf));
+                pstmt.setFetchSize(STREAM_FETCH_SIZE);
+
+                // Totalled here rather than with a window SUM, which would make the server
+                // materialize every row before sending the first
+                double totalFines = 0;
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        double fine = rs.getDouble("fine");
+                        totalFines += fine;
+                        consumer.accept(new OverdueReportEntry(
+                                rs.getInt("transaction_id"),
+                                rs.getInt("book_id"),
+                                rs.getString("title"),
+                                rs.getInt("user_id"),
+                                rs.getString("user_name"),
+                                rs.getDate("due_date").toLocalDate(),
+                                rs.getLong("days_late"),
+                                fine));
+                    }
+                }
+                return totalFines;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
+    public long streamTransactions(TransactionFilter filter, Consumer<Transaction> consumer) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM transaction_history WHERE TRUE");
+        if (filter.getBorrowedFrom() != null) {
+            sql.append(" AND borrow_date >= ?");
+        }
+        if (filter.getBorrowedTo() != null) {
+            sql.append(" AND borrow_date <= ?");
+        }
+        if (!filter.getStatuses().isEmpty()) {
+            sql.append(" AND status = ANY(?)");
+        }
+        sql.append(" ORDER BY borrow_date, transaction_id");
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                int index = 1;
+                if (filter.getBorrowedFrom() != null) {
+                    pstmt.setDate(index++, Date.valueOf(filter.getBorrowedFrom()));
+                }
+                if (filter.getBorrowedTo() != null) {
+                    pstmt.setDate(index++, Date.valueOf(filter.getBorrowedTo()));
+                }
+                if (!filter.getStatuses().isEmpty()) {
+                    Object[] statuses = filter.getStatuses().stream().map(Enum::name).toArray();
+                    pstmt.setArray(index, conn.createArrayOf("varchar", statuses));
+                }
+                pstmt.setFetchSize(STREAM_FETCH_SIZE);
+
+                long rows = 0;
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(RowMappers.toTransaction(rs));
+                        rows++;
+                    }
+                }
+                return rows;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> countLoansByBook(LocalDate borrowedSince) throws SQLException {
+        String sql = """
+            SELECT book_id, COUNT(*) AS loans FROM transaction_history
+            WHERE borrow_date >= ?
+            GROUP BY book_id
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setDate(1, Date.valueOf(borrowedSince));
+            Map<Integer, Long> loans = new HashMap<>();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    loans.put(rs.getInt("book_id"), rs.getLong("loans"));
+                }
+            }
+            return loans;
+        }
+    }
+
+    @Override
+    public int archiveReturnedLoans(LocalDate returnedBefore, int chunkSize) throws SQLException {
+        // Moving rows in one statement keeps every loan in exactly one tier; SKIP LOCKED leaves
+        // rows that a concurrent edit holds for the next chunk
+        String sql = """
+            WITH moved AS (
+                DELETE FROM transactions
+                WHERE transaction_id IN (
+                    SELECT transaction_id FROM transactions
+                    WHERE status = 'RETURNED' AND return_date < ?
+                    ORDER BY return_date, transaction_id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING transaction_id, book_id, user_id, borrow_date, due_date, return_date,
+                          status, returned_late, fine_amount, created_at, updated_at, version
+            )
+            INSERT INTO transactions_archive (transaction_id, book_id, user_id, borrow_date, due_date,
+                                              return_date, status, returned_late, fine_amount,
+                                              created_at, updated_at, version)
+            SELECT * FROM moved
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setDate(1, Date.valueOf(returnedBefore));
+            pstmt.setInt(2, chunkSize);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public SweepCheckpoint findSweepCheckpoint(String jobName) throws SQLException {
+        String sql = "SELECT * FROM sweep_checkpoints WHERE job_name = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, jobName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToCheckpoint(rs);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public SweepCheckpoint sweepOverdueChunk(SweepCheckpoint checkpoint, double finePerDay, int chunkSize)
+            throws SQLException {
+        // Walk open loans in (due_date, transaction_id) order from the checkpoint; rows that
+        // already carry today's status and fine are scanned but not rewritten
+        String sweep = """
+            WITH batch AS (
+                SELECT transaction_id, due_date FROM transactions
+                WHERE status IN ('BORROWED', 'OVERDUE') AND due_date < CAST(? AS DATE)
+                  AND (due_date, transaction_id) > (COALESCE(CAST(? AS DATE), '-infinity'::date), ?)
+                ORDER BY due_date, transaction_id
+                LIMIT ?
+            ), flagged AS (
+                UPDATE transactions t
+                SET status = 'OVERDUE', fine_amount = (CAST(? AS DATE) - t.due_date) * ?,
+                    updated_at = CURRENT_TIMESTAMP, version = t.version + 1
+                FROM batch
+                WHERE t.transaction_id = batch.transaction_id AND t.status IN ('BORROWED', 'OVERDUE')
+                  AND (t.status <> 'OVERDUE' OR t.fine_amount IS DISTINCT FROM (CAST(? AS DATE) - t.due_date) * ?)
+                RETURNING t.transaction_id
+            ), last_row AS (
+                SELECT due_date, transaction_id FROM batch
+                ORDER BY due_date DESC, transaction_id DESC
+                LIMIT 1
+            )
+            SELECT (SELECT COUNT(*) FROM batch) AS scanned,
+                   (SELECT COUNT(*) FROM flagged) AS updated,
+                   (SELECT due_date FROM last_row) AS last_due_date,
+                   (SELECT transaction_id FROM last_row) AS last_transaction_id
+            """;
+        String save = """
+            INSERT INTO sweep_checkpoints (job_name, run_date, last_due_date, last_transaction_id,
+                                           rows_scanned, rows_updated, chunks, started_at, completed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (job_name) DO UPDATE
+            SET run_date = EXCLUDED.run_date, last_due_date = EXCLUDED.last_due_date,
+                last_transaction_id = EXCLUDED.last_transaction_id, rows_scanned = EXCLUDED.rows_scanned,
+                rows_updated = EXCLUDED.rows_updated, chunks = EXCLUDED.chunks,
+                started_at = EXCLUDED.started_at, completed_at = EXCLUDED.completed_at,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement sweepStmt = conn.prepareStatement(sweep);
+                 PreparedStatement saveStmt = conn.prepareStatement(save)) {
+
+                Date runDate = Date.valueOf(checkpoint.getRunDate());
+                sweepStmt.setDate(1, runDate);
+                sweepStmt.setDate(2, checkpoint.getLastDueDate() != null
+                        ? Date.valueOf(checkpoint.getLastDueDate()) : null);
+                sweepStmt.setInt(3, checkpoint.getLastTransactionId());
+                sweepStmt.setInt(4, chunkSize);
+                sweepStmt.setDate(5, runDate);
+                sweepStmt.setDouble(6, finePerDay);
+                sweepStmt.setDate(7, runDate);
+                sweepStmt.setDouble(8, finePerDay);
+
+                SweepCheckpoint next = new SweepCheckpoint(checkpoint);
+                try (ResultSet rs = sweepStmt.executeQuery()) {
+                    rs.next();
+                    int scanned = rs.getInt("scanned");
+                    next.setChunks(checkpoint.getChunks() + 1);
+                    next.setRowsScanned(checkpoint.getRowsScanned() + scanned);
+                    next.setRowsUpdated(checkpoint.getRowsUpdated() + rs.getInt("updated"));
+                    if (scanned > 0) {
+                        next.setLastDueDate(rs.getDate("last_due_date").toLocalDate());
+                        next.setLastTransactionId(rs.getInt("last_transaction_id"));
+                    }
+                    if (scanned < chunkSize) {
+                        next.setCompletedAt(LocalDateTime.now());
+                    }
+                }
+
+                saveStmt.setString(1, next.getJobName());
+                saveStmt.setDate(2, runDate);
+                saveStmt.setDate(3, next.getLastDueDate() != null ? Date.valueOf(next.getLastDueDate()) : null);
+                saveStmt.setInt(4, next.getLastTransactionId());
+                saveStmt.setLong(5, next.getRowsScanned());
+                saveStmt.setLong(6, next.getRowsUpdated());
+                saveStmt.setInt(7, next.getChunks());
+                saveStmt.setTimestamp(8, Timestamp.valueOf(next.getStartedAt()));
+                saveStmt.setTimestamp(9, next.getCompletedAt() != null ? Timestamp.valueOf(next.getCompletedAt()) : null);
+                saveStmt.executeUpdate();
+
+                conn.commit();
+                return next;
+            } catch (SQLException e) {
+                DatabaseUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private SweepCheckpoint mapResultSetToCheckpoint(ResultSet rs) throws SQLException {
+        SweepCheckpoint checkpoint = new SweepCheckpoint();
+        checkpoint.setJobName(rs.getString("job_name"));
+        checkpoint.setRunDate(rs.getDate("run_date").toLocalDate());
+        Date lastDueDate = rs.getDate("last_due_date");
+        checkpoint.setLastDueDate(lastDueDate != null ? lastDueDate.toLocalDate() : null);
+        checkpoint.setLastTransactionId(rs.getInt("last_transaction_id"));
+        checkpoint.setRowsScanned(rs.getLong("rows_scanned"));
+        checkpoint.setRowsUpdated(rs.getLong("rows_updated"));
+        checkpoint.setChunks(rs.getInt("chunks"));
+        checkpoint.setStartedAt(rs.getTimestamp("started_at").toLocalDateTime());
+        Timestamp completedAt = rs.getTimestamp("completed_at");
+        checkpoint.setCompletedAt(completedAt != null ? completedAt.toLocalDateTime() : null);
+        return checkpoint;
+    }
 }
@@ -1,11 +1,19 @@
 package com.library.dao.impl;
 
+import com.library.config.AppConfig;
 import com.library.dao.interfaces.UserDAO;
+import com.library.model.Page;
 import com.library.model.User;
+import com.library.util.CursorUtil;
 import com.library.util.DatabaseConnection;
+import com.library.util.DatabaseUtil;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import com.library.model.enums.UserType;
 import com.library.model.enums.UserStatus;
 
@@ -14,30 +22,161 @@ public class UserDAOImpl implements UserDAO {
 
     @Override
     public User findById(int id) throws SQLException {
+        String sql = "SELECT * FROM users WHERE user_id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToUser(rs);
+                }
+            }
+        }
         return null;
     }
 
     @Override
     public User findByEmail(String email) throws SQLException {
+        String sql = "SELECT * FROM users WHERE email = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, email);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToUser(rs);
+                }
+            }
+        }
         return null;
     }
 
+    @Override
+    public Map<Integer, User> findByIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, User> users = new HashMap<>();
+        List<Integer[]> chunks = DatabaseUtil.chunkIds(ids, AppConfig.LOOKUP_BATCH_SIZE);
+        if (chunks.isEmpty()) {
+            return users;
+        }
+        String sql = "SELECT * FROM users WHERE user_id = ANY(?)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (Integer[] chunk : chunks) {
+                pstmt.setArray(1, conn.createArrayOf("integer", chunk));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        User user = mapResultSetToUser(rs);
+                        users.put(user.getUserId(), user);
+                    }
+                }
+            }
+        }
+        return users;
+    }
+
     @Override
     public List<User> findAll() throws SQLException {
-        return List.of();
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT * FROM users WHERE status != 'DELETED' ORDER BY user_id";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                users.add(mapResultSetToUser(rs));
+            }
+        }
+        return users;
     }
 
     @Override
     public List<User> searchUsers(String keyword) throws SQLException {
-        return List.of();
+        List<User> users = new ArrayList<>();
+        String sql = """
+            SELECT * FROM users
+            WHERE status != 'DELETED'
+            AND (LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? OR LOWER(email) LIKE ?)
+            ORDER BY user_id
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            String searchPattern = "%" + keyword.toLowerCase() + "%";
+            pstmt.setString(1, searchPattern);
+            pstmt.setString(2, searchPattern);
+            pstmt.setString(3, searchPattern);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapResultSetToUser(rs));
+                }
+            }
+        }
+        return users;
     }
 
     @Override
     public boolean update(User user) throws SQLException {
-        return false;
+        String sql = """
+            UPDATE users SET first_name = ?, last_name = ?, email = ?, phone_number = ?,
+                           user_type = ?, status = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE user_id = ?
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, user.getFirstName());
+            pstmt.setString(2, user.getLastName());
+            pstmt.setString(3, user.getEmail());
+            pstmt.setString(4, user.getPhoneNumber());
+            pstmt.setString(5, user.getUserType().name());
+            pstmt.setString(6, user.getStatus().name());
+            pstmt.setInt(7, user.getUserId());
+
+            return pstmt.executeUpdate() > 0;
+        }
     }
 
+    @Override
+    public Page<User> findAllPage(String cursor, int pageSize) throws SQLException {
+        String[] after = cursor != null ? CursorUtil.decode(cursor, 1) : null;
+        String sql = "SELECT * FROM users WHERE status != 'DELETED'"
+                + (after != null ? " AND user_id > ?" : "")
+                + " ORDER BY user_id LIMIT ?";
 
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (after != null) {
+                pstmt.setInt(index++, Integer.parseInt(after[0]));
+            }
+            pstmt.setInt(index, pageSize + 1);
+
+            List<User> users = new ArrayList<>();
+            boolean more = false;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (users.size() == pageSize) {
+                        more = true;
+                        break;
+                    }
+                    users.add(mapResultSetToUser(rs));
+                }
+            }
+
+            String nextCursor = more ? CursorUtil.encode(String.valueOf(users.get(users.size() - 1).getUserId())) : null;
+            return new Page<>(users, nextCursor);
+        }
+    }
 
     @Override
     public int create(User user) throws SQLException {
@@ -56,10 +195,18 @@ public class UserDAOImpl implements UserDAO {
             pstmt.setString(4, user.getPhoneNumber());
             pstmt.setString(5, user.getUserType().name());
             pstmt.setString(6, user.getStatus().name());
-            pstmt.setInt(7, user.getUserId());
+            pstmt.setDate(7, Date.valueOf(user.getRegistrationDate()));
 
-            return pstmt.executeUpdate() ;
+            int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                }
+            }
         }
+        return -1;
     }
 
     @Override
@@ -74,6 +221,28 @@ public class UserDAOImpl implements UserDAO {
         }
     }
 
+    @Override
+    public double recordFinePayment(int userId, double amount) throws SQLException {
+        String sql = """
+            UPDATE users SET outstanding_fines = GREATEST(outstanding_fines - ?, 0), updated_at = CURRENT_TIMESTAMP
+            WHERE user_id = ?
+            RETURNING outstanding_fines
+            """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setDouble(1, amount);
+            pstmt.setInt(2, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getDouble("outstanding_fines");
+                }
+            }
+        }
+        return -1;
+    }
+
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
         User user = new User();
         user.setUserId(rs.getInt("user_id"));
@@ -84,6 +253,8 @@ public class UserDAOImpl implements UserDAO {
         user.setUserType(UserType.valueOf(rs.getString("user_type")));
         user.setStatus(UserStatus.valueOf(rs.getString("status")));
         user.setRegistrationDate(rs.getDate("registration_date").toLocalDate());
+        user.setActiveLoans(rs.getInt("active_loans"));
+        user.setOutstandingFines(rs.getDouble("outstanding_fines"));
         user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime().toLocalDate());
         user.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime().toLocalDate());
         return user;
@@ -1,17 +1,37 @@
 package com.library.dao.interfaces;
 
 import com.library.model.Book;
+import com.library.model.BookMatch;
+import com.library.model.Page;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookDAO {
     int create(Book book) throws SQLException;
+    int[] createBatch(List<Book> books) throws SQLException;
     Book findById(int id) throws SQLException;
+    // Books keyed by id; ids with no book are left out of the map
+    Map<Integer, Book> findByIds(Collection<Integer> ids) throws SQLException;
     Book findByIsbn(String isbn) throws SQLException;
     List<Book> findAll() throws SQLException;
+    // Books written at or after the given time, deleted ones included
+    List<Book> findUpdatedSince(LocalDateTime since) throws SQLException;
     List<Book> searchBooks(String keyword) throws SQLException;
+    // Compare-and-set on book.getVersion(); false if the row is gone or changed since it was read
     boolean update(Book book) throws SQLException;
     boolean delete(int id) throws SQLException;
-    boolean updateAvailability(int bookId, int availableCopies) throws SQLException;
+    // Compare-and-set on expectedVersion, like update(Book)
+    boolean updateAvailability(int bookId, int availableCopies, int expectedVersion) throws SQLException;
+    Page<Book> findAllPage(String cursor, int pageSize) throws SQLException;
+    Page<Book> searchBooksPage(String keyword, String cursor, int pageSize) throws SQLException;
+    Page<Book> searchBooksRanked(String keyword, String cursor, int pageSize) throws SQLException;
+    // Typo-tolerant trigram match over title, author and category, most similar first
+    List<BookMatch> searchBooksFuzzy(String keyword, double threshold, int limit) throws SQLException;
+
+    // Drops any cached copy of the book after it was changed outside this DAO
+    default void invalidate(int bookId) {}
 
 }
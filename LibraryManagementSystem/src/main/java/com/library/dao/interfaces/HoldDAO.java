@@ -0,0 +1,23 @@
+package com.library.dao.interfaces;
+
+import com.library.model.Hold;
+import com.library.model.enums.HoldStatus;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HoldDAO {
+    int create(Hold hold) throws SQLException;
+    Hold findById(int id) throws SQLException;
+    List<Hold> findByUserId(int userId) throws SQLException;
+    List<Hold> findByBookId(int bookId) throws SQLException;
+    // WAITING and READY holds in queue order (priority, then placement)
+    List<Hold> findActive() throws SQLException;
+    List<Hold> findExpiredReady(LocalDate asOf) throws SQLException;
+
+    // Moves one available copy of the book onto a WAITING hold; false if there is no copy or the hold moved on
+    boolean allocate(int holdId, int bookId, LocalDate expiryDate) throws SQLException;
+
+    // Ends an active hold and puts a reserved copy back on the shelf; returns the hold as it was, or null
+    Hold release(int holdId, HoldStatus newStatus) throws SQLException;
+}
@@ -0,0 +1,14 @@
+package com.library.dao.interfaces;
+
+import com.library.model.InventorySummary;
+import java.sql.SQLException;
+import java.util.List;
+
+public interface InventoryDAO {
+    // Catalog-wide totals over non-deleted books, read from the maintained counters
+    InventorySummary getTotals() throws SQLException;
+    List<InventorySummary> getCategoryBreakdown() throws SQLException;
+
+    // Recounts the books table, repairs any drifted counters and returns the corrected categories
+    List<InventorySummary> reconcile() throws SQLException;
+}
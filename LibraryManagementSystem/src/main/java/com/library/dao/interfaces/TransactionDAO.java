@@ -1,16 +1,69 @@
 package com.library.dao.interfaces;
 
+import com.library.model.OverdueReportEntry;
+import com.library.model.Page;
+import com.library.model.SweepCheckpoint;
 import com.library.model.Transaction;
+import com.library.model.TransactionFilter;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+// Lookups by id, user or book cover both the live table and the archive of returned loans;
+// loan, return and overdue operations only ever touch the live table
 public interface TransactionDAO {
+    // borrowBook results other than a new transaction id, one per reason nothing was borrowed
+    int BOOK_NOT_FOUND = -1;
+    int USER_NOT_FOUND = -2;
+    int USER_NOT_ACTIVE = -3;
+    int NO_COPY_AVAILABLE = -4;
+    int LOAN_LIMIT_REACHED = -5;
+    int FINE_LIMIT_EXCEEDED = -6;
+    // borrowHeldCopy only: the hold was cancelled, expired or already collected
+    int HOLD_NOT_READY = -7;
+
     int create(Transaction transaction) throws SQLException;
     Transaction findById(int id) throws SQLException;
     List<Transaction> findAll() throws SQLException;
     List<Transaction> findByUserId(int userId) throws SQLException;
     List<Transaction> findByBookId(int bookId) throws SQLException;
+    // Loans the overdue sweep has flagged OVERDUE, oldest due date first
     List<Transaction> findOverdue() throws SQLException;
+    // Compare-and-set on transaction.getVersion(); false if the row is gone or changed since it was read
     boolean update(Transaction transaction) throws SQLException;
     boolean delete(int id) throws SQLException;
+    // Counts the loan against the user's limits and claims a copy in one statement;
+    // the new transaction id, or one of the negative reasons above
+    int borrowBook(int bookId, int userId, LocalDate borrowDate, LocalDate dueDate,
+                   int maxActiveLoans, double maxOutstandingFines) throws SQLException;
+    // Hands the returned copy to the head of the book's WAITING queue, or restocks it if nobody is waiting.
+    // Also releases the borrower's loan slot and adds the fine to their outstanding balance
+    Transaction returnBook(int transactionId, LocalDate returnDate, double finePerDay,
+                           LocalDate holdExpiryDate) throws SQLException;
+    // Turns a READY hold into a loan of the copy reserved for it, within the same limits;
+    // the new transaction id, HOLD_NOT_READY or the user's reason above
+    int borrowHeldCopy(int holdId, int userId, LocalDate borrowDate, LocalDate dueDate,
+                       int maxActiveLoans, double maxOutstandingFines) throws SQLException;
+    Page<Transaction> findAllPage(String cursor, int pageSize) throws SQLException;
+    Page<Transaction> findByUserIdPage(int userId, String cursor, int pageSize) throws SQLException;
+    Page<Transaction> findByBookIdPage(int bookId, String cursor, int pageSize) throws SQLException;
+    // Streams the flagged loans with the fines the sweep accrued; returns the total
+    double streamOverdueReport(LocalDate asOf, Consumer<OverdueReportEntry> consumer) throws SQLException;
+    // Streams the matching transactions in borrow-date order without holding them all in memory;
+    // returns the number streamed
+    long streamTransactions(TransactionFilter filter, Consumer<Transaction> consumer) throws SQLException;
+    // Loans per book borrowed on or after the date; books with none are absent
+    Map<Integer, Long> countLoansByBook(LocalDate borrowedSince) throws SQLException;
+
+    // The named sweep's saved progress, or null if it has never run
+    SweepCheckpoint findSweepCheckpoint(String jobName) throws SQLException;
+    // Flags the next chunk of open loans due before the run date as OVERDUE with their accrued
+    // fine, then saves the advanced checkpoint in the same transaction and returns it
+    SweepCheckpoint sweepOverdueChunk(SweepCheckpoint checkpoint, double finePerDay, int chunkSize)
+            throws SQLException;
+
+    // Moves up to chunkSize loans returned before the cutoff into the archive; returns how many moved
+    int archiveReturnedLoans(LocalDate returnedBefore, int chunkSize) throws SQLException;
 }
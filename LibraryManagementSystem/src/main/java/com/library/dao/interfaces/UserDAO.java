@@ -1,15 +1,26 @@
 package com.library.dao.interfaces;
 
+import com.library.model.Page;
 import com.library.model.User;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface UserDAO {
     int create(User user) throws SQLException;
     User findById(int id) throws SQLException;
+    // Users keyed by id; ids with no user are left out of the map
+    Map<Integer, User> findByIds(Collection<Integer> ids) throws SQLException;
     User findByEmail(String email) throws SQLException;
     List<User> findAll() throws SQLException;
     List<User> searchUsers(String keyword) throws SQLException;
     boolean update(User user) throws SQLException;
     boolean delete(int id) throws SQLException;
+    Page<User> findAllPage(String cursor, int pageSize) throws SQLException;
+    // Takes a payment off the user's outstanding fines; returns the remaining balance, or -1 if there is no such user
+    double recordFinePayment(int userId, double amount) throws SQLException;
+
+    // Drops any cached copy of the user after it was changed outside this DAO
+    default void invalidate(int userId) {}
 }
@@ -0,0 +1,363 @@
+package com.library.dao.memory;
+
+import com.library.dao.interfaces.BookDAO;
+import com.library.model.Book;
+import com.library.model.BookMatch;
+import com.library.model.Page;
+import com.library.model.enums.BookStatus;
+import com.library.search.TrigramIndex;
+import com.library.util.CursorUtil;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryBookDAO implements BookDAO {
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final InMemoryStore store;
+
+    public InMemoryBookDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public int create(Book book) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            if (store.bookIdByIsbn.containsKey(book.getIsbn())) {
+                throw new SQLException("Book with ISBN " + book.getIsbn() + " already exists", UNIQUE_VIOLATION);
+            }
+            return insert(book);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int[] createBatch(List<Book> books) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            int[] counts = new int[books.size()];
+            for (int i = 0; i < books.size(); i++) {
+                if (!store.bookIdByIsbn.containsKey(books.get(i).getIsbn())) {
+                    insert(books.get(i));
+                    counts[i] = 1;
+                }
+            }
+            return counts;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int insert(Book book) {
+        Book stored = new Book(book);
+        stored.setBookId(store.nextBookId++);
+        stored.setVersion(0);
+        if (stored.getStatus() == null) {
+            stored.setStatus(BookStatus.AVAILABLE);
+        }
+        stored.setCreatedAt(LocalDate.now());
+        stored.setUpdatedAt(LocalDate.now());
+        store.putBook(stored);
+        return stored.getBookId();
+    }
+
+    @Override
+    public Book findById(int id) throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            Book book = store.books.get(id);
+            return book != null ? new Book(book) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Book findByIsbn(String isbn) throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            Integer id = store.bookIdByIsbn.get(isbn);
+            return id != null ? new Book(store.books.get(id)) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<Integer, Book> findByIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, Book> books = new HashMap<>();
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            for (Integer id : ids) {
+                Book book = id != null ? store.books.get(id) : null;
+                if (book != null) {
+                    books.put(id, new Book(book));
+                }
+            }
+            return books;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Book> findAll() throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            List<Book> books = new ArrayList<>(store.activeBooksByTitle.size());
+            for (InMemoryStore.TitleKey key : store.activeBooksByTitle) {
+                books.add(new Book(store.books.get(key.bookId)));
+            }
+            return books;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rows only carry an update date here, so this returns every book written on or after that day
+    @Override
+    public List<Book> findUpdatedSince(LocalDateTime since) throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            LocalDate day = since.toLocalDate();
+            List<Book> books = new ArrayList<>();
+            for (Book book : store.books.values()) {
+                if (book.getUpdatedAt() == null || !book.getUpdatedAt().isBefore(day)) {
+                    books.add(new Book(book));
+                }
+            }
+            return books;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Book> searchBooks(String keyword) throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            String needle = keyword.toLowerCase(Locale.ROOT);
+            List<Book> books = new ArrayList<>();
+            for (InMemoryStore.TitleKey key : store.activeBooksByTitle) {
+                Book book = store.books.get(key.bookId);
+                if (containsIgnoreCase(book, needle)) {
+                    books.add(new Book(book));
+                }
+            }
+            return books;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean update(Book book) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            Book existing = store.books.get(book.getBookId());
+            if (existing == null || existing.getVersion() != book.getVersion()) {
+                return false;
+            }
+            Book updated = new Book(existing);
+            updated.setTitle(book.getTitle());
+            updated.setAuthor(book.getAuthor());
+            updated.setCategory(book.getCategory());
+            updated.setTotalCopies(book.getTotalCopies());
+            updated.setAvailableCopies(book.getAvailableCopies());
+            updated.setPublishedDate(book.getPublishedDate());
+            updated.setStatus(book.getStatus());
+            updated.setUpdatedAt(LocalDate.now());
+            updated.setVersion(existing.getVersion() + 1);
+            store.putBook(updated);
+            book.setVersion(updated.getVersion());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            Book existing = store.books.get(id);
+            if (existing == null) {
+                return false;
+            }
+            Book deleted = new Book(existing);
+            deleted.setStatus(BookStatus.DELETED);
+            deleted.setUpdatedAt(LocalDate.now());
+            deleted.setVersion(existing.getVersion() + 1);
+            store.putBook(deleted);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateAvailability(int bookId, int availableCopies, int expectedVersion) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            Book existing = store.books.get(bookId);
+            if (existing == null || existing.getVersion() != expectedVersion) {
+                return false;
+            }
+            Book updated = new Book(existing);
+            updated.setAvailableCopies(availableCopies);
+            updated.setUpdatedAt(LocalDate.now());
+            updated.setVersion(existing.getVersion() + 1);
+            store.putBook(updated);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Page<Book> findAllPage(String cursor, int pageSize) throws SQLException {
+        return titlePage(null, cursor, pageSize);
+    }
+
+    @Override
+    public Page<Book> searchBooksPage(String keyword, String cursor, int pageSize) throws SQLException {
+        return titlePage(keyword.toLowerCase(Locale.ROOT), cursor, pageSize);
+    }
+
+    private Page<Book> titlePage(String needle, String cursor, int pageSize) {
+        String[] after = cursor != null ? CursorUtil.decode(cursor, 2) : null;
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            Iterable<InMemoryStore.TitleKey> keys = after == null
+                    ? store.activeBooksByTitle
+                    : store.activeBooksByTitle.tailSet(
+                            new InMemoryStore.TitleKey(after[0], Integer.parseInt(after[1])), false);
+
+            List<Book> books = new ArrayList<>();
+            for (InMemoryStore.TitleKey key : keys) {
+                Book book = store.books.get(key.bookId);
+                if (needle != null && !containsIgnoreCase(book, needle)) {
+                    continue;
+                }
+                if (books.size() == pageSize) {
+                    Book last = books.get(books.size() - 1);
+                    return new Page<>(books, CursorUtil.encode(last.getTitle(), String.valueOf(last.getBookId())));
+                }
+                books.add(new Book(book));
+            }
+            return new Page<>(books, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Page<Book> searchBooksRanked(String keyword, String cursor, int pageSize) throws SQLException {
+        String[] terms = keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int offset = cursor != null ? Integer.parseInt(CursorUtil.decode(cursor, 1)[0]) : 0;
+
+        List<Book> matches = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            for (InMemoryStore.TitleKey key : store.activeBooksByTitle) {
+                Book book = store.books.get(key.bookId);
+                double score = rank(book, terms);
+                if (score > 0) {
+                    matches.add(new Book(book));
+                    scores.add(score);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < matches.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> -scores.get(i))
+                .thenComparingInt(i -> matches.get(i).getBookId()));
+
+        List<Book> page = new ArrayList<>();
+        for (int i = offset; i < order.size() && page.size() < pageSize; i++) {
+            page.add(matches.get(order.get(i)));
+        }
+        boolean more = offset + pageSize < order.size();
+        return new Page<>(page, more ? CursorUtil.encode(String.valueOf(offset + pageSize)) : null);
+    }
+
+    @Override
+    public List<BookMatch> searchBooksFuzzy(String keyword, double threshold, int limit) throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            List<BookMatch> matches = new ArrayList<>();
+            for (TrigramIndex.Match match : store.bookTrigrams.search(keyword, threshold, limit)) {
+                matches.add(new BookMatch(new Book(store.books.get(match.getId())), match.getScore()));
+            }
+            return matches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Every term must prefix a word somewhere; title hits weigh most, like the A/B/C weights in SQL
+    private double rank(Book book, String[] terms) {
+        double score = 0;
+        for (String term : terms) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            double best = Math.max(prefixWeight(book.getTitle(), term, 1.0),
+                    Math.max(prefixWeight(book.getAuthor(), term, 0.4), prefixWeight(book.getCategory(), term, 0.2)));
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private double prefixWeight(String field, String term, double weight) {
+        if (field == null) {
+            return 0;
+        }
+        for (String word : field.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.startsWith(term)) {
+                return weight;
+            }
+        }
+        return 0;
+    }
+
+    private boolean containsIgnoreCase(Book book, String needle) {
+        return book.getTitle().toLowerCase(Locale.ROOT).contains(needle)
+                || book.getAuthor().toLowerCase(Locale.ROOT).contains(needle)
+                || (book.getCategory() != null && book.getCategory().toLowerCase(Locale.ROOT).contains(needle));
+    }
+}
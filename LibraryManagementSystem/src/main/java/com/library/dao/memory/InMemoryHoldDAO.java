@@ -0,0 +1,169 @@
+package com.library.dao.memory;
+
+import com.library.dao.interfaces.HoldDAO;
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.enums.BookStatus;
+import com.library.model.enums.HoldStatus;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
+
+public class InMemoryHoldDAO implements HoldDAO {
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    static final Comparator<Hold> QUEUE_ORDER = Comparator.comparingInt(Hold::getBookId)
+            .thenComparing(Comparator.comparingInt(Hold::getPriority).reversed())
+            .thenComparing(Hold::getPlacedAt)
+            .thenComparingInt(Hold::getHoldId);
+
+    private final InMemoryStore store;
+
+    public InMemoryHoldDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public int create(Hold hold) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            if (store.books.get(hold.getBookId()) == null || store.users.get(hold.getUserId()) == null) {
+                throw new SQLException("Hold references a missing book or user", FOREIGN_KEY_VIOLATION);
+            }
+            for (Hold existing : store.holds.values()) {
+                if (existing.isActive() && existing.getBookId() == hold.getBookId()
+                        && existing.getUserId() == hold.getUserId()) {
+                    throw new SQLException("User already holds this book", UNIQUE_VIOLATION);
+                }
+            }
+            Hold stored = new Hold(hold);
+            stored.setHoldId(store.nextHoldId++);
+            store.putHold(stored);
+            return stored.getHoldId();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Hold findById(int id) throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            Hold hold = store.holds.get(id);
+            return hold != null ? new Hold(hold) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Hold> findByUserId(int userId) throws SQLException {
+        List<Hold> holds = select(hold -> hold.getUserId() == userId);
+        holds.sort(Comparator.comparing(Hold::getPlacedAt).thenComparingInt(Hold::getHoldId).reversed());
+        return holds;
+    }
+
+    @Override
+    public List<Hold> findByBookId(int bookId) throws SQLException {
+        List<Hold> holds = select(hold -> hold.getBookId() == bookId);
+        holds.sort(Comparator.comparing(Hold::getStatus).thenComparing(QUEUE_ORDER));
+        return holds;
+    }
+
+    @Override
+    public List<Hold> findActive() throws SQLException {
+        List<Hold> holds = select(Hold::isActive);
+        holds.sort(QUEUE_ORDER);
+        return holds;
+    }
+
+    @Override
+    public List<Hold> findExpiredReady(LocalDate asOf) throws SQLException {
+        List<Hold> holds = select(hold -> hold.getStatus() == HoldStatus.READY && hold.getExpiryDate().isBefore(asOf));
+        holds.sort(Comparator.comparing(Hold::getExpiryDate).thenComparingInt(Hold::getHoldId));
+        return holds;
+    }
+
+    @Override
+    public boolean allocate(int holdId, int bookId, LocalDate expiryDate) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            Hold hold = store.holds.get(holdId);
+            Book book = store.books.get(bookId);
+            if (hold == null || hold.getBookId() != bookId || hold.getStatus() != HoldStatus.WAITING
+                    || book == null || book.getStatus() == BookStatus.DELETED || book.getAvailableCopies() <= 0) {
+                return false;
+            }
+            store.putHold(ready(hold, LocalDate.now(), expiryDate));
+            Book claimed = new Book(book);
+            claimed.setAvailableCopies(book.getAvailableCopies() - 1);
+            claimed.setStatus(store.reservedStatus(claimed));
+            claimed.setUpdatedAt(LocalDate.now());
+            claimed.setVersion(book.getVersion() + 1);
+            store.putBook(claimed);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static Hold ready(Hold hold, LocalDate readyDate, LocalDate expiryDate) {
+        Hold readied = new Hold(hold);
+        readied.setStatus(HoldStatus.READY);
+        readied.setReadyDate(readyDate);
+        readied.setExpiryDate(expiryDate);
+        return readied;
+    }
+
+    @Override
+    public Hold release(int holdId, HoldStatus newStatus) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            Hold hold = store.holds.get(holdId);
+            if (hold == null || !hold.isActive()) {
+                return null;
+            }
+            Hold released = new Hold(hold);
+            released.setStatus(newStatus);
+            store.putHold(released);
+
+            Book book = store.books.get(hold.getBookId());
+            if (hold.getStatus() == HoldStatus.READY && book != null) {
+                Book restocked = new Book(book);
+                restocked.setAvailableCopies(Math.min(book.getAvailableCopies() + 1, book.getTotalCopies()));
+                restocked.setStatus(store.reservedStatus(restocked));
+                restocked.setUpdatedAt(LocalDate.now());
+                restocked.setVersion(book.getVersion() + 1);
+                store.putBook(restocked);
+            }
+            return new Hold(hold);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Hold> select(Predicate<Hold> filter) {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            List<Hold> holds = new ArrayList<>();
+            for (Hold hold : store.holds.values()) {
+                if (filter.test(hold)) {
+                    holds.add(new Hold(hold));
+                }
+            }
+            return holds;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
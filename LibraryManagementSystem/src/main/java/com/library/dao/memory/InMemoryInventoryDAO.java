@@ -0,0 +1,87 @@
+package com.library.dao.memory;
+
+import com.library.dao.interfaces.InventoryDAO;
+import com.library.model.Book;
+import com.library.model.InventorySummary;
+import com.library.model.enums.BookStatus;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryInventoryDAO implements InventoryDAO {
+    private final InMemoryStore store;
+
+    public InMemoryInventoryDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public InventorySummary getTotals() throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            return store.inventoryTotals.toSummary(InventorySummary.ALL_CATEGORIES);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<InventorySummary> getCategoryBreakdown() throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            List<InventorySummary> breakdown = new ArrayList<>();
+            store.inventoryByCategory.forEach((category, tally) -> breakdown.add(tally.toSummary(category)));
+            breakdown.sort(Comparator.comparing(InventorySummary::getCategory));
+            return breakdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<InventorySummary> reconcile() throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            Map<String, InMemoryStore.Tally> actual = new HashMap<>();
+            InMemoryStore.Tally totals = new InMemoryStore.Tally();
+            for (Book book : store.books.values()) {
+                if (book.getStatus() != BookStatus.DELETED) {
+                    actual.computeIfAbsent(InMemoryStore.categoryOf(book), category -> new InMemoryStore.Tally())
+                            .add(book, 1);
+                    totals.add(book, 1);
+                }
+            }
+
+            Set<String> categories = new HashSet<>(actual.keySet());
+            categories.addAll(store.inventoryByCategory.keySet());
+            List<InventorySummary> repaired = new ArrayList<>();
+            for (String category : categories) {
+                InMemoryStore.Tally counted = actual.getOrDefault(category, new InMemoryStore.Tally());
+                InMemoryStore.Tally kept = store.inventoryByCategory.get(category);
+                if (kept == null || !kept.sameAs(counted)) {
+                    repaired.add(counted.toSummary(category));
+                }
+            }
+            repaired.sort(Comparator.comparing(InventorySummary::getCategory));
+
+            store.inventoryByCategory.clear();
+            store.inventoryByCategory.putAll(actual);
+            store.inventoryTotals.titles = totals.titles;
+            store.inventoryTotals.totalCopies = totals.totalCopies;
+            store.inventoryTotals.availableCopies = totals.availableCopies;
+            return repaired;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.library.dao.memory;
+
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.InventorySummary;
+import com.library.model.SweepCheckpoint;
+import com.library.model.Transaction;
+import com.library.model.User;
+import com.library.model.enums.BookStatus;
+import com.library.model.enums.HoldStatus;
+import com.library.model.enums.TransactionStatus;
+import com.library.search.TrigramIndex;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Shared tables and secondary indexes behind the in-memory DAOs. One read/write
+ * lock covers all three tables so multi-table operations such as borrowing stay atomic.
+ */
+public class InMemoryStore {
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Books
+    final IntObjectMap<Book> books = new IntObjectMap<>();
+    final Map<String, Integer> bookIdByIsbn = new HashMap<>();
+    final NavigableSet<TitleKey> activeBooksByTitle = new TreeSet<>(TitleKey.ORDER);
+    // Trigrams of each non-deleted book's title, author and category, for fuzzy search
+    final TrigramIndex bookTrigrams = new TrigramIndex();
+    int nextBookId = 1;
+
+    // Inventory counters over non-deleted books, kept in step by putBook
+    final Map<String, Tally> inventoryByCategory = new HashMap<>();
+    final Tally inventoryTotals = new Tally();
+
+    // Users
+    final IntObjectMap<User> users = new IntObjectMap<>();
+    final Map<String, Integer> userIdByEmail = new HashMap<>();
+    int nextUserId = 1;
+
+    // Transactions; date-ordered sets hold dateKey(date, transactionId)
+    final IntObjectMap<Transaction> transactions = new IntObjectMap<>();
+    final NavigableSet<Long> transactionsByBorrowDate = new TreeSet<>();
+    final IntObjectMap<NavigableSet<Long>> transactionsByUser = new IntObjectMap<>();
+    final IntObjectMap<NavigableSet<Long>> transactionsByBook = new IntObjectMap<>();
+    final NavigableSet<Long> openLoansByDueDate = new TreeSet<>();
+    final NavigableSet<Long> overdueLoansByDueDate = new TreeSet<>();
+    int nextTransactionId = 1;
+    final Map<String, SweepCheckpoint> sweepCheckpoints = new HashMap<>();
+
+    // Holds; READY holds per book are counted by putHold
+    final IntObjectMap<Hold> holds = new IntObjectMap<>();
+    final Map<Integer, Integer> readyHoldsByBook = new HashMap<>();
+    int nextHoldId = 1;
+
+    static long dateKey(LocalDate date, int id) {
+        return (date.toEpochDay() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    static int idOf(long dateKey) {
+        return (int) dateKey;
+    }
+
+    void putBook(Book book) {
+        Book previous = books.put(book.getBookId(), book);
+        if (previous != null) {
+            activeBooksByTitle.remove(new TitleKey(previous.getTitle(), previous.getBookId()));
+            countInventory(previous, -1);
+            if (previous.getStatus() != BookStatus.DELETED) {
+                bookTrigrams.remove(previous.getBookId(), searchTextOf(previous));
+            }
+        }
+        countInventory(book, 1);
+        bookIdByIsbn.put(book.getIsbn(), book.getBookId());
+        if (book.getStatus() != BookStatus.DELETED) {
+            activeBooksByTitle.add(new TitleKey(book.getTitle(), book.getBookId()));
+            bookTrigrams.add(book.getBookId(), searchTextOf(book));
+        }
+    }
+
+    // Same text as the books.search_text column
+    static String searchTextOf(Book book) {
+        return book.getTitle() + " " + book.getAuthor() + " " + (book.getCategory() != null ? book.getCategory() : "");
+    }
+
+    private void countInventory(Book book, int sign) {
+        if (book.getStatus() == BookStatus.DELETED) {
+            return;
+        }
+        inventoryTotals.add(book, sign);
+        Tally tally = inventoryByCategory.computeIfAbsent(categoryOf(book), category -> new Tally());
+        tally.add(book, sign);
+        if (tally.titles == 0) {
+            inventoryByCategory.remove(categoryOf(book));
+        }
+    }
+
+    static String categoryOf(Book book) {
+        return book.getCategory() != null ? book.getCategory() : InventorySummary.UNCATEGORIZED;
+    }
+
+    void putUser(User user) {
+        User previous = users.put(user.getUserId(), user);
+        if (previous != null && !previous.getEmail().equals(user.getEmail())) {
+            userIdByEmail.remove(previous.getEmail());
+        }
+        userIdByEmail.put(user.getEmail(), user.getUserId());
+    }
+
+    void putTransaction(Transaction transaction) {
+        Transaction previous = transactions.put(transaction.getTransactionId(), transaction);
+        if (previous != null) {
+            unindexTransaction(previous);
+        }
+        int id = transaction.getTransactionId();
+        long borrowKey = dateKey(transaction.getBorrowDate(), id);
+        transactionsByBorrowDate.add(borrowKey);
+        indexFor(transactionsByUser, transaction.getUserId()).add(borrowKey);
+        indexFor(transactionsByBook, transaction.getBookId()).add(borrowKey);
+        if (transaction.isOpen()) {
+            openLoansByDueDate.add(dateKey(transaction.getDueDate(), id));
+        }
+        if (transaction.getStatus() == TransactionStatus.OVERDUE) {
+            overdueLoansByDueDate.add(dateKey(transaction.getDueDate(), id));
+        }
+    }
+
+    Transaction removeTransaction(int transactionId) {
+        Transaction removed = transactions.remove(transactionId);
+        if (removed != null) {
+            unindexTransaction(removed);
+        }
+        return removed;
+    }
+
+    private void unindexTransaction(Transaction transaction) {
+        int id = transaction.getTransactionId();
+        long borrowKey = dateKey(transaction.getBorrowDate(), id);
+        transactionsByBorrowDate.remove(borrowKey);
+        indexFor(transactionsByUser, transaction.getUserId()).remove(borrowKey);
+        indexFor(transactionsByBook, transaction.getBookId()).remove(borrowKey);
+        openLoansByDueDate.remove(dateKey(transaction.getDueDate(), id));
+        overdueLoansByDueDate.remove(dateKey(transaction.getDueDate(), id));
+    }
+
+    void putHold(Hold hold) {
+        Hold previous = holds.put(hold.getHoldId(), hold);
+        if (previous != null && previous.getStatus() == HoldStatus.READY) {
+            readyHoldsByBook.computeIfPresent(previous.getBookId(), (bookId, count) -> count > 1 ? count - 1 : null);
+        }
+        if (hold.getStatus() == HoldStatus.READY) {
+            readyHoldsByBook.merge(hold.getBookId(), 1, Integer::sum);
+        }
+    }
+
+    // A book is RESERVED only while no copy is on the shelf and some are set aside for READY holds
+    BookStatus reservedStatus(Book book) {
+        if (book.getStatus() == BookStatus.DELETED) {
+            return BookStatus.DELETED;
+        }
+        if (book.getAvailableCopies() == 0 && readyHoldsByBook.containsKey(book.getBookId())) {
+            return BookStatus.RESERVED;
+        }
+        return book.getStatus() == BookStatus.RESERVED ? BookStatus.AVAILABLE : book.getStatus();
+    }
+
+    void relabelReserved(int bookId) {
+        Book book = books.get(bookId);
+        if (book == null || reservedStatus(book) == book.getStatus()) {
+            return;
+        }
+        Book relabeled = new Book(book);
+        relabeled.setStatus(reservedStatus(book));
+        relabeled.setVersion(book.getVersion() + 1);
+        putBook(relabeled);
+    }
+
+    static NavigableSet<Long> indexFor(IntObjectMap<NavigableSet<Long>> index, int key) {
+        NavigableSet<Long> keys = index.get(key);
+        if (keys == null) {
+            keys = new TreeSet<>();
+            index.put(key, keys);
+        }
+        return keys;
+    }
+
+    static final class Tally {
+        int titles;
+        long totalCopies;
+        long availableCopies;
+
+        void add(Book book, int sign) {
+            titles += sign;
+            totalCopies += sign * (long) book.getTotalCopies();
+            availableCopies += sign * (long) book.getAvailableCopies();
+        }
+
+        boolean sameAs(Tally other) {
+            return titles == other.titles && totalCopies == other.totalCopies
+                    && availableCopies == other.availableCopies;
+        }
+
+        InventorySummary toSummary(String category) {
+            return new InventorySummary(category, titles, totalCopies, availableCopies);
+        }
+    }
+
+    static final class TitleKey {
+        static final Comparator<TitleKey> ORDER =
+                Comparator.comparing((TitleKey key) -> key.title).thenComparingInt(key -> key.bookId);
+
+        final String title;
+        final int bookId;
+
+        TitleKey(String title, int bookId) {
+            this.title = title;
+            this.bookId = bookId;
+        }
+    }
+}
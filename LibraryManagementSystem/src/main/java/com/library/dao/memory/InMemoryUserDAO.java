@@ -0,0 +1,205 @@
+package com.library.dao.memory;
+
+import com.library.dao.interfaces.UserDAO;
+import com.library.model.Page;
+import com.library.model.User;
+import com.library.model.enums.UserStatus;
+import com.library.util.CursorUtil;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryUserDAO implements UserDAO {
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final InMemoryStore store;
+
+    public InMemoryUserDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public int create(User user) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            if (store.userIdByEmail.containsKey(user.getEmail())) {
+                throw new SQLException("User with email " + user.getEmail() + " already exists", UNIQUE_VIOLATION);
+            }
+            User stored = new User(user);
+            stored.setUserId(store.nextUserId++);
+            stored.setActiveLoans(0);
+            stored.setOutstandingFines(0);
+            stored.setCreatedAt(LocalDate.now());
+            stored.setUpdatedAt(LocalDate.now());
+            store.putUser(stored);
+            return stored.getUserId();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public User findById(int id) throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            User user = store.users.get(id);
+            return user != null ? new User(user) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public User findByEmail(String email) throws SQLException {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            Integer id = store.userIdByEmail.get(email);
+            return id != null ? new User(store.users.get(id)) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<Integer, User> findByIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, User> users = new HashMap<>();
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            for (Integer id : ids) {
+                User user = id != null ? store.users.get(id) : null;
+                if (user != null) {
+                    users.put(id, new User(user));
+                }
+            }
+            return users;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<User> findAll() throws SQLException {
+        return collect(null, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<User> searchUsers(String keyword) throws SQLException {
+        return collect(keyword.toLowerCase(Locale.ROOT), 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean update(User user) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            User existing = store.users.get(user.getUserId());
+            if (existing == null) {
+                return false;
+            }
+            Integer owner = store.userIdByEmail.get(user.getEmail());
+            if (owner != null && owner != user.getUserId()) {
+                throw new SQLException("User with email " + user.getEmail() + " already exists", UNIQUE_VIOLATION);
+            }
+            User updated = new User(existing);
+            updated.setFirstName(user.getFirstName());
+            updated.setLastName(user.getLastName());
+            updated.setEmail(user.getEmail());
+            updated.setPhoneNumber(user.getPhoneNumber());
+            updated.setUserType(user.getUserType());
+            updated.setStatus(user.getStatus());
+            updated.setUpdatedAt(LocalDate.now());
+            store.putUser(updated);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(int id) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            User existing = store.users.get(id);
+            if (existing == null) {
+                return false;
+            }
+            User deleted = new User(existing);
+            deleted.setStatus(UserStatus.DELETED);
+            deleted.setUpdatedAt(LocalDate.now());
+            store.putUser(deleted);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double recordFinePayment(int userId, double amount) throws SQLException {
+        Lock lock = store.lock.writeLock();
+        lock.lock();
+        try {
+            User existing = store.users.get(userId);
+            if (existing == null) {
+                return -1;
+            }
+            User paid = new User(existing);
+            paid.setOutstandingFines(Math.max(existing.getOutstandingFines() - amount, 0));
+            paid.setUpdatedAt(LocalDate.now());
+            store.putUser(paid);
+            return paid.getOutstandingFines();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Page<User> findAllPage(String cursor, int pageSize) throws SQLException {
+        int afterId = cursor != null ? Integer.parseInt(CursorUtil.decode(cursor, 1)[0]) : 0;
+        List<User> users = collect(null, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users.remove(pageSize);
+            nextCursor = CursorUtil.encode(String.valueOf(users.get(pageSize - 1).getUserId()));
+        }
+        return new Page<>(users, nextCursor);
+    }
+
+    // Ids are handed out sequentially, so walking the id range yields users in user_id order
+    private List<User> collect(String needle, int afterId, int limit) {
+        Lock lock = store.lock.readLock();
+        lock.lock();
+        try {
+            List<User> users = new ArrayList<>();
+            for (int id = afterId + 1; id < store.nextUserId && users.size() < limit; id++) {
+                User user = store.users.get(id);
+                if (user == null || user.getStatus() == UserStatus.DELETED) {
+                    continue;
+                }
+                if (needle == null || matches(user, needle)) {
+                    users.add(new User(user));
+                }
+            }
+            return users;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean matches(User user, String needle) {
+        return user.getFirstName().toLowerCase(Locale.ROOT).contains(needle)
+                || user.getLastName().toLowerCase(Locale.ROOT).contains(needle)
+                || user.getEmail().toLowerCase(Locale.ROOT).contains(needle);
+    }
+}
@@ -0,0 +1,8 @@
+package com.library.exception;
+
+public class ConcurrencyConflictException extends LibraryException {
+
+    public ConcurrencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,55 @@
+package com.library.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps any DAO interface so every call is recorded as "<prefix>.<method>".
+ */
+public class InstrumentedProxy implements InvocationHandler {
+    private final Object target;
+    private final String prefix;
+    private final Map<Method, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    private InstrumentedProxy(Object target, String prefix) {
+        this.target = target;
+        this.prefix = prefix;
+    }
+
+    public static <T> T wrap(Class<T> type, T target, String prefix) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new InstrumentedProxy(target, prefix)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "Instrumented[" + target + "]";
+            }
+        }
+
+        OperationMetrics operation = operations.computeIfAbsent(method,
+                m -> MetricsRegistry.operation(prefix + "." + m.getName()));
+        long start = operation.begin();
+        boolean failed = true;
+        try {
+            Object result = method.invoke(target, args);
+            failed = false;
+            return result;
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            operation.end(start, failed);
+        }
+    }
+}
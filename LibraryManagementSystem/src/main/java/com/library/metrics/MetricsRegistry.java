@@ -0,0 +1,37 @@
+package com.library.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MetricsRegistry {
+    private static final Map<String, OperationMetrics> OPERATIONS = new ConcurrentHashMap<>();
+    private static volatile long startedAtMillis = System.currentTimeMillis();
+
+    public static OperationMetrics operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    public static List<OperationMetrics> getOperations() {
+        List<OperationMetrics> operations = new ArrayList<>(OPERATIONS.values());
+        operations.sort(Comparator.comparing(OperationMetrics::getName));
+        return operations;
+    }
+
+    public static long getUptimeMillis() {
+        return System.currentTimeMillis() - startedAtMillis;
+    }
+
+    /** Calls per second since startup or the last reset. */
+    public static double getThroughput(OperationMetrics operation) {
+        long uptime = getUptimeMillis();
+        return uptime == 0 ? 0.0 : operation.getCalls() * 1000.0 / uptime;
+    }
+
+    public static void reset() {
+        OPERATIONS.values().forEach(OperationMetrics::reset);
+        startedAtMillis = System.currentTimeMillis();
+    }
+}
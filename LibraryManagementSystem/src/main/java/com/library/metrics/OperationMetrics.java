@@ -0,0 +1,66 @@
+package com.library.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call, error and in-flight counters plus a latency histogram for one named operation.
+ */
+public class OperationMetrics {
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public long begin() {
+        maxInFlight.accumulate(inFlight.incrementAndGet());
+        return System.nanoTime();
+    }
+
+    public void end(long startNanos, boolean failed) {
+        latency.record(System.nanoTime() - startNanos);
+        inFlight.decrementAndGet();
+        calls.increment();
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public <T, E extends Exception> T record(TimedCall<T, E> call) throws E {
+        long start = begin();
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = false;
+            return result;
+        } finally {
+            end(start, failed);
+        }
+    }
+
+    public String getName() { return name; }
+    public long getCalls() { return calls.sum(); }
+    public long getErrors() { return errors.sum(); }
+    public int getInFlight() { return inFlight.get(); }
+    public long getMaxInFlight() { return maxInFlight.get(); }
+    public LatencyHistogram getLatency() { return latency; }
+
+    void reset() {
+        calls.reset();
+        errors.reset();
+        maxInFlight.reset();
+        latency.reset();
+    }
+
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+}
@@ -0,0 +1,95 @@
+package com.library.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Renders the registry in the Prometheus text exposition format.
+ */
+public class PrometheusExporter {
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    public static String export() {
+        StringWriter out = new StringWriter();
+        try {
+            write(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    // Written to a temp file first so a scraper never sees a half-written export
+    public static void exportTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            write(writer);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void write(Writer out) throws IOException {
+        List<OperationMetrics> operations = MetricsRegistry.getOperations();
+
+        header(out, "library_operation_calls_total", "counter", "Completed calls per operation.");
+        for (OperationMetrics op : operations) {
+            sample(out, "library_operation_calls_total", op, null, op.getCalls());
+        }
+        header(out, "library_operation_errors_total", "counter", "Calls that ended in an exception.");
+        for (OperationMetrics op : operations) {
+            sample(out, "library_operation_errors_total", op, null, op.getErrors());
+        }
+        header(out, "library_operation_in_flight", "gauge", "Calls currently executing.");
+        for (OperationMetrics op : operations) {
+            sample(out, "library_operation_in_flight", op, null, op.getInFlight());
+        }
+        header(out, "library_operation_max_in_flight", "gauge", "Highest concurrency observed.");
+        for (OperationMetrics op : operations) {
+            sample(out, "library_operation_max_in_flight", op, null, op.getMaxInFlight());
+        }
+        header(out, "library_operation_latency_seconds", "summary", "Call latency.");
+        for (OperationMetrics op : operations) {
+            LatencyHistogram latency = op.getLatency();
+            for (double quantile : QUANTILES) {
+                sample(out, "library_operation_latency_seconds", op, String.valueOf(quantile),
+                        latency.getValueAtQuantile(quantile) / NANOS_PER_SECOND);
+            }
+            sample(out, "library_operation_latency_seconds_sum", op, null, latency.getSumNanos() / NANOS_PER_SECOND);
+            sample(out, "library_operation_latency_seconds_count", op, null, latency.getCount());
+        }
+        header(out, "library_uptime_seconds", "gauge", "Seconds since metrics were started or reset.");
+        out.write("library_uptime_seconds " + MetricsRegistry.getUptimeMillis() / 1000.0 + "\n");
+    }
+
+    private static void header(Writer out, String name, String type, String help) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void sample(Writer out, String name, OperationMetrics op, String quantile, double value)
+            throws IOException {
+        out.write(name + "{operation=\"" + op.getName() + "\"");
+        if (quantile != null) {
+            out.write(",quantile=\"" + quantile + "\"");
+        }
+        out.write("} " + format(value) + "\n");
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? String.valueOf((long) value)
+                : String.valueOf(value);
+    }
+}
@@ -15,9 +15,25 @@
         private BookStatus status;
         private LocalDate createdAt;
         private LocalDate updatedAt;
+        private int version;
 
         public Book() {}
 
+        public Book(Book other) {
+            this.bookId = other.bookId;
+            this.isbn = other.isbn;
+            this.title = other.title;
+            this.author = other.author;
+            this.category = other.category;
+            this.totalCopies = other.totalCopies;
+            this.availableCopies = other.availableCopies;
+            this.publishedDate = other.publishedDate;
+            this.status = other.status;
+            this.createdAt = other.createdAt;
+            this.updatedAt = other.updatedAt;
+            this.version = other.version;
+        }
+
         public Book(String isbn, String title, String author, String category,
                     int totalCopies, LocalDate publishedDate) {
             this.isbn = isbn;
@@ -66,6 +82,9 @@
         public LocalDate getUpdatedAt() { return updatedAt; }
         public void setUpdatedAt(LocalDate updatedAt) { this.updatedAt = updatedAt; }
 
+        public int getVersion() { return version; }
+        public void setVersion(int version) { this.version = version; }
+
         @Override
         public String toString() {
             return String.format("Book{ID=%d, ISBN='%s', Title='%s', Author='%s', Available=%d/%d}",
@@ -0,0 +1,15 @@
+package com.library.model;
+
+public class BookMatch {
+    private final Book book;
+    private final double similarity;
+
+    public BookMatch(Book book, double similarity) {
+        this.book = book;
+        this.similarity = similarity;
+    }
+
+    public Book getBook() { return book; }
+    // 0..1, the share of the query's trigrams found in the book's title, author and category
+    public double getSimilarity() { return similarity; }
+}
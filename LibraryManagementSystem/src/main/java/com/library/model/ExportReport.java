@@ -0,0 +1,29 @@
+package com.library.model;
+
+import java.nio.file.Path;
+
+public class ExportReport {
+    private final Path file;
+    private long rowsWritten;
+    private long bytesWritten;
+    private long elapsedMillis;
+
+    public ExportReport(Path file) {
+        this.file = file;
+    }
+
+    public void rowWritten() { rowsWritten++; }
+
+    public Path getFile() { return file; }
+    public long getRowsWritten() { return rowsWritten; }
+
+    public long getBytesWritten() { return bytesWritten; }
+    public void setBytesWritten(long bytesWritten) { this.bytesWritten = bytesWritten; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsWritten : rowsWritten * 1000.0 / elapsedMillis;
+    }
+}
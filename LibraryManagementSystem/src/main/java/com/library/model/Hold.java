@@ -0,0 +1,73 @@
+package com.library.model;
+
+import com.library.model.enums.HoldStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class Hold {
+    private int holdId;
+    private int bookId;
+    private int userId;
+    private int priority;
+    private HoldStatus status;
+    private LocalDateTime placedAt;
+    private LocalDate readyDate;
+    private LocalDate expiryDate;
+
+    // Constructors
+    public Hold() {}
+
+    public Hold(Hold other) {
+        this.holdId = other.holdId;
+        this.bookId = other.bookId;
+        this.userId = other.userId;
+        this.priority = other.priority;
+        this.status = other.status;
+        this.placedAt = other.placedAt;
+        this.readyDate = other.readyDate;
+        this.expiryDate = other.expiryDate;
+    }
+
+    public Hold(int bookId, int userId, int priority) {
+        this.bookId = bookId;
+        this.userId = userId;
+        this.priority = priority;
+        this.status = HoldStatus.WAITING;
+        this.placedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public int getHoldId() { return holdId; }
+    public void setHoldId(int holdId) { this.holdId = holdId; }
+
+    public int getBookId() { return bookId; }
+    public void setBookId(int bookId) { this.bookId = bookId; }
+
+    public int getUserId() { return userId; }
+    public void setUserId(int userId) { this.userId = userId; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+
+    public HoldStatus getStatus() { return status; }
+    public void setStatus(HoldStatus status) { this.status = status; }
+
+    public LocalDateTime getPlacedAt() { return placedAt; }
+    public void setPlacedAt(LocalDateTime placedAt) { this.placedAt = placedAt; }
+
+    public LocalDate getReadyDate() { return readyDate; }
+    public void setReadyDate(LocalDate readyDate) { this.readyDate = readyDate; }
+
+    public LocalDate getExpiryDate() { return expiryDate; }
+    public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
+
+    public boolean isActive() {
+        return status == HoldStatus.WAITING || status == HoldStatus.READY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Hold{ID=%d, BookID=%d, UserID=%d, Status=%s, Priority=%d}",
+                holdId, bookId, userId, status, priority);
+    }
+}
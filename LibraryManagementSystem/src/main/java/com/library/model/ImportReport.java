@@ -0,0 +1,60 @@
+package com.library.model;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    private static final int MAX_SAMPLE_ERRORS = 20;
+
+    private long rowsRead;
+    private long imported;
+    private long duplicatesInFile;
+    private long alreadyInCatalog;
+    private long errorCount;
+    private final List<RowError> sampleErrors = new ArrayList<>();
+    private Path errorReportFile;
+    private long elapsedMillis;
+
+    public void rowRead() { rowsRead++; }
+    public void imported(long count) { imported += count; }
+    public void duplicateInFile() { duplicatesInFile++; }
+    public void alreadyInCatalog(long count) { alreadyInCatalog += count; }
+
+    public void error(RowError error) {
+        errorCount++;
+        if (sampleErrors.size() < MAX_SAMPLE_ERRORS) {
+            sampleErrors.add(error);
+        }
+    }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getImported() { return imported; }
+    public long getDuplicatesInFile() { return duplicatesInFile; }
+    public long getAlreadyInCatalog() { return alreadyInCatalog; }
+    public long getErrorCount() { return errorCount; }
+    public List<RowError> getSampleErrors() { return sampleErrors; }
+
+    public Path getErrorReportFile() { return errorReportFile; }
+    public void setErrorReportFile(Path errorReportFile) { this.errorReportFile = errorReportFile; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsRead : rowsRead * 1000.0 / elapsedMillis;
+    }
+
+    public static class RowError {
+        private final long lineNumber;
+        private final String message;
+
+        public RowError(long lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.model;
+
+public class InventorySummary {
+    public static final String UNCATEGORIZED = "Uncategorized";
+    public static final String ALL_CATEGORIES = "All categories";
+
+    private final String category;
+    private final int titleCount;
+    private final long totalCopies;
+    private final long availableCopies;
+
+    public InventorySummary(String category, int titleCount, long totalCopies, long availableCopies) {
+        this.category = category;
+        this.titleCount = titleCount;
+        this.totalCopies = totalCopies;
+        this.availableCopies = availableCopies;
+    }
+
+    public String getCategory() { return category; }
+    public int getTitleCount() { return titleCount; }
+    public long getTotalCopies() { return totalCopies; }
+    public long getAvailableCopies() { return availableCopies; }
+
+    // Copies not on the shelf: on loan or set aside for a hold
+    public long getCheckedOutCopies() { return totalCopies - availableCopies; }
+
+    @Override
+    public String toString() {
+        return String.format("InventorySummary{Category='%s', Titles=%d, Total=%d, Available=%d}",
+                category, titleCount, totalCopies, availableCopies);
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.model;
+
+import java.time.LocalDate;
+
+public class OverdueReportEntry {
+    private final int transactionId;
+    private final int bookId;
+    private final String bookTitle;
+    private final int userId;
+    private final String userName;
+    private final LocalDate dueDate;
+    private final long daysLate;
+    private final double fine;
+
+    public OverdueReportEntry(int transactionId, int bookId, String bookTitle, int userId,
+                              String userName, LocalDate dueDate, long daysLate, double fine) {
+        this.transactionId = transactionId;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+        this.userId = userId;
+        this.userName = userName;
+        this.dueDate = dueDate;
+        this.daysLate = daysLate;
+        this.fine = fine;
+    }
+
+    public int getTransactionId() { return transactionId; }
+    public int getBookId() { return bookId; }
+    public String getBookTitle() { return bookTitle; }
+    public int getUserId() { return userId; }
+    public String getUserName() { return userName; }
+    public LocalDate getDueDate() { return dueDate; }
+    public long getDaysLate() { return daysLate; }
+    public double getFine() { return fine; }
+}
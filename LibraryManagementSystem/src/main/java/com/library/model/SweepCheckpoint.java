@@ -0,0 +1,86 @@
+package com.library.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one run of a chunked background sweep. Saved after every chunk so an
+ * interrupted run resumes after the last row it finished instead of starting over.
+ */
+public class SweepCheckpoint {
+    private String jobName;
+    private LocalDate runDate;
+    private LocalDate lastDueDate;
+    private int lastTransactionId;
+    private long rowsScanned;
+    private long rowsUpdated;
+    private int chunks;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public SweepCheckpoint() {}
+
+    public SweepCheckpoint(SweepCheckpoint other) {
+        this.jobName = other.jobName;
+        this.runDate = other.runDate;
+        this.lastDueDate = other.lastDueDate;
+        this.lastTransactionId = other.lastTransactionId;
+        this.rowsScanned = other.rowsScanned;
+        this.rowsUpdated = other.rowsUpdated;
+        this.chunks = other.chunks;
+        this.startedAt = other.startedAt;
+        this.completedAt = other.completedAt;
+    }
+
+    public SweepCheckpoint(String jobName, LocalDate runDate) {
+        this.jobName = jobName;
+        this.runDate = runDate;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public LocalDate getRunDate() { return runDate; }
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+
+    // Keyset position of the last row swept; null before the first chunk
+    public LocalDate getLastDueDate() { return lastDueDate; }
+    public void setLastDueDate(LocalDate lastDueDate) { this.lastDueDate = lastDueDate; }
+
+    public int getLastTransactionId() { return lastTransactionId; }
+    public void setLastTransactionId(int lastTransactionId) { this.lastTransactionId = lastTransactionId; }
+
+    public long getRowsScanned() { return rowsScanned; }
+    public void setRowsScanned(long rowsScanned) { this.rowsScanned = rowsScanned; }
+
+    public long getRowsUpdated() { return rowsUpdated; }
+    public void setRowsUpdated(long rowsUpdated) { this.rowsUpdated = rowsUpdated; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public boolean isComplete() {
+        return completedAt != null;
+    }
+
+    // Wall-clock time since the run started, including any time it spent interrupted
+    public Duration getElapsed() {
+        return Duration.between(startedAt, completedAt != null ? completedAt : LocalDateTime.now());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SweepCheckpoint{Job='%s', RunDate=%s, Chunks=%d, Scanned=%d, Updated=%d, Complete=%s}",
+                jobName, runDate, chunks, rowsScanned, rowsUpdated, isComplete());
+    }
+}
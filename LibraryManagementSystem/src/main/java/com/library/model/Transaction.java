@@ -12,12 +12,29 @@ public class Transaction {
     private LocalDate returnDate;
     private TransactionStatus status;
     private double fineAmount;
+    private boolean returnedLate;
     private LocalDate createdAt;
     private LocalDate updatedAt;
+    private int version;
 
     // Constructors
     public Transaction() {}
 
+    public Transaction(Transaction other) {
+        this.transactionId = other.transactionId;
+        this.bookId = other.bookId;
+        this.userId = other.userId;
+        this.borrowDate = other.borrowDate;
+        this.dueDate = other.dueDate;
+        this.returnDate = other.returnDate;
+        this.status = other.status;
+        this.fineAmount = other.fineAmount;
+        this.returnedLate = other.returnedLate;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.version = other.version;
+    }
+
     public Transaction(int bookId, int userId, LocalDate borrowDate, LocalDate dueDate) {
         this.bookId = bookId;
         this.userId = userId;
@@ -54,14 +71,26 @@ public class Transaction {
     public double getFineAmount() { return fineAmount; }
     public void setFineAmount(double fineAmount) { this.fineAmount = fineAmount; }
 
+    public boolean isReturnedLate() { return returnedLate; }
+    public void setReturnedLate(boolean returnedLate) { this.returnedLate = returnedLate; }
+
     public LocalDate getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDate createdAt) { this.createdAt = createdAt; }
 
     public LocalDate getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDate updatedAt) { this.updatedAt = updatedAt; }
 
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    // Still out with the borrower; the overdue sweep moves late loans from BORROWED to OVERDUE
+    public boolean isOpen() {
+        return status == TransactionStatus.BORROWED || status == TransactionStatus.OVERDUE;
+    }
+
     public boolean isOverdue() {
-        return status == TransactionStatus.BORROWED && LocalDate.now().isAfter(dueDate);
+        return status == TransactionStatus.OVERDUE
+                || status == TransactionStatus.BORROWED && LocalDate.now().isAfter(dueDate);
     }
 
     @Override
@@ -0,0 +1,50 @@
+package com.library.model;
+
+import com.library.model.enums.TransactionStatus;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Borrow-date range and status selection for transaction exports. A null bound is open
+ * and an empty status set matches every status.
+ */
+public class TransactionFilter {
+    private final LocalDate borrowedFrom;
+    private final LocalDate borrowedTo;
+    private final Set<TransactionStatus> statuses;
+
+    public TransactionFilter(LocalDate borrowedFrom, LocalDate borrowedTo, Set<TransactionStatus> statuses) {
+        if (borrowedFrom != null && borrowedTo != null && borrowedFrom.isAfter(borrowedTo)) {
+            throw new IllegalArgumentException("Start date " + borrowedFrom + " is after end date " + borrowedTo);
+        }
+        this.borrowedFrom = borrowedFrom;
+        this.borrowedTo = borrowedTo;
+        this.statuses = statuses == null || statuses.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(statuses));
+    }
+
+    public static TransactionFilter all() {
+        return new TransactionFilter(null, null, null);
+    }
+
+    public LocalDate getBorrowedFrom() { return borrowedFrom; }
+    public LocalDate getBorrowedTo() { return borrowedTo; }
+    public Set<TransactionStatus> getStatuses() { return statuses; }
+
+    public boolean matches(Transaction transaction) {
+        return (borrowedFrom == null || !transaction.getBorrowDate().isBefore(borrowedFrom))
+                && (borrowedTo == null || !transaction.getBorrowDate().isAfter(borrowedTo))
+                && (statuses.isEmpty() || statuses.contains(transaction.getStatus()));
+    }
+
+    @Override
+    public String toString() {
+        return "borrowed " + (borrowedFrom != null ? borrowedFrom : "any") + " to "
+                + (borrowedTo != null ? borrowedTo : "any")
+                + ", status " + (statuses.isEmpty() ? "any" : statuses);
+    }
+}
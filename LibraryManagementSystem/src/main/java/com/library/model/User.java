@@ -14,12 +14,29 @@ public class User {
     private UserType userType;
     private UserStatus status;
     private LocalDate registrationDate;
+    private int activeLoans;
+    private double outstandingFines;
     private LocalDate createdAt;
     private LocalDate updatedAt;
 
     // Constructors
     public User() {}
 
+    public User(User other) {
+        this.userId = other.userId;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.phoneNumber = other.phoneNumber;
+        this.userType = other.userType;
+        this.status = other.status;
+        this.registrationDate = other.registrationDate;
+        this.activeLoans = other.activeLoans;
+        this.outstandingFines = other.outstandingFines;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     public User(String firstName, String lastName, String email, String phoneNumber) {
         this.firstName = firstName;
         this.lastName = lastName;
@@ -57,6 +74,13 @@ public class User {
     public LocalDate getRegistrationDate() { return registrationDate; }
     public void setRegistrationDate(LocalDate registrationDate) { this.registrationDate = registrationDate; }
 
+    // Maintained by borrow and return; never set through updateUser
+    public int getActiveLoans() { return activeLoans; }
+    public void setActiveLoans(int activeLoans) { this.activeLoans = activeLoans; }
+
+    public double getOutstandingFines() { return outstandingFines; }
+    public void setOutstandingFines(double outstandingFines) { this.outstandingFines = outstandingFines; }
+
     public LocalDate getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDate createdAt) { this.createdAt = createdAt; }
 
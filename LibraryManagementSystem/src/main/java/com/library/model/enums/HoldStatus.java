@@ -0,0 +1,5 @@
+package com.library.model.enums;
+
+public enum HoldStatus {
+    WAITING, READY, FULFILLED, CANCELLED, EXPIRED
+}
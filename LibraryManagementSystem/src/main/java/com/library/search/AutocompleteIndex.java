@@ -0,0 +1,447 @@
+package com.library.search;
+
+import com.library.model.Book;
+import com.library.model.enums.BookStatus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix trie over the normalized words of every book's title and author. Each node caches
+ * the most popular books below it, so a single-word completion is a walk down the prefix
+ * and a copy of at most {@code capacity} entries, whatever the catalog size.
+ *
+ * <p>The cache is kept exact on inserts and popularity increases. A removal or a drop in
+ * popularity at a full node marks it for recomputation from its subtree on the next lookup.
+ */
+public class AutocompleteIndex {
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong((Entry entry) -> entry.popularity)
+            .reversed()
+            .thenComparing(entry -> entry.title, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(entry -> entry.bookId);
+
+    private final int capacity;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private Node root = new Node();
+    // Writes made while a rebuild is loading its snapshot, replayed on top of it
+    private List<Runnable> pending;
+    private volatile boolean loaded;
+    private volatile boolean stale;
+
+    public AutocompleteIndex(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public boolean needsRebuild() {
+        return !loaded || stale;
+    }
+
+    // For changes the index cannot apply one book at a time, such as a batch import
+    public void markStale() {
+        stale = true;
+    }
+
+    // Adds or re-indexes the book, keeping its popularity; deleted books are removed
+    public synchronized void put(Book book) {
+        int bookId = book.getBookId();
+        if (book.getStatus() == BookStatus.DELETED) {
+            remove(bookId);
+            return;
+        }
+        String title = book.getTitle();
+        String author = book.getAuthor();
+        apply(() -> putEntry(bookId, title, author, -1));
+    }
+
+    public synchronized void remove(int bookId) {
+        apply(() -> removeEntry(bookId));
+    }
+
+    private void apply(Runnable write) {
+        write.run();
+        if (pending != null) {
+            pending.add(write);
+        }
+    }
+
+    public synchronized void beginRebuild() {
+        pending = new ArrayList<>();
+        stale = false;
+    }
+
+    // Replaces the contents with the snapshot, then re-applies writes made since beginRebuild
+    public synchronized void finishRebuild(Collection<Book> books, Map<Integer, Long> popularity) {
+        root = new Node();
+        entries.clear();
+        for (Book book : books) {
+            if (book.getStatus() != BookStatus.DELETED) {
+                putEntry(book.getBookId(), book.getTitle(), book.getAuthor(),
+                        popularity.getOrDefault(book.getBookId(), 0L));
+            }
+        }
+        for (Runnable write : pending) {
+            write.run();
+        }
+        pending = null;
+        loaded = true;
+    }
+
+    public synchronized void abortRebuild() {
+        pending = null;
+        stale = true;
+    }
+
+    // Books missing from the map have popularity zero
+    public synchronized void updatePopularity(Map<Integer, Long> popularity) {
+        for (Entry entry : entries.values()) {
+            long updated = popularity.getOrDefault(entry.bookId, 0L);
+            if (updated != entry.popularity) {
+                setPopularity(entry, updated);
+            }
+        }
+    }
+
+    /**
+     * Books whose title or author words start with every word of the query, most popular
+     * first. The last word is usually still being typed, so every query word counts as a prefix.
+     */
+    public synchronized List<Completion> complete(String query, int limit) {
+        List<String> tokens = Tokenizer.words(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // Every match lies under each query word's node, so search the smallest of those subtrees
+        Node node = null;
+        for (String token : tokens) {
+            Node candidate = find(token);
+            if (candidate == null) {
+                return Collections.emptyList();
+            }
+            if (node == null || candidate.wordCount < node.wordCount) {
+                node = candidate;
+            }
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        if (limit <= capacity) {
+            ensureTop(node);
+            for (int i = 0; i < node.topSize && matches.size() < limit; i++) {
+                if (node.top[i].matchesAll(tokens)) {
+                    matches.add(node.top[i]);
+                }
+            }
+            // The cache holds the subtree's best entries (or all of them when not full), so
+            // nothing outside it can outrank what was found
+            if (matches.size() == limit || node.topSize < capacity) {
+                return toCompletions(matches);
+            }
+            matches.clear();
+        }
+
+        for (Entry entry : collect(node)) {
+            if (entry.matchesAll(tokens)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(RANKING);
+        return toCompletions(matches.subList(0, Math.min(limit, matches.size())));
+    }
+
+    private static List<Completion> toCompletions(List<Entry> ranked) {
+        List<Completion> completions = new ArrayList<>(ranked.size());
+        for (Entry entry : ranked) {
+            completions.add(new Completion(entry.bookId, entry.title, entry.author, entry.popularity));
+        }
+        return completions;
+    }
+
+    // popularity < 0 keeps the popularity of the entry being replaced
+    private void putEntry(int bookId, String title, String author, long popularity) {
+        Entry existing = entries.get(bookId);
+        if (existing != null) {
+            if (existing.title.equals(title) && existing.author.equals(author)) {
+                if (popularity >= 0 && popularity != existing.popularity) {
+                    setPopularity(existing, popularity);
+                }
+                return;
+            }
+            if (popularity < 0) {
+                popularity = existing.popularity;
+            }
+            removeEntry(bookId);
+        }
+
+        Entry entry = new Entry(bookId, title, author, Math.max(popularity, 0));
+        entries.put(bookId, entry);
+        for (String token : entry.tokens) {
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.childOrCreate(token.charAt(i));
+                node.wordCount++;
+                offer(node, entry);
+            }
+            node.addTerminal(entry);
+        }
+    }
+
+    private void removeEntry(int bookId) {
+        Entry entry = entries.remove(bookId);
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.tokens) {
+            Node[] path = new Node[token.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < token.length(); i++) {
+                path[i + 1] = path[i].child(token.charAt(i));
+                path[i + 1].wordCount--;
+                drop(path[i + 1], entry, true);
+            }
+            path[token.length()].removeTerminal(entry);
+
+            // Prune nodes left with no words through them
+            for (int i = token.length(); i > 0 && path[i].isEmpty(); i--) {
+                path[i - 1].removeChild(token.charAt(i - 1));
+            }
+        }
+    }
+
+    private void setPopularity(Entry entry, long popularity) {
+        boolean increased = popularity > entry.popularity;
+        entry.popularity = popularity;
+        for (String token : entry.tokens) {
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.child(token.charAt(i));
+                if (increased) {
+                    offer(node, entry);
+                } else {
+                    drop(node, entry, false);
+                }
+            }
+        }
+    }
+
+    private void offer(Node node, Entry entry) {
+        if (!node.topValid) {
+            return;
+        }
+        if (node.top == null) {
+            node.top = new Entry[capacity];
+        }
+        if (node.indexOfTop(entry) >= 0) {
+            Arrays.sort(node.top, 0, node.topSize, RANKING);
+        } else if (node.topSize < capacity) {
+            node.top[node.topSize++] = entry;
+            Arrays.sort(node.top, 0, node.topSize, RANKING);
+        } else if (RANKING.compare(entry, node.top[capacity - 1]) < 0) {
+            node.top[capacity - 1] = entry;
+            Arrays.sort(node.top, 0, capacity, RANKING);
+        }
+    }
+
+    // Called when the entry is leaving the subtree or losing popularity
+    private void drop(Node node, Entry entry, boolean removed) {
+        if (!node.topValid) {
+            return;
+        }
+        int index = node.indexOfTop(entry);
+        if (index < 0) {
+            return;
+        }
+        if (node.topSize < capacity) {
+            // The cache holds the whole subtree, so it stays exact
+            if (removed) {
+                System.arraycopy(node.top, index + 1, node.top, index, node.topSize - index - 1);
+                node.top[--node.topSize] = null;
+            } else {
+                Arrays.sort(node.top, 0, node.topSize, RANKING);
+            }
+        } else {
+            // An entry outside the cache may now outrank it; recompute on the next lookup
+            node.topValid = false;
+            node.top = null;
+            node.topSize = 0;
+        }
+    }
+
+    private void ensureTop(Node node) {
+        if (node.topValid) {
+            if (node.top == null) {
+                node.top = new Entry[capacity];
+            }
+            return;
+        }
+        List<Entry> subtree = new ArrayList<>(collect(node));
+        subtree.sort(RANKING);
+        node.top = new Entry[capacity];
+        node.topSize = Math.min(capacity, subtree.size());
+        for (int i = 0; i < node.topSize; i++) {
+            node.top[i] = subtree.get(i);
+        }
+        node.topValid = true;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private static Set<Entry> collect(Node start) {
+        Set<Entry> found = new HashSet<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            for (int i = 0; i < node.terminalCount; i++) {
+                found.add(node.terminal[i]);
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                stack.push(node.children[i]);
+            }
+        }
+        return found;
+    }
+
+    private static final class Entry {
+        private final int bookId;
+        private final String title;
+        private final String author;
+        private final List<String> tokens;
+        private long popularity;
+
+        private Entry(int bookId, String title, String author, long popularity) {
+            this.bookId = bookId;
+            this.title = title != null ? title : "";
+            this.author = author != null ? author : "";
+            this.tokens = Tokenizer.words(this.title + " " + this.author);
+            this.popularity = popularity;
+        }
+
+        private boolean matchesAll(List<String> prefixes) {
+            for (String prefix : prefixes) {
+                boolean matched = false;
+                for (String token : tokens) {
+                    if (token.startsWith(prefix)) {
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Children are kept in parallel arrays sorted by character for binary search
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        // Entries with a word ending exactly here
+        private Entry[] terminal = NO_ENTRIES;
+        private int terminalCount;
+        // Words ending in this subtree, counting a book once per word
+        private int wordCount;
+        // The most popular entries in this subtree, best first; allocated on first use
+        private Entry[] top;
+        private int topSize;
+        private boolean topValid = true;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (childCount == labels.length) {
+                int grown = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, grown);
+                children = Arrays.copyOf(children, grown);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node node = new Node();
+            labels[insertAt] = label;
+            children[insertAt] = node;
+            childCount++;
+            return node;
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(labels, index + 1, labels, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        private void addTerminal(Entry entry) {
+            if (terminalCount == terminal.length) {
+                terminal = Arrays.copyOf(terminal, Math.max(2, terminalCount * 2));
+            }
+            terminal[terminalCount++] = entry;
+        }
+
+        private void removeTerminal(Entry entry) {
+            for (int i = 0; i < terminalCount; i++) {
+                if (terminal[i] == entry) {
+                    System.arraycopy(terminal, i + 1, terminal, i, terminalCount - i - 1);
+                    terminal[--terminalCount] = null;
+                    return;
+                }
+            }
+        }
+
+        private int indexOfTop(Entry entry) {
+            for (int i = 0; i < topSize; i++) {
+                if (top[i] == entry) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isEmpty() {
+            return childCount == 0 && terminalCount == 0;
+        }
+    }
+}
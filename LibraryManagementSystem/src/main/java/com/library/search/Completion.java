@@ -0,0 +1,26 @@
+package com.library.search;
+
+public class Completion {
+    private final int bookId;
+    private final String title;
+    private final String author;
+    private final long popularity;
+
+    Completion(int bookId, String title, String author, long popularity) {
+        this.bookId = bookId;
+        this.title = title;
+        this.author = author;
+        this.popularity = popularity;
+    }
+
+    public int getBookId() { return bookId; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    // Loans of the book within the popularity window
+    public long getPopularity() { return popularity; }
+
+    @Override
+    public String toString() {
+        return title + " by " + author;
+    }
+}
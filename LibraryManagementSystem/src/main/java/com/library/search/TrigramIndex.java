@@ -0,0 +1,194 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Inverted index from character trigrams to document ids, for typo-tolerant matching.
+ * Words are padded the way pg_trgm pads them ("  w", " wo", ..., "rd "), and a document
+ * scores the fraction of the query's trigrams it contains, so "tolkein" still finds
+ * "Tolkien". A search only reads the posting lists of the query's own trigrams, and
+ * merges just the rarest of those.
+ * Not thread-safe; callers hold their own lock.
+ */
+public class TrigramIndex {
+    private static final long[] NO_TRIGRAMS = new long[0];
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    public void add(int id, String text) {
+        for (long trigram : trigrams(text)) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(id);
+        }
+    }
+
+    // text must be what the document was added with
+    public void remove(int id, String text) {
+        for (long trigram : trigrams(text)) {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Documents sharing at least {@code threshold} of the query's trigrams, best first and
+     * then by id, at most {@code limit} of them.
+     */
+    public List<Match> search(String query, double threshold, int limit) {
+        long[] queryTrigrams = trigrams(query);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(threshold * queryTrigrams.length - 1e-9));
+
+        List<Postings> lists = new ArrayList<>();
+        for (long trigram : queryTrigrams) {
+            Postings list = postings.get(trigram);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        if (lists.size() < minShared) {
+            return new ArrayList<>();
+        }
+
+        // A document with minShared hits must appear in at least one of the rarest
+        // (lists - minShared + 1) lists, so only those are merged; the common lists
+        // are probed by binary search for the candidates the merge turns up
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int merged = lists.size() - minShared + 1;
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparingInt(Cursor::current));
+        for (int i = 0; i < merged; i++) {
+            cursors.add(new Cursor(lists.get(i)));
+        }
+
+        Comparator<Match> ranking = Comparator.comparingDouble(Match::getScore).reversed()
+                .thenComparingInt(Match::getId);
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        while (!cursors.isEmpty()) {
+            int id = cursors.peek().current();
+            int shared = 0;
+            while (!cursors.isEmpty() && cursors.peek().current() == id) {
+                Cursor cursor = cursors.poll();
+                shared++;
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            for (int i = merged; i < lists.size() && shared + lists.size() - i >= minShared; i++) {
+                if (lists.get(i).contains(id)) {
+                    shared++;
+                }
+            }
+            if (shared >= minShared) {
+                best.add(new Match(id, (double) shared / queryTrigrams.length));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(ranking);
+        return matches;
+    }
+
+    // Distinct trigrams of the text's words, three 16-bit chars packed per long
+    static long[] trigrams(String text) {
+        List<String> words = Tokenizer.words(text);
+        if (words.isEmpty()) {
+            return NO_TRIGRAMS;
+        }
+        int count = 0;
+        for (String word : words) {
+            count += word.length() + 1;
+        }
+        long[] trigrams = new long[count];
+        int size = 0;
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams[size++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+        }
+        Arrays.sort(trigrams, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || trigrams[i] != trigrams[distinct - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    public static class Match {
+        private final int id;
+        private final double score;
+
+        Match(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public int getId() { return id; }
+        public double getScore() { return score; }
+    }
+
+    // Ids kept sorted so posting lists can be merged without hashing
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+
+    private static final class Cursor {
+        private final Postings list;
+        private int position;
+
+        private Cursor(Postings list) {
+            this.list = list;
+        }
+
+        private int current() {
+            return list.ids[position];
+        }
+
+        private boolean advance() {
+            return ++position < list.size;
+        }
+    }
+}
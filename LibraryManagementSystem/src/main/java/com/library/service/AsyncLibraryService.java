@@ -0,0 +1,132 @@
+package com.library.service;
+
+import com.library.exception.LibraryException;
+import com.library.model.Book;
+import com.library.model.Page;
+import com.library.model.Transaction;
+import com.library.model.User;
+import com.library.model.enums.SearchMode;
+import com.library.util.AsyncExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * CompletableFuture facade over the blocking services. Futures complete exceptionally
+ * with the service's LibraryException; await() unwraps it again for blocking callers.
+ */
+public class AsyncLibraryService {
+    private final BookService bookService;
+    private final UserService userService;
+    private final TransactionService transactionService;
+    private final AsyncExecutor executor;
+
+    public AsyncLibraryService(BookService bookService, UserService userService,
+                               TransactionService transactionService, AsyncExecutor executor) {
+        this.bookService = bookService;
+        this.userService = userService;
+        this.transactionService = transactionService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Book> findBook(int bookId) {
+        return executor.submit(() -> bookService.findBook(bookId));
+    }
+
+    public CompletableFuture<List<Book>> searchBooks(String keyword) {
+        return executor.submit(() -> bookService.searchBooks(keyword));
+    }
+
+    public CompletableFuture<Page<Book>> searchBooksPage(String keyword, String cursor, SearchMode mode) {
+        return executor.submit(() -> bookService.searchBooksPage(keyword, cursor, mode));
+    }
+
+    public CompletableFuture<User> findUser(int userId) {
+        return executor.submit(() -> userService.findUser(userId));
+    }
+
+    public CompletableFuture<List<User>> searchUsers(String keyword) {
+        return executor.submit(() -> userService.searchUsers(keyword));
+    }
+
+    public CompletableFuture<Integer> borrowBook(int bookId, int userId) {
+        return executor.submit(() -> transactionService.borrowBook(bookId, userId));
+    }
+
+    public CompletableFuture<Transaction> returnBook(int transactionId) {
+        return executor.submit(() -> transactionService.returnBook(transactionId));
+    }
+
+    public CompletableFuture<Transaction> findTransaction(int transactionId) {
+        return executor.submit(() -> transactionService.findTransaction(transactionId));
+    }
+
+    public CompletableFuture<List<Transaction>> getUserTransactions(int userId) {
+        return executor.submit(() -> transactionService.getUserTransactions(userId));
+    }
+
+    // Book and user are independent lookups, so load them side by side
+    public CompletableFuture<LoanParties> loadLoanParties(int bookId, int userId) {
+        CompletableFuture<Book> book = findBook(bookId);
+        CompletableFuture<User> user = findUser(userId);
+        return book.thenCombine(user, LoanParties::new);
+    }
+
+    public CompletableFuture<LoanDetails> loadLoanDetails(int transactionId) {
+        return findTransaction(transactionId).thenCompose(transaction ->
+                loadLoanParties(transaction.getBookId(), transaction.getUserId())
+                        .thenApply(parties -> new LoanDetails(transaction, parties.getBook(), parties.getUser())));
+    }
+
+    public static <T> T await(CompletableFuture<T> future) throws LibraryException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LibraryException("Interrupted while waiting for an async operation", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static LibraryException unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof LibraryException) {
+            return (LibraryException) error;
+        }
+        return new LibraryException("Async operation failed: " + error.getMessage(), error);
+    }
+
+    public static class LoanParties {
+        private final Book book;
+        private final User user;
+
+        public LoanParties(Book book, User user) {
+            this.book = book;
+            this.user = user;
+        }
+
+        public Book getBook() { return book; }
+        public User getUser() { return user; }
+    }
+
+    public static class LoanDetails {
+        private final Transaction transaction;
+        private final Book book;
+        private final User user;
+
+        public LoanDetails(Transaction transaction, Book book, User user) {
+            this.transaction = transaction;
+            this.book = book;
+            this.user = user;
+        }
+
+        public Transaction getTransaction() { return transaction; }
+        public Book getBook() { return book; }
+        public User getUser() { return user; }
+    }
+}
@@ -0,0 +1,95 @@
+package com.library.service;
+
+import com.library.config.AppConfig;
+import com.library.dao.interfaces.BookDAO;
+import com.library.dao.interfaces.TransactionDAO;
+import com.library.exception.LibraryException;
+import com.library.model.Book;
+import com.library.search.AutocompleteIndex;
+import com.library.search.Completion;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Title and author completions for search-as-you-type, ranked by how often each book was
+ * borrowed over the last AUTOCOMPLETE_POPULARITY_DAYS. Lookups are served from the
+ * in-memory index; the database is only read to build it and to refresh it with books
+ * written by other processes and with popularity.
+ */
+public class AutocompleteService {
+    private final AutocompleteIndex index;
+    private final BookDAO bookDAO;
+    private final TransactionDAO transactionDAO;
+    // Start of the last build or refresh; books written since then are not yet in the index
+    private volatile LocalDateTime syncedAt;
+
+    public AutocompleteService(AutocompleteIndex index, BookDAO bookDAO, TransactionDAO transactionDAO) {
+        this.index = index;
+        this.bookDAO = bookDAO;
+        this.transactionDAO = transactionDAO;
+    }
+
+    public List<Completion> complete(String prefix) throws LibraryException {
+        return complete(prefix, AppConfig.AUTOCOMPLETE_MAX_RESULTS);
+    }
+
+    public List<Completion> complete(String prefix, int limit) throws LibraryException {
+        if (limit <= 0) {
+            throw new LibraryException("Limit must be positive");
+        }
+        if (index.needsRebuild()) {
+            rebuild();
+        }
+        return index.complete(prefix, limit);
+    }
+
+    // Reloads the whole catalog; book writes made meanwhile are kept
+    public synchronized void rebuild() throws LibraryException {
+        if (!index.needsRebuild()) {
+            return;
+        }
+        index.beginRebuild();
+        try {
+            LocalDateTime started = LocalDateTime.now();
+            index.finishRebuild(bookDAO.findAll(), loadPopularity());
+            syncedAt = started;
+        } catch (SQLException e) {
+            index.abortRebuild();
+            throw new LibraryException("Error building autocomplete index: " + e.getMessage(), e);
+        }
+    }
+
+    // Scheduled job: builds the index if needed, otherwise picks up books written since the
+    // last run (including by other processes) and re-ranks it from recent loans.
+    // Returns the number of books indexed
+    public synchronized int refresh() throws LibraryException {
+        if (index.needsRebuild()) {
+            rebuild();
+            return index.size();
+        }
+        try {
+            LocalDateTime started = LocalDateTime.now();
+            LocalDateTime since = syncedAt.minusNanos(AppConfig.AUTOCOMPLETE_REFRESH_OVERLAP_MS * 1_000_000);
+            for (Book book : bookDAO.findUpdatedSince(since)) {
+                index.put(book);
+            }
+            index.updatePopularity(loadPopularity());
+            syncedAt = started;
+        } catch (SQLException e) {
+            throw new LibraryException("Error refreshing autocomplete index: " + e.getMessage(), e);
+        }
+        return index.size();
+    }
+
+    public int getIndexedBookCount() {
+        return index.size();
+    }
+
+    private Map<Integer, Long> loadPopularity() throws SQLException {
+        return transactionDAO.countLoansByBook(LocalDate.now().minusDays(AppConfig.AUTOCOMPLETE_POPULARITY_DAYS));
+    }
+}
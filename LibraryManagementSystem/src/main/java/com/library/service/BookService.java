@@ -1,21 +1,33 @@
 package com.library.service;
 
-import com.library.dao.impl.BookDAOImpl;
+import com.library.config.AppConfig;
 import com.library.dao.interfaces.BookDAO;
 import com.library.exception.BookNotFoundException;
+import com.library.exception.ConcurrencyConflictException;
 import com.library.exception.LibraryException;
 import com.library.model.Book;
+import com.library.model.BookMatch;
+import com.library.model.Page;
+import com.library.model.enums.SearchMode;
 import com.library.util.ValidationUtil;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
 
 
 public class BookService {
+    private static final String UNDEFINED_COLUMN = "42703";
+
     private final BookDAO bookDAO;
+    private volatile boolean fullTextAvailable = true;
 
-    public BookService() {
-        this.bookDAO = new BookDAOImpl();
+    public BookService(BookDAO bookDAO) {
+        this.bookDAO = bookDAO;
     }
 
     public int addBook(Book book) throws LibraryException {
@@ -47,6 +59,15 @@ public class BookService {
         }
     }
 
+    // Looks up several books in one round trip; ids that do not exist are absent from the result
+    public Map<Integer, Book> findBooks(Collection<Integer> bookIds) throws LibraryException {
+        try {
+            return bookDAO.findByIds(bookIds);
+        } catch (SQLException e) {
+            throw new LibraryException("Error finding books: " + e.getMessage(), e);
+        }
+    }
+
     public List<Book> searchBooks(String keyword) throws LibraryException {
         try {
             if (keyword == null || keyword.trim().isEmpty()) {
@@ -58,6 +79,65 @@ public class BookService {
         }
     }
 
+    public Page<Book> searchBooksPage(String keyword, String cursor) throws LibraryException {
+        return searchBooksPage(keyword, cursor, AppConfig.DEFAULT_SEARCH_MODE);
+    }
+
+    public Page<Book> searchBooksPage(String keyword, String cursor, SearchMode mode) throws LibraryException {
+        try {
+            int size = AppConfig.DEFAULT_PAGE_SIZE;
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return bookDAO.findAllPage(cursor, size);
+            }
+            if (mode == SearchMode.FUZZY) {
+                // Similarity order is a single ranked list, so fuzzy results come back as one page
+                List<Book> books = new ArrayList<>();
+                for (BookMatch match : searchBooksFuzzy(keyword, AppConfig.FUZZY_SIMILARITY_THRESHOLD, size)) {
+                    books.add(match.getBook());
+                }
+                return new Page<>(books, null);
+            }
+            if (mode == SearchMode.FULL_TEXT && fullTextAvailable) {
+                try {
+                    return bookDAO.searchBooksRanked(keyword.trim(), cursor, size);
+                } catch (SQLException e) {
+                    if (!UNDEFINED_COLUMN.equals(e.getSQLState())) {
+                        throw e;
+                    }
+                    // Schema predates the search_vector column; stay on LIKE from now on
+                    fullTextAvailable = false;
+                }
+            }
+            return bookDAO.searchBooksPage(keyword.trim(), cursor, size);
+        } catch (SQLException e) {
+            throw new LibraryException("Error searching books: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new LibraryException(e.getMessage(), e);
+        }
+    }
+
+    public List<BookMatch> searchBooksFuzzy(String keyword) throws LibraryException {
+        return searchBooksFuzzy(keyword, AppConfig.FUZZY_SIMILARITY_THRESHOLD, AppConfig.FUZZY_MAX_RESULTS);
+    }
+
+    // threshold is the minimum similarity (0..1] a book needs to be returned
+    public List<BookMatch> searchBooksFuzzy(String keyword, double threshold, int limit) throws LibraryException {
+        if (threshold <= 0 || threshold > 1) {
+            throw new LibraryException("Similarity threshold must be greater than 0 and at most 1");
+        }
+        if (limit <= 0 || limit > AppConfig.MAX_PAGE_SIZE) {
+            throw new LibraryException("Limit must be between 1 and " + AppConfig.MAX_PAGE_SIZE);
+        }
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return bookDAO.searchBooksFuzzy(keyword.trim(), threshold, limit);
+        } catch (SQLException e) {
+            throw new LibraryException("Error searching books: " + e.getMessage(), e);
+        }
+    }
+
     public List<Book> getAllBooks() throws LibraryException {
         try {
             return bookDAO.findAll();
@@ -66,22 +146,60 @@ public class BookService {
         }
     }
 
+    // Saves an edit made against the version the caller read; a concurrent change is reported, not overwritten
     public boolean updateBook(Book book) throws LibraryException {
         try {
             validateBook(book);
-
-            // Check if book exists
-            Book existingBook = bookDAO.findById(book.getBookId());
-            if (existingBook == null) {
+            if (bookDAO.update(book)) {
+                return true;
+            }
+            if (bookDAO.findById(book.getBookId()) == null) {
                 throw new BookNotFoundException("Book with ID " + book.getBookId() + " not found");
             }
+            throw new ConcurrencyConflictException("Book with ID " + book.getBookId()
+                    + " was modified by someone else; reload it and try again");
+        } catch (SQLException e) {
+            throw new LibraryException("Error updating book: " + e.getMessage(), e);
+        }
+    }
 
-            return bookDAO.update(book);
+    /**
+     * Applies the change to the latest version of the book and saves it, re-reading and
+     * re-applying on version conflicts. Gives up after OPTIMISTIC_MAX_ATTEMPTS tries.
+     */
+    public Book updateBook(int bookId, UnaryOperator<Book> change) throws LibraryException {
+        try {
+            for (int attempt = 0; attempt < AppConfig.OPTIMISTIC_MAX_ATTEMPTS; attempt++) {
+                if (attempt > 0) {
+                    backOff(attempt);
+                }
+                Book current = bookDAO.findById(bookId);
+                if (current == null) {
+                    throw new BookNotFoundException("Book with ID " + bookId + " not found");
+                }
+                Book updated = change.apply(current);
+                validateBook(updated);
+                if (bookDAO.update(updated)) {
+                    return updated;
+                }
+            }
+            throw new ConcurrencyConflictException("Book with ID " + bookId + " is being changed concurrently; gave up after "
+                    + AppConfig.OPTIMISTIC_MAX_ATTEMPTS + " attempts");
         } catch (SQLException e) {
             throw new LibraryException("Error updating book: " + e.getMessage(), e);
         }
     }
 
+    private void backOff(int attempt) throws LibraryException {
+        long ceiling = Math.min(AppConfig.OPTIMISTIC_BACKOFF_MAX_MS, AppConfig.OPTIMISTIC_BACKOFF_BASE_MS << attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LibraryException("Interrupted while retrying book update", e);
+        }
+    }
+
     public boolean deleteBook(int bookId) throws LibraryException {
         try {
             Book book = bookDAO.findById(bookId);
@@ -96,11 +214,16 @@ public class BookService {
     }
 
     public boolean updateAvailability(int bookId, int availableCopies) throws LibraryException {
-        try {
-            return bookDAO.updateAvailability(bookId, availableCopies);
-        } catch (SQLException e) {
-            throw new LibraryException("Error updating book availability: " + e.getMessage(), e);
-        }
+        updateBook(bookId, book -> {
+            book.setAvailableCopies(availableCopies);
+            return book;
+        });
+        return true;
+    }
+
+    // Called after availability changed through another DAO (borrow/return)
+    public void invalidateCachedBook(int bookId) {
+        bookDAO.invalidate(bookId);
     }
 
     private void validateBook(Book book) throws LibraryException {
@@ -0,0 +1,224 @@
+package com.library.service;
+
+import com.library.config.AppConfig;
+import com.library.dao.interfaces.BookDAO;
+import com.library.exception.LibraryException;
+import com.library.model.Book;
+import com.library.model.ImportReport;
+import com.library.util.CsvUtil;
+import com.library.util.DateUtil;
+import com.library.util.ValidationUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams a CSV catalog (isbn,title,author,category,total_copies,published_date)
+ * into the books table through batched inserts. Quoted fields may span lines; rows
+ * are reported by the line they start on.
+ */
+public class CatalogImportService {
+    private static final int COLUMN_COUNT = 6;
+
+    private final BookDAO bookDAO;
+
+    public CatalogImportService(BookDAO bookDAO) {
+        this.bookDAO = bookDAO;
+    }
+
+    public ImportReport importCsv(Path file) throws LibraryException {
+        return importCsv(file, AppConfig.IMPORT_BATCH_SIZE);
+    }
+
+    public ImportReport importCsv(Path file, int batchSize) throws LibraryException {
+        if (batchSize <= 0) {
+            throw new LibraryException("Batch size must be positive");
+        }
+
+        ImportReport report = new ImportReport();
+        Path errorFile = file.resolveSibling(file.getFileName() + ".errors.csv");
+        long start = System.currentTimeMillis();
+
+        try (LineNumberReader reader = new LineNumberReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+             ErrorLog errors = new ErrorLog(errorFile, report)) {
+
+            Set<String> seenIsbns = new HashSet<>();
+            List<Book> batch = new ArrayList<>(batchSize);
+            List<Long> batchLines = new ArrayList<>(batchSize);
+            String record;
+            long nextLine = 1;
+
+            while ((record = CsvUtil.readRecord(reader)) != null) {
+                long lineNumber = nextLine;
+                nextLine = reader.getLineNumber() + 1;
+                if (record.isBlank() || (lineNumber == 1 && isHeader(record))) {
+                    continue;
+                }
+                report.rowRead();
+
+                Book book;
+                try {
+                    book = parseRow(record);
+                } catch (LibraryException e) {
+                    errors.log(lineNumber, e.getMessage());
+                    continue;
+                }
+
+                if (!seenIsbns.add(book.getIsbn())) {
+                    report.duplicateInFile();
+                    continue;
+                }
+
+                batch.add(book);
+                batchLines.add(lineNumber);
+                if (batch.size() == batchSize) {
+                    flush(batch, batchLines, report, errors);
+                }
+            }
+            flush(batch, batchLines, report, errors);
+
+            if (report.getErrorCount() > 0) {
+                report.setErrorReportFile(errorFile);
+            }
+        } catch (IOException e) {
+            throw new LibraryException("Error reading import file: " + e.getMessage(), e);
+        }
+
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private boolean isHeader(String record) {
+        try {
+            return CsvUtil.parseRecord(record).get(0).trim().equalsIgnoreCase("isbn");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Book parseRow(String record) throws LibraryException {
+        List<String> fields;
+        try {
+            fields = CsvUtil.parseRecord(record);
+        } catch (IllegalArgumentException e) {
+            throw new LibraryException(e.getMessage() + "; the rest of the file was read into this row");
+        }
+        if (fields.size() != COLUMN_COUNT) {
+            throw new LibraryException("Expected " + COLUMN_COUNT + " columns but found " + fields.size());
+        }
+
+        String isbn = ValidationUtil.sanitizeInput(fields.get(0)).replaceAll("[-\\s]", "");
+        String title = ValidationUtil.sanitizeInput(fields.get(1));
+        String author = ValidationUtil.sanitizeInput(fields.get(2));
+        String category = ValidationUtil.sanitizeInput(fields.get(3));
+
+        if (!ValidationUtil.isValidISBN(isbn)) {
+            throw new LibraryException("Invalid ISBN format: " + fields.get(0));
+        }
+        if (!ValidationUtil.isNotEmpty(title) || title.length() > AppConfig.MAX_TITLE_LENGTH) {
+            throw new LibraryException("Title is required and must be at most " + AppConfig.MAX_TITLE_LENGTH + " characters");
+        }
+        if (!ValidationUtil.isNotEmpty(author) || author.length() > AppConfig.MAX_AUTHOR_LENGTH) {
+            throw new LibraryException("Author is required and must be at most " + AppConfig.MAX_AUTHOR_LENGTH + " characters");
+        }
+
+        int totalCopies;
+        try {
+            totalCopies = Integer.parseInt(fields.get(4).trim());
+        } catch (NumberFormatException e) {
+            throw new LibraryException("Invalid total copies: " + fields.get(4));
+        }
+        if (totalCopies <= 0) {
+            throw new LibraryException("Total copies must be positive");
+        }
+
+        LocalDate publishedDate;
+        try {
+            publishedDate = DateUtil.parseFromString(fields.get(5));
+        } catch (DateTimeParseException e) {
+            throw new LibraryException("Invalid published date (expected YYYY-MM-DD): " + fields.get(5));
+        }
+        if (publishedDate == null) {
+            throw new LibraryException("Published date is required");
+        }
+
+        return new Book(isbn, title, author, category.isEmpty() ? null : category, totalCopies, publishedDate);
+    }
+
+    private void flush(List<Book> batch, List<Long> batchLines, ImportReport report, ErrorLog errors)
+            throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            countResults(bookDAO.createBatch(batch), report);
+        } catch (SQLException batchFailure) {
+            // The whole batch rolled back; replay it row by row to pin down the bad rows
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    countResults(bookDAO.createBatch(Collections.singletonList(batch.get(i))), report);
+                } catch (SQLException e) {
+                    errors.log(batchLines.get(i), "Database rejected row: " + e.getMessage());
+                }
+            }
+        }
+
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private void countResults(int[] counts, ImportReport report) {
+        long inserted = 0;
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                inserted++;
+            }
+        }
+        report.imported(inserted);
+        report.alreadyInCatalog(counts.length - inserted);
+    }
+
+    // Writes every rejected row to the error report file, opened on the first error
+    private static final class ErrorLog implements AutoCloseable {
+        private final Path file;
+        private final ImportReport report;
+        private BufferedWriter writer;
+
+        private ErrorLog(Path file, ImportReport report) {
+            this.file = file;
+            this.report = report;
+        }
+
+        private void log(long lineNumber, String message) throws IOException {
+            report.error(new ImportReport.RowError(lineNumber, message));
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                writer.write("line,error");
+                writer.newLine();
+            }
+            writer.write(lineNumber + "," + CsvUtil.escape(message));
+            writer.newLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.library.service;
+
+import com.library.model.Hold;
+import com.library.model.enums.HoldStatus;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory mirror of the active holds. WAITING holds sit in one FIFO per priority
+ * level per book, so the next holder for a returned copy is a map lookup and a peek.
+ */
+class HoldQueue {
+    private final Map<Integer, TreeMap<Integer, ArrayDeque<Hold>>> waiting = new HashMap<>();
+    private final Map<Long, Hold> ready = new HashMap<>();
+    private final Map<Integer, Hold> byId = new HashMap<>();
+
+    synchronized void add(Hold hold) {
+        remove(hold.getHoldId());
+        byId.put(hold.getHoldId(), hold);
+        if (hold.getStatus() == HoldStatus.READY) {
+            ready.put(key(hold.getBookId(), hold.getUserId()), hold);
+        } else {
+            waiting.computeIfAbsent(hold.getBookId(), id -> new TreeMap<>(Collections.reverseOrder()))
+                    .computeIfAbsent(hold.getPriority(), priority -> new ArrayDeque<>())
+                    .addLast(hold);
+        }
+    }
+
+    synchronized Hold peekWaiting(int bookId) {
+        TreeMap<Integer, ArrayDeque<Hold>> levels = waiting.get(bookId);
+        return levels != null ? levels.firstEntry().getValue().peekFirst() : null;
+    }
+
+    synchronized Hold findReady(int bookId, int userId) {
+        return ready.get(key(bookId, userId));
+    }
+
+    synchronized Hold remove(int holdId) {
+        Hold hold = byId.remove(holdId);
+        if (hold == null) {
+            return null;
+        }
+        if (hold.getStatus() == HoldStatus.READY) {
+            ready.remove(key(hold.getBookId(), hold.getUserId()));
+            return hold;
+        }
+        TreeMap<Integer, ArrayDeque<Hold>> levels = waiting.get(hold.getBookId());
+        ArrayDeque<Hold> queue = levels.get(hold.getPriority());
+        // The head is by far the common case: a returned copy going to the next holder
+        if (queue.peekFirst() == hold) {
+            queue.pollFirst();
+        } else {
+            queue.remove(hold);
+        }
+        if (queue.isEmpty()) {
+            levels.remove(hold.getPriority());
+            if (levels.isEmpty()) {
+                waiting.remove(hold.getBookId());
+            }
+        }
+        return hold;
+    }
+
+    // 1-based place in the book's queue, 0 once the hold is ready, -1 if it is not active
+    synchronized int position(int holdId) {
+        Hold hold = byId.get(holdId);
+        if (hold == null) {
+            return -1;
+        }
+        if (hold.getStatus() == HoldStatus.READY) {
+            return 0;
+        }
+        int position = 1;
+        for (ArrayDeque<Hold> queue : waiting.get(hold.getBookId()).values()) {
+            for (Hold queued : queue) {
+                if (queued == hold) {
+                    return position;
+                }
+                position++;
+            }
+        }
+        return -1;
+    }
+
+    synchronized int waitingCount(int bookId) {
+        TreeMap<Integer, ArrayDeque<Hold>> levels = waiting.get(bookId);
+        if (levels == null) {
+            return 0;
+        }
+        int count = 0;
+        for (ArrayDeque<Hold> queue : levels.values()) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    synchronized int size() {
+        return byId.size();
+    }
+
+    synchronized void clear() {
+        waiting.clear();
+        ready.clear();
+        byId.clear();
+    }
+
+    private static long key(int bookId, int userId) {
+        return ((long) bookId << 32) | (userId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,250 @@
+package com.library.service;
+
+import com.library.config.AppConfig;
+import com.library.dao.interfaces.HoldDAO;
+import com.library.exception.LibraryException;
+import com.library.exception.TransactionException;
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.User;
+import com.library.model.enums.BookStatus;
+import com.library.model.enums.HoldStatus;
+import com.library.model.enums.UserStatus;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+public class HoldService {
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final HoldDAO holdDAO;
+    private final BookService bookService;
+    private final UserService userService;
+    private final HoldQueue queue = new HoldQueue();
+    private volatile boolean loaded;
+
+    public HoldService(HoldDAO holdDAO, BookService bookService, UserService userService) {
+        this.holdDAO = holdDAO;
+        this.bookService = bookService;
+        this.userService = userService;
+    }
+
+    public int placeHold(int bookId, int userId) throws LibraryException {
+        return placeHold(bookId, userId, 0);
+    }
+
+    public int placeHold(int bookId, int userId, int priority) throws LibraryException {
+        try {
+            Book book = bookService.findBook(bookId);
+            User user = userService.findUser(userId);
+            if (user.getStatus() != UserStatus.ACTIVE) {
+                throw new TransactionException("User account is not active");
+            }
+            if (book.getStatus() == BookStatus.DELETED) {
+                throw new TransactionException("Book is no longer in the catalog");
+            }
+            if (book.getAvailableCopies() > 0 && queue().waitingCount(bookId) == 0) {
+                throw new TransactionException("Book has copies available; borrow it instead");
+            }
+
+            Hold hold = new Hold(bookId, userId, priority);
+            hold.setHoldId(holdDAO.create(hold));
+            queue().add(hold);
+            return hold.getHoldId();
+        } catch (SQLException e) {
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw new TransactionException("User already has an active hold on this book");
+            }
+            throw new LibraryException("Error placing hold: " + e.getMessage(), e);
+        }
+    }
+
+    public void cancelHold(int holdId) throws LibraryException {
+        try {
+            Hold previous = holdDAO.release(holdId, HoldStatus.CANCELLED);
+            if (previous == null) {
+                throw new TransactionException("Hold with ID " + holdId + " is not active");
+            }
+            queue().remove(holdId);
+            if (previous.getStatus() == HoldStatus.READY) {
+                // The set-aside copy went back on the shelf; pass it down the queue
+                bookService.invalidateCachedBook(previous.getBookId());
+                allocateAvailableCopies(previous.getBookId());
+            }
+        } catch (SQLException e) {
+            throw new LibraryException("Error cancelling hold: " + e.getMessage(), e);
+        }
+    }
+
+    public Hold findHold(int holdId) throws LibraryException {
+        try {
+            Hold hold = holdDAO.findById(holdId);
+            if (hold == null) {
+                throw new TransactionException("Hold with ID " + holdId + " not found");
+            }
+            return hold;
+        } catch (SQLException e) {
+            throw new LibraryException("Error finding hold: " + e.getMessage(), e);
+        }
+    }
+
+    public List<Hold> getUserHolds(int userId) throws LibraryException {
+        try {
+            return holdDAO.findByUserId(userId);
+        } catch (SQLException e) {
+            throw new LibraryException("Error retrieving user holds: " + e.getMessage(), e);
+        }
+    }
+
+    public List<Hold> getBookHolds(int bookId) throws LibraryException {
+        try {
+            return holdDAO.findByBookId(bookId);
+        } catch (SQLException e) {
+            throw new LibraryException("Error retrieving book holds: " + e.getMessage(), e);
+        }
+    }
+
+    public int getQueuePosition(int holdId) throws LibraryException {
+        try {
+            return queue().position(holdId);
+        } catch (SQLException e) {
+            throw new LibraryException("Error loading hold queue: " + e.getMessage(), e);
+        }
+    }
+
+    // The READY hold this user may collect for the book, or null
+    public Hold findReadyHold(int bookId, int userId) throws LibraryException {
+        try {
+            return queue().findReady(bookId, userId);
+        } catch (SQLException e) {
+            throw new LibraryException("Error loading hold queue: " + e.getMessage(), e);
+        }
+    }
+
+    public LocalDate pickupDeadline(LocalDate readyDate) {
+        return readyDate.plusDays(AppConfig.HOLD_PICKUP_DAYS);
+    }
+
+    /**
+     * Brings the mirror up to date after a return of {@code bookId}, which offered its copy
+     * to the head of the book's queue. Costs nothing when nobody is waiting; if the return
+     * readied some other hold, or none, the book's holds are reloaded and any restocked
+     * copy is handed to whoever is next.
+     */
+    public void onCopyReturned(int bookId) throws LibraryException {
+        try {
+            Hold head = queue().peekWaiting(bookId);
+            if (head == null) {
+                return;
+            }
+            Hold current = holdDAO.findById(head.getHoldId());
+            if (current != null && current.getStatus() == HoldStatus.READY) {
+                queue().add(current);
+                return;
+            }
+            reloadBook(bookId);
+            allocateAvailableCopies(bookId);
+        } catch (SQLException e) {
+            throw new LibraryException("Error updating hold queue: " + e.getMessage(), e);
+        }
+    }
+
+    public void onHoldFulfilled(Hold hold) throws LibraryException {
+        try {
+            queue().remove(hold.getHoldId());
+        } catch (SQLException e) {
+            throw new LibraryException("Error updating hold queue: " + e.getMessage(), e);
+        }
+    }
+
+    // Sets available copies of the book aside for waiting holders, best first; returns how many
+    public int allocateAvailableCopies(int bookId) throws LibraryException {
+        try {
+            int allocated = 0;
+            LocalDate today = LocalDate.now();
+            Hold next;
+            while ((next = queue().peekWaiting(bookId)) != null) {
+                if (holdDAO.allocate(next.getHoldId(), bookId, pickupDeadline(today))) {
+                    queue().add(holdDAO.findById(next.getHoldId()));
+                    allocated++;
+                    continue;
+                }
+                Hold current = holdDAO.findById(next.getHoldId());
+                if (current != null && current.getStatus() == HoldStatus.WAITING) {
+                    break;
+                }
+                // Cancelled or expired elsewhere; the mirror was stale
+                queue().remove(next.getHoldId());
+            }
+            if (allocated > 0) {
+                bookService.invalidateCachedBook(bookId);
+            }
+            return allocated;
+        } catch (SQLException e) {
+            throw new LibraryException("Error allocating held copies: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Expires READY holds whose pickup window has passed and passes each released copy
+     * to the next holder. Runs on the schedule set up by the application context.
+     */
+    public int expireReadyHolds() throws LibraryException {
+        try {
+            int expired = 0;
+            for (Hold hold : holdDAO.findExpiredReady(LocalDate.now())) {
+                Hold previous = holdDAO.release(hold.getHoldId(), HoldStatus.EXPIRED);
+                queue().remove(hold.getHoldId());
+                if (previous != null && previous.getStatus() == HoldStatus.READY) {
+                    expired++;
+                    bookService.invalidateCachedBook(hold.getBookId());
+                    allocateAvailableCopies(hold.getBookId());
+                }
+            }
+            return expired;
+        } catch (SQLException e) {
+            throw new LibraryException("Error expiring holds: " + e.getMessage(), e);
+        }
+    }
+
+    public int getActiveHoldCount() throws LibraryException {
+        try {
+            return queue().size();
+        } catch (SQLException e) {
+            throw new LibraryException("Error loading hold queue: " + e.getMessage(), e);
+        }
+    }
+
+    // Replaces the mirror's entries for one book with the database's, in queue order
+    private void reloadBook(int bookId) throws SQLException {
+        List<Hold> holds = holdDAO.findByBookId(bookId);
+        HoldQueue mirror = queue();
+        synchronized (mirror) {
+            for (Hold hold : holds) {
+                mirror.remove(hold.getHoldId());
+            }
+            for (Hold hold : holds) {
+                if (hold.isActive()) {
+                    mirror.add(hold);
+                }
+            }
+        }
+    }
+
+    // Loads the active holds into the mirror on first use
+    private HoldQueue queue() throws SQLException {
+        if (!loaded) {
+            synchronized (queue) {
+                if (!loaded) {
+                    queue.clear();
+                    for (Hold hold : holdDAO.findActive()) {
+                        queue.add(hold);
+                    }
+                    loaded = true;
+                }
+            }
+        }
+        return queue;
+    }
+}
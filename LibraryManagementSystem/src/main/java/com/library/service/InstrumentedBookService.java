@@ -0,0 +1,90 @@
+package com.library.service;
+
+import com.library.dao.interfaces.BookDAO;
+import com.library.exception.BookNotFoundException;
+import com.library.exception.LibraryException;
+import com.library.metrics.MetricsRegistry;
+import com.library.metrics.OperationMetrics;
+import com.library.model.Book;
+import com.library.model.BookMatch;
+import com.library.model.Page;
+import com.library.model.enums.SearchMode;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+public class InstrumentedBookService extends BookService {
+    private static final OperationMetrics ADD_BOOK = MetricsRegistry.operation("BookService.addBook");
+    private static final OperationMetrics FIND_BOOK = MetricsRegistry.operation("BookService.findBook");
+    private static final OperationMetrics FIND_BOOKS = MetricsRegistry.operation("BookService.findBooks");
+    private static final OperationMetrics SEARCH_BOOKS = MetricsRegistry.operation("BookService.searchBooks");
+    private static final OperationMetrics SEARCH_BOOKS_PAGE = MetricsRegistry.operation("BookService.searchBooksPage");
+    private static final OperationMetrics SEARCH_BOOKS_FUZZY = MetricsRegistry.operation("BookService.searchBooksFuzzy");
+    private static final OperationMetrics GET_ALL_BOOKS = MetricsRegistry.operation("BookService.getAllBooks");
+    private static final OperationMetrics UPDATE_BOOK = MetricsRegistry.operation("BookService.updateBook");
+    private static final OperationMetrics UPDATE_BOOK_WITH_RETRY = MetricsRegistry.operation("BookService.updateBookWithRetry");
+    private static final OperationMetrics DELETE_BOOK = MetricsRegistry.operation("BookService.deleteBook");
+    private static final OperationMetrics UPDATE_AVAILABILITY = MetricsRegistry.operation("BookService.updateAvailability");
+
+    public InstrumentedBookService(BookDAO bookDAO) {
+        super(bookDAO);
+    }
+
+    @Override
+    public int addBook(Book book) throws LibraryException {
+        return ADD_BOOK.record(() -> super.addBook(book));
+    }
+
+    @Override
+    public Book findBook(int bookId) throws BookNotFoundException, LibraryException {
+        return FIND_BOOK.record(() -> super.findBook(bookId));
+    }
+
+    @Override
+    public Map<Integer, Book> findBooks(Collection<Integer> bookIds) throws LibraryException {
+        return FIND_BOOKS.record(() -> super.findBooks(bookIds));
+    }
+
+    @Override
+    public List<Book> searchBooks(String keyword) throws LibraryException {
+        return SEARCH_BOOKS.record(() -> super.searchBooks(keyword));
+    }
+
+    // The two-argument overload delegates here, so only this one is timed
+    @Override
+    public Page<Book> searchBooksPage(String keyword, String cursor, SearchMode mode) throws LibraryException {
+        return SEARCH_BOOKS_PAGE.record(() -> super.searchBooksPage(keyword, cursor, mode));
+    }
+
+    // The one-argument overload delegates here, so only this one is timed
+    @Override
+    public List<BookMatch> searchBooksFuzzy(String keyword, double threshold, int limit) throws LibraryException {
+        return SEARCH_BOOKS_FUZZY.record(() -> super.searchBooksFuzzy(keyword, threshold, limit));
+    }
+
+    @Override
+    public List<Book> getAllBooks() throws LibraryException {
+        return GET_ALL_BOOKS.record(super::getAllBooks);
+    }
+
+    @Override
+    public boolean updateBook(Book book) throws LibraryException {
+        return UPDATE_BOOK.record(() -> super.updateBook(book));
+    }
+
+    @Override
+    public Book updateBook(int bookId, UnaryOperator<Book> change) throws LibraryException {
+        return UPDATE_BOOK_WITH_RETRY.record(() -> super.updateBook(bookId, change));
+    }
+
+    @Override
+    public boolean deleteBook(int bookId) throws LibraryException {
+        return DELETE_BOOK.record(() -> super.deleteBook(bookId));
+    }
+
+    @Override
+    public boolean updateAvailability(int bookId, int availableCopies) throws LibraryException {
+        return UPDATE_AVAILABILITY.record(() -> super.updateAvailability(bookId, availableCopies));
+    }
+}
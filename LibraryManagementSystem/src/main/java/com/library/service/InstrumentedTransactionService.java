@@ -0,0 +1,86 @@
+package com.library.service;
+
+import com.library.dao.interfaces.TransactionDAO;
+import com.library.exception.LibraryException;
+import com.library.metrics.MetricsRegistry;
+import com.library.metrics.OperationMetrics;
+import com.library.model.OverdueReportEntry;
+import com.library.model.Page;
+import com.library.model.Transaction;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class InstrumentedTransactionService extends TransactionService {
+    private static final OperationMetrics BORROW_BOOK = MetricsRegistry.operation("TransactionService.borrowBook");
+    private static final OperationMetrics RETURN_BOOK = MetricsRegistry.operation("TransactionService.returnBook");
+    private static final OperationMetrics GET_ALL_TRANSACTIONS = MetricsRegistry.operation("TransactionService.getAllTransactions");
+    private static final OperationMetrics GET_USER_TRANSACTIONS = MetricsRegistry.operation("TransactionService.getUserTransactions");
+    private static final OperationMetrics GET_BOOK_TRANSACTIONS = MetricsRegistry.operation("TransactionService.getBookTransactions");
+    private static final OperationMetrics GET_ALL_TRANSACTIONS_PAGE = MetricsRegistry.operation("TransactionService.getAllTransactionsPage");
+    private static final OperationMetrics GET_USER_TRANSACTIONS_PAGE = MetricsRegistry.operation("TransactionService.getUserTransactionsPage");
+    private static final OperationMetrics GET_BOOK_TRANSACTIONS_PAGE = MetricsRegistry.operation("TransactionService.getBookTransactionsPage");
+    private static final OperationMetrics GET_OVERDUE_TRANSACTIONS = MetricsRegistry.operation("TransactionService.getOverdueTransactions");
+    private static final OperationMetrics STREAM_OVERDUE_REPORT = MetricsRegistry.operation("TransactionService.streamOverdueReport");
+    private static final OperationMetrics FIND_TRANSACTION = MetricsRegistry.operation("TransactionService.findTransaction");
+
+    public InstrumentedTransactionService(TransactionDAO transactionDAO, BookService bookService,
+                                          UserService userService, HoldService holdService,
+                                          OverdueSweepService overdueSweepService) {
+        super(transactionDAO, bookService, userService, holdService, overdueSweepService);
+    }
+
+    @Override
+    public int borrowBook(int bookId, int userId) throws LibraryException {
+        return BORROW_BOOK.record(() -> super.borrowBook(bookId, userId));
+    }
+
+    @Override
+    public Transaction returnBook(int transactionId) throws LibraryException {
+        return RETURN_BOOK.record(() -> super.returnBook(transactionId));
+    }
+
+    @Override
+    public List<Transaction> getAllTransactions() throws LibraryException {
+        return GET_ALL_TRANSACTIONS.record(super::getAllTransactions);
+    }
+
+    @Override
+    public List<Transaction> getUserTransactions(int userId) throws LibraryException {
+        return GET_USER_TRANSACTIONS.record(() -> super.getUserTransactions(userId));
+    }
+
+    @Override
+    public List<Transaction> getBookTransactions(int bookId) throws LibraryException {
+        return GET_BOOK_TRANSACTIONS.record(() -> super.getBookTransactions(bookId));
+    }
+
+    @Override
+    public Page<Transaction> getAllTransactionsPage(String cursor) throws LibraryException {
+        return GET_ALL_TRANSACTIONS_PAGE.record(() -> super.getAllTransactionsPage(cursor));
+    }
+
+    @Override
+    public Page<Transaction> getUserTransactionsPage(int userId, String cursor) throws LibraryException {
+        return GET_USER_TRANSACTIONS_PAGE.record(() -> super.getUserTransactionsPage(userId, cursor));
+    }
+
+    @Override
+    public Page<Transaction> getBookTransactionsPage(int bookId, String cursor) throws LibraryException {
+        return GET_BOOK_TRANSACTIONS_PAGE.record(() -> super.getBookTransactionsPage(bookId, cursor));
+    }
+
+    @Override
+    public List<Transaction> getOverdueTransactions() throws LibraryException {
+        return GET_OVERDUE_TRANSACTIONS.record(super::getOverdueTransactions);
+    }
+
+    @Override
+    public double streamOverdueReport(Consumer<OverdueReportEntry> consumer) throws LibraryException {
+        return STREAM_OVERDUE_REPORT.record(() -> super.streamOverdueReport(consumer));
+    }
+
+    @Override
+    public Transaction findTransaction(int transactionId) throws LibraryException {
+        return FIND_TRANSACTION.record(() -> super.findTransaction(transactionId));
+    }
+}
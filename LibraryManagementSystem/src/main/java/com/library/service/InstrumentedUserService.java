@@ -0,0 +1,79 @@
+package com.library.service;
+
+import com.library.dao.interfaces.UserDAO;
+import com.library.exception.LibraryException;
+import com.library.exception.UserNotFoundException;
+import com.library.metrics.MetricsRegistry;
+import com.library.metrics.OperationMetrics;
+import com.library.model.Page;
+import com.library.model.User;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class InstrumentedUserService extends UserService {
+    private static final OperationMetrics REGISTER_USER = MetricsRegistry.operation("UserService.registerUser");
+    private static final OperationMetrics FIND_USER = MetricsRegistry.operation("UserService.findUser");
+    private static final OperationMetrics FIND_USERS = MetricsRegistry.operation("UserService.findUsers");
+    private static final OperationMetrics FIND_USER_BY_EMAIL = MetricsRegistry.operation("UserService.findUserByEmail");
+    private static final OperationMetrics SEARCH_USERS = MetricsRegistry.operation("UserService.searchUsers");
+    private static final OperationMetrics GET_ALL_USERS = MetricsRegistry.operation("UserService.getAllUsers");
+    private static final OperationMetrics GET_USERS_PAGE = MetricsRegistry.operation("UserService.getUsersPage");
+    private static final OperationMetrics UPDATE_USER = MetricsRegistry.operation("UserService.updateUser");
+    private static final OperationMetrics DELETE_USER = MetricsRegistry.operation("UserService.deleteUser");
+    private static final OperationMetrics RECORD_FINE_PAYMENT = MetricsRegistry.operation("UserService.recordFinePayment");
+
+    public InstrumentedUserService(UserDAO userDAO) {
+        super(userDAO);
+    }
+
+    @Override
+    public int registerUser(User user) throws LibraryException {
+        return REGISTER_USER.record(() -> super.registerUser(user));
+    }
+
+    @Override
+    public User findUser(int userId) throws UserNotFoundException, LibraryException {
+        return FIND_USER.record(() -> super.findUser(userId));
+    }
+
+    @Override
+    public Map<Integer, User> findUsers(Collection<Integer> userIds) throws LibraryException {
+        return FIND_USERS.record(() -> super.findUsers(userIds));
+    }
+
+    @Override
+    public User findUserByEmail(String email) throws UserNotFoundException, LibraryException {
+        return FIND_USER_BY_EMAIL.record(() -> super.findUserByEmail(email));
+    }
+
+    @Override
+    public List<User> searchUsers(String keyword) throws LibraryException {
+        return SEARCH_USERS.record(() -> super.searchUsers(keyword));
+    }
+
+    @Override
+    public List<User> getAllUsers() throws LibraryException {
+        return GET_ALL_USERS.record(super::getAllUsers);
+    }
+
+    @Override
+    public Page<User> getUsersPage(String cursor) throws LibraryException {
+        return GET_USERS_PAGE.record(() -> super.getUsersPage(cursor));
+    }
+
+    @Override
+    public boolean updateUser(User user) throws LibraryException {
+        return UPDATE_USER.record(() -> super.updateUser(user));
+    }
+
+    @Override
+    public boolean deleteUser(int userId) throws LibraryException {
+        return DELETE_USER.record(() -> super.deleteUser(userId));
+    }
+
+    @Override
+    public double recordFinePayment(int userId, double amount) throws LibraryException {
+        return RECORD_FINE_PAYMENT.record(() -> super.recordFinePayment(userId, amount));
+    }
+}
@@ -0,0 +1,48 @@
+package com.library.service;
+
+import com.library.dao.interfaces.InventoryDAO;
+import com.library.exception.LibraryException;
+import com.library.model.InventorySummary;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public class InventoryService {
+    private final InventoryDAO inventoryDAO;
+
+    public InventoryService(InventoryDAO inventoryDAO) {
+        this.inventoryDAO = inventoryDAO;
+    }
+
+    public InventorySummary getTotals() throws LibraryException {
+        try {
+            return inventoryDAO.getTotals();
+        } catch (SQLException e) {
+            throw new LibraryException("Error retrieving inventory totals: " + e.getMessage(), e);
+        }
+    }
+
+    public List<InventorySummary> getCategoryBreakdown() throws LibraryException {
+        try {
+            return inventoryDAO.getCategoryBreakdown();
+        } catch (SQLException e) {
+            throw new LibraryException("Error retrieving inventory breakdown: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks the maintained counters against a full recount of the catalog and repairs
+     * any that drifted. Runs on the schedule set up by the application context.
+     */
+    public List<InventorySummary> reconcile() throws LibraryException {
+        try {
+            List<InventorySummary> repaired = inventoryDAO.reconcile();
+            for (InventorySummary summary : repaired) {
+                System.err.println("Inventory counters drifted; repaired to " + summary);
+            }
+            return repaired;
+        } catch (SQLException e) {
+            throw new LibraryException("Error reconciling inventory: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.library.service;
+
+import com.library.config.AppConfig;
+import com.library.dao.interfaces.TransactionDAO;
+import com.library.exception.LibraryException;
+import com.library.model.SweepCheckpoint;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Flags open loans past their due date as OVERDUE and accrues their fines, one chunk
+ * of rows per transaction. Runs at most once per day; a run that was interrupted
+ * picks up from its saved checkpoint.
+ */
+public class OverdueSweepService {
+    public static final String JOB_NAME = "overdue-sweep";
+
+    private final TransactionDAO transactionDAO;
+
+    public OverdueSweepService(TransactionDAO transactionDAO) {
+        this.transactionDAO = transactionDAO;
+    }
+
+    public SweepCheckpoint runSweep() throws LibraryException {
+        return runSweep(checkpoint -> {});
+    }
+
+    // Reports the checkpoint after every chunk; returns today's run, which may have finished earlier
+    public synchronized SweepCheckpoint runSweep(Consumer<SweepCheckpoint> progress) throws LibraryException {
+        try {
+            LocalDate today = LocalDate.now();
+            SweepCheckpoint checkpoint = transactionDAO.findSweepCheckpoint(JOB_NAME);
+            if (checkpoint == null || !today.equals(checkpoint.getRunDate())) {
+                checkpoint = new SweepCheckpoint(JOB_NAME, today);
+            }
+
+            while (!checkpoint.isComplete()) {
+                checkpoint = transactionDAO.sweepOverdueChunk(checkpoint, AppConfig.FINE_PER_DAY,
+                        AppConfig.OVERDUE_SWEEP_CHUNK_SIZE);
+                progress.accept(checkpoint);
+            }
+            return checkpoint;
+        } catch (SQLException e) {
+            throw new LibraryException("Error sweeping overdue loans: " + e.getMessage(), e);
+        }
+    }
+
+    // Today's checkpoint if a sweep has started today, otherwise the last one, or null
+    public SweepCheckpoint getLastCheckpoint() throws LibraryException {
+        try {
+            return transactionDAO.findSweepCheckpoint(JOB_NAME);
+        } catch (SQLException e) {
+            throw new LibraryException("Error reading sweep checkpoint: " + e.getMessage(), e);
+        }
+    }
+}
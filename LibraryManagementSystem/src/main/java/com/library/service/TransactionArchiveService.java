@@ -0,0 +1,45 @@
+package com.library.service;
+
+import com.library.config.AppConfig;
+import com.library.dao.interfaces.TransactionDAO;
+import com.library.exception.LibraryException;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.LongConsumer;
+
+/**
+ * Moves long-returned loans from the live transactions table into the archive, one chunk
+ * per statement, so the live table stays small enough for open-loan queries to stay in cache.
+ * History lookups read both tiers, so archiving is invisible to callers.
+ */
+public class TransactionArchiveService {
+    private final TransactionDAO transactionDAO;
+
+    public TransactionArchiveService(TransactionDAO transactionDAO) {
+        this.transactionDAO = transactionDAO;
+    }
+
+    public long archiveReturnedLoans() throws LibraryException {
+        return archiveReturnedLoans(moved -> {});
+    }
+
+    // Reports the running total after every chunk; returns the number of loans moved
+    public synchronized long archiveReturnedLoans(LongConsumer progress) throws LibraryException {
+        LocalDate cutoff = LocalDate.now().minusDays(AppConfig.ARCHIVE_AFTER_DAYS);
+        long total = 0;
+        try {
+            while (true) {
+                int moved = transactionDAO.archiveReturnedLoans(cutoff, AppConfig.ARCHIVE_CHUNK_SIZE);
+                if (moved == 0) {
+                    return total;
+                }
+                total += moved;
+                progress.accept(total);
+            }
+        } catch (SQLException e) {
+            throw new LibraryException("Error archiving returned loans after " + total + " moved: "
+                    + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.library.service;
+
+import com.library.config.AppConfig;
+import com.library.dao.interfaces.TransactionDAO;
+import com.library.exception.LibraryException;
+import com.library.model.ExportReport;
+import com.library.model.Transaction;
+import com.library.model.TransactionFilter;
+import com.library.model.enums.ExportFormat;
+import com.library.util.CsvUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams transactions straight from the DAO into a CSV or JSON Lines file, optionally
+ * gzipped. Rows are written as they arrive, so memory use does not grow with the history.
+ * The file is written under a temporary name and moved into place once complete.
+ */
+public class TransactionExportService {
+    private static final String CSV_HEADER =
+            "transaction_id,book_id,user_id,borrow_date,due_date,return_date,status,returned_late,fine_amount";
+
+    private final TransactionDAO transactionDAO;
+
+    public TransactionExportService(TransactionDAO transactionDAO) {
+        this.transactionDAO = transactionDAO;
+    }
+
+    // Appends the format's extension (and .gz) when the file name does not already end with it
+    public static Path resolveFileName(Path file, ExportFormat format, boolean gzip) {
+        String name = file.getFileName().toString();
+        String extension = "." + format.getExtension() + (gzip ? ".gz" : "");
+        return name.endsWith(extension) ? file : file.resolveSibling(name + extension);
+    }
+
+    public ExportReport exportTransactions(Path file, ExportFormat format, TransactionFilter filter,
+                                           boolean gzip, Consumer<ExportReport> progress) throws LibraryException {
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+        ExportReport report = new ExportReport(file);
+        long start = System.currentTimeMillis();
+
+        try {
+            try (Writer writer = openWriter(partFile, gzip)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                transactionDAO.streamTransactions(filter, transaction -> {
+                    try {
+                        writeRow(writer, format, transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    report.rowWritten();
+                    if (progress != null && report.getRowsWritten() % AppConfig.EXPORT_PROGRESS_INTERVAL == 0) {
+                        report.setElapsedMillis(System.currentTimeMillis() - start);
+                        progress.accept(report);
+                    }
+                });
+            }
+            Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+            report.setBytesWritten(Files.size(file));
+        } catch (SQLException e) {
+            deleteQuietly(partFile);
+            throw new LibraryException("Error reading transactions for export: " + e.getMessage(), e);
+        } catch (IOException | UncheckedIOException e) {
+            deleteQuietly(partFile);
+            throw new LibraryException("Error writing export file: " + e.getMessage(), e);
+        }
+
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private static Writer openWriter(Path file, boolean gzip) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), AppConfig.EXPORT_BUFFER_SIZE);
+        if (gzip) {
+            out = new GZIPOutputStream(out, AppConfig.EXPORT_BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), AppConfig.EXPORT_BUFFER_SIZE);
+    }
+
+    private static void writeRow(Writer writer, ExportFormat format, Transaction transaction) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(transaction.getTransactionId() + "," + transaction.getBookId() + ","
+                    + transaction.getUserId() + "," + transaction.getBorrowDate() + ","
+                    + transaction.getDueDate() + "," + orEmpty(transaction.getReturnDate()) + ","
+                    + CsvUtil.escape(transaction.getStatus().name()) + ","
+                    + transaction.isReturnedLate() + ","
+                    + formatAmount(transaction.getFineAmount()));
+        } else {
+            writer.write("{\"transaction_id\":" + transaction.getTransactionId()
+                    + ",\"book_id\":" + transaction.getBookId()
+                    + ",\"user_id\":" + transaction.getUserId()
+                    + ",\"borrow_date\":" + quote(transaction.getBorrowDate())
+                    + ",\"due_date\":" + quote(transaction.getDueDate())
+                    + ",\"return_date\":" + quote(transaction.getReturnDate())
+                    + ",\"status\":\"" + transaction.getStatus().name() + "\""
+                    + ",\"returned_late\":" + transaction.isReturnedLate()
+                    + ",\"fine_amount\":" + formatAmount(transaction.getFineAmount()) + "}");
+        }
+        writer.write('\n');
+    }
+
+    private static String orEmpty(LocalDate date) {
+        return date != null ? date.toString() : "";
+    }
+
+    private static String quote(LocalDate date) {
+        return date != null ? "\"" + date + "\"" : "null";
+    }
+
+    // Fines are whole cents, so format from cents rather than going through String.format per row
+    private static String formatAmount(double amount) {
+        long cents = Math.round(amount * 100);
+        long fraction = Math.abs(cents % 100);
+        return (cents < 0 && cents > -100 ? "-" : "") + cents / 100 + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Error removing partial export " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,98 +1,121 @@
 package com.library.service;
 
-import com.library.dao.impl.TransactionDAOImpl;
+import com.library.config.AppConfig;
 import com.library.dao.interfaces.TransactionDAO;
+import com.library.exception.BookNotFoundException;
 import com.library.exception.LibraryException;
 import com.library.exception.TransactionException;
-import com.library.model.Book;
+import com.library.exception.UserNotFoundException;
+import com.library.model.Hold;
+import com.library.model.OverdueReportEntry;
+import com.library.model.Page;
+import com.library.model.SweepCheckpoint;
 import com.library.model.Transaction;
-import com.library.model.User;
-import com.library.model.enums.TransactionStatus;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class TransactionService {
     private final TransactionDAO transactionDAO;
     private final BookService bookService;
     private final UserService userService;
-
-    private static final int DEFAULT_BORROW_DAYS = 14;
-    private static final double FINE_PER_DAY = 1.0;
-
-    public TransactionService() {
-        this.transactionDAO = new TransactionDAOImpl();
-        this.bookService = new BookService();
-        this.userService = new UserService();
+    private final HoldService holdService;
+    private final OverdueSweepService overdueSweepService;
+
+    public TransactionService(TransactionDAO transactionDAO, BookService bookService, UserService userService,
+                              HoldService holdService, OverdueSweepService overdueSweepService) {
+        this.transactionDAO = transactionDAO;
+        this.bookService = bookService;
+        this.userService = userService;
+        this.holdService = holdService;
+        this.overdueSweepService = overdueSweepService;
     }
 
     public int borrowBook(int bookId, int userId) throws LibraryException {
         try {
-            // Validate book exists and is available
-            Book book = bookService.findBook(bookId);
-            if (book.getAvailableCopies() <= 0) {
-                throw new TransactionException("Book is not available for borrowing");
-            }
-
-            // Validate user exists
-            User user = userService.findUser(userId);
-
-            // Create transaction
             LocalDate borrowDate = LocalDate.now();
-            LocalDate dueDate = borrowDate.plusDays(DEFAULT_BORROW_DAYS);
-
-            Transaction transaction = new Transaction(bookId, userId, borrowDate, dueDate);
-            int transactionId = transactionDAO.create(transaction);
-
-            // Update book availability
-            bookService.updateAvailability(bookId, book.getAvailableCopies() - 1);
+            LocalDate dueDate = borrowDate.plusDays(AppConfig.DEFAULT_BORROW_DAYS);
+
+            // A copy set aside for this user's hold goes to them ahead of the shelf
+            Hold hold = holdService.findReadyHold(bookId, userId);
+            if (hold != null) {
+                int result = transactionDAO.borrowHeldCopy(hold.getHoldId(), userId, borrowDate, dueDate,
+                        AppConfig.MAX_BOOKS_PER_USER, AppConfig.MAX_OUTSTANDING_FINES);
+                if (result > 0) {
+                    holdService.onHoldFulfilled(hold);
+                    onLoanCountsChanged(bookId, userId);
+                    return result;
+                }
+                if (result != TransactionDAO.HOLD_NOT_READY) {
+                    throw refusal(result, bookId, userId);
+                }
+                // The hold had moved on; drop it from the mirror and try the shelf
+                holdService.onHoldFulfilled(hold);
+            }
 
-            return transactionId;
+            // Count the loan against the user's limits and claim a copy in one statement
+            int result = transactionDAO.borrowBook(bookId, userId, borrowDate, dueDate,
+                    AppConfig.MAX_BOOKS_PER_USER, AppConfig.MAX_OUTSTANDING_FINES);
+            if (result > 0) {
+                onLoanCountsChanged(bookId, userId);
+                return result;
+            }
+            throw refusal(result, bookId, userId);
         } catch (SQLException e) {
             throw new LibraryException("Error borrowing book: " + e.getMessage(), e);
         }
     }
 
-    public boolean returnBook(int transactionId) throws LibraryException {
+    public Transaction returnBook(int transactionId) throws LibraryException {
         try {
-            Transaction transaction = transactionDAO.findById(transactionId);
+            // Close the loan, charge the fine and either restock the copy or set it aside
+            // for the head of the book's hold queue, in one statement
+            LocalDate returnDate = LocalDate.now();
+            Transaction transaction = transactionDAO.returnBook(transactionId, returnDate, AppConfig.FINE_PER_DAY,
+                    holdService.pickupDeadline(returnDate));
             if (transaction == null) {
-                throw new TransactionException("Transaction with ID " + transactionId + " not found");
-            }
-
-            if (transaction.getStatus() != TransactionStatus.BORROWED) {
+                if (transactionDAO.findById(transactionId) == null) {
+                    throw new TransactionException("Transaction with ID " + transactionId + " not found");
+                }
                 throw new TransactionException("Book is not currently borrowed");
             }
 
-            // Update transaction
-            LocalDate returnDate = LocalDate.now();
-            transaction.setReturnDate(returnDate);
-            transaction.setStatus(TransactionStatus.RETURNED);
-
-            // Calculate fine if overdue
-            if (returnDate.isAfter(transaction.getDueDate())) {
-                long daysOverdue = ChronoUnit.DAYS.between(transaction.getDueDate(), returnDate);
-                double fineAmount = daysOverdue * FINE_PER_DAY;
-                transaction.setFineAmount(fineAmount);
-                transaction.setStatus(TransactionStatus.OVERDUE);
-            }
-
-            boolean updated = transactionDAO.update(transaction);
-
-            // Update book availability
-            if (updated) {
-                Book book = bookService.findBook(transaction.getBookId());
-                bookService.updateAvailability(transaction.getBookId(), book.getAvailableCopies() + 1);
-            }
-
-            return updated;
+            onLoanCountsChanged(transaction.getBookId(), transaction.getUserId());
+            holdService.onCopyReturned(transaction.getBookId());
+            return transaction;
         } catch (SQLException e) {
             throw new LibraryException("Error returning book: " + e.getMessage(), e);
         }
     }
 
+    // The exception for one of the DAO's reasons a borrow was refused
+    private static LibraryException refusal(int reason, int bookId, int userId) {
+        switch (reason) {
+            case TransactionDAO.BOOK_NOT_FOUND:
+                return new BookNotFoundException("Book with ID " + bookId + " not found");
+            case TransactionDAO.USER_NOT_FOUND:
+                return new UserNotFoundException("User with ID " + userId + " not found");
+            case TransactionDAO.USER_NOT_ACTIVE:
+                return new TransactionException("User account is not active");
+            case TransactionDAO.LOAN_LIMIT_REACHED:
+                return new TransactionException("User already has the maximum of "
+                        + AppConfig.MAX_BOOKS_PER_USER + " books on loan");
+            case TransactionDAO.FINE_LIMIT_EXCEEDED:
+                return new TransactionException(String.format(
+                        "User owes more than $%.2f in fines; record a payment first", AppConfig.MAX_OUTSTANDING_FINES));
+            default:
+                return new TransactionException("Book is not available for borrowing; place a hold to join the queue");
+        }
+    }
+
+    // Both rows changed, and the cached user carries the loan and fine counters
+    private void onLoanCountsChanged(int bookId, int userId) {
+        bookService.invalidateCachedBook(bookId);
+        userService.invalidateCachedUser(userId);
+    }
+
     public List<Transaction> getAllTransactions() throws LibraryException {
         try {
             return transactionDAO.findAll();
@@ -117,7 +140,39 @@ public class TransactionService {
         }
     }
 
+    public Page<Transaction> getAllTransactionsPage(String cursor) throws LibraryException {
+        try {
+            return transactionDAO.findAllPage(cursor, AppConfig.DEFAULT_PAGE_SIZE);
+        } catch (SQLException e) {
+            throw new LibraryException("Error retrieving transactions: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new LibraryException(e.getMessage(), e);
+        }
+    }
+
+    public Page<Transaction> getUserTransactionsPage(int userId, String cursor) throws LibraryException {
+        try {
+            return transactionDAO.findByUserIdPage(userId, cursor, AppConfig.DEFAULT_PAGE_SIZE);
+        } catch (SQLException e) {
+            throw new LibraryException("Error retrieving user transactions: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new LibraryException(e.getMessage(), e);
+        }
+    }
+
+    public Page<Transaction> getBookTransactionsPage(int bookId, String cursor) throws LibraryException {
+        try {
+            return transactionDAO.findByBookIdPage(bookId, cursor, AppConfig.DEFAULT_PAGE_SIZE);
+        } catch (SQLException e) {
+            throw new LibraryException("Error retrieving book transactions: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new LibraryException(e.getMessage(), e);
+        }
+    }
+
+    // Catches up today's overdue sweep first, so loans that fell due since the last run are included
     public List<Transaction> getOverdueTransactions() throws LibraryException {
+        overdueSweepService.runSweep();
         try {
             return transactionDAO.findOverdue();
         } catch (SQLException e) {
@@ -125,6 +180,20 @@ public class TransactionService {
         }
     }
 
+    /**
+     * Streams the overdue report to the consumer row by row and returns the total
+     * outstanding fines. Today's overdue sweep is caught up first, so every loan past
+     * due is listed and its days late and fine are both as of the sweep's run date.
+     */
+    public double streamOverdueReport(Consumer<OverdueReportEntry> consumer) throws LibraryException {
+        SweepCheckpoint sweep = overdueSweepService.runSweep();
+        try {
+            return transactionDAO.streamOverdueReport(sweep.getRunDate(), consumer);
+        } catch (SQLException e) {
+            throw new LibraryException("Error generating overdue report: " + e.getMessage(), e);
+        }
+    }
+
     public Transaction findTransaction(int transactionId) throws LibraryException {
         try {
             Transaction transaction = transactionDAO.findById(transactionId);
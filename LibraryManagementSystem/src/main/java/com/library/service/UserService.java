@@ -1,20 +1,23 @@
 package com.library.service;
 
-import com.library.dao.impl.UserDAOImpl;
+import com.library.config.AppConfig;
 import com.library.dao.interfaces.UserDAO;
 import com.library.exception.LibraryException;
 import com.library.exception.UserNotFoundException;
+import com.library.model.Page;
 import com.library.model.User;
 import com.library.util.ValidationUtil;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public class UserService  {
     private final UserDAO userDAO;
 
-    public UserService() {
-        this.userDAO = new UserDAOImpl();
+    public UserService(UserDAO userDAO) {
+        this.userDAO = userDAO;
     }
 
     public int registerUser(User user) throws LibraryException {
@@ -46,6 +49,15 @@ public class UserService  {
         }
     }
 
+    // Looks up several users in one round trip; ids that do not exist are absent from the result
+    public Map<Integer, User> findUsers(Collection<Integer> userIds) throws LibraryException {
+        try {
+            return userDAO.findByIds(userIds);
+        } catch (SQLException e) {
+            throw new LibraryException("Error finding users: " + e.getMessage(), e);
+        }
+    }
+
     public User findUserByEmail(String email) throws UserNotFoundException, LibraryException {
         try {
             User user = userDAO.findByEmail(email);
@@ -77,6 +89,16 @@ public class UserService  {
         }
     }
 
+    public Page<User> getUsersPage(String cursor) throws LibraryException {
+        try {
+            return userDAO.findAllPage(cursor, AppConfig.DEFAULT_PAGE_SIZE);
+        } catch (SQLException e) {
+            throw new LibraryException("Error retrieving users: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new LibraryException(e.getMessage(), e);
+        }
+    }
+
     public boolean updateUser(User user) throws LibraryException {
         try {
             validateUser(user);
@@ -93,6 +115,27 @@ public class UserService  {
         }
     }
 
+    // Returns the balance still owed after the payment
+    public double recordFinePayment(int userId, double amount) throws LibraryException {
+        if (amount <= 0) {
+            throw new LibraryException("Payment amount must be positive");
+        }
+        try {
+            double remaining = userDAO.recordFinePayment(userId, amount);
+            if (remaining < 0) {
+                throw new UserNotFoundException("User with ID " + userId + " not found");
+            }
+            return remaining;
+        } catch (SQLException e) {
+            throw new LibraryException("Error recording fine payment: " + e.getMessage(), e);
+        }
+    }
+
+    // Called after the loan counters changed through another DAO (borrow/return)
+    public void invalidateCachedUser(int userId) {
+        userDAO.invalidate(userId);
+    }
+
     public boolean deleteUser(int userId) throws LibraryException {
         try {
             User user = userDAO.findById(userId);
@@ -1,6 +1,18 @@
 package com.library.ui;
 
 
+import com.library.config.AppConfig;
+import com.library.config.AppContext;
+import com.library.metrics.LatencyHistogram;
+import com.library.metrics.MetricsRegistry;
+import com.library.metrics.OperationMetrics;
+import com.library.util.AsyncExecutor;
+import com.library.util.ConnectionPool;
+import com.library.util.DatabaseConnection;
+import com.library.util.LruCache;
+import com.library.util.StatementCache;
+
+import java.util.List;
 import java.util.Scanner;
 
 public class ConsoleUI {
@@ -85,6 +97,8 @@ public class ConsoleUI {
         System.out.println("2. Search Books");
         System.out.println("3. Update Book");
         System.out.println("4. Delete Book");
+        System.out.println("5. Bulk Import Books (CSV)");
+        System.out.println("6. Quick Find (title/author autocomplete)");
         System.out.println("0. Back to Main Menu");
 
         int choice = getMenuChoice();
@@ -101,6 +115,12 @@ public class ConsoleUI {
             case 4:
                 menuHandler.handleDeleteBook();
                 break;
+            case 5:
+                menuHandler.handleBulkImport();
+                break;
+            case 6:
+                menuHandler.handleQuickFind();
+                break;
             case 0:
                 break;
             default:
@@ -113,6 +133,7 @@ public class ConsoleUI {
         System.out.println("1. Register New User");
         System.out.println("2. Search Users");
         System.out.println("3. Update User");
+        System.out.println("4. Record Fine Payment");
         System.out.println("0. Back to Main Menu");
 
         int choice = getMenuChoice();
@@ -126,6 +147,9 @@ public class ConsoleUI {
             case 3:
                 menuHandler.handleUpdateUser();
                 break;
+            case 4:
+                menuHandler.handleRecordFinePayment();
+                break;
             case 0:
                 break;
             default:
@@ -138,6 +162,9 @@ public class ConsoleUI {
         System.out.println("1. Borrow Book");
         System.out.println("2. Return Book");
         System.out.println("3. View Transactions");
+        System.out.println("4. Place Hold");
+        System.out.println("5. Cancel Hold");
+        System.out.println("6. View Holds");
         System.out.println("0. Back to Main Menu");
 
         int choice = getMenuChoice();
@@ -151,6 +178,15 @@ public class ConsoleUI {
             case 3:
                 menuHandler.handleViewTransactions();
                 break;
+            case 4:
+                menuHandler.handlePlaceHold();
+                break;
+            case 5:
+                menuHandler.handleCancelHold();
+                break;
+            case 6:
+                menuHandler.handleViewHolds();
+                break;
             case 0:
                 break;
             default:
@@ -162,6 +198,10 @@ public class ConsoleUI {
         System.out.println("\n=== REPORTS ===");
         System.out.println("1. Inventory Report");
         System.out.println("2. Overdue Books Report");
+        System.out.println("3. Export Metrics (Prometheus)");
+        System.out.println("4. Run Overdue Sweep");
+        System.out.println("5. Export Transactions (CSV/JSON Lines)");
+        System.out.println("6. Archive Returned Loans");
         System.out.println("0. Back to Main Menu");
 
         int choice = getMenuChoice();
@@ -172,6 +212,18 @@ public class ConsoleUI {
             case 2:
                 menuHandler.handleOverdueReport();
                 break;
+            case 3:
+                menuHandler.handleExportMetrics();
+                break;
+            case 4:
+                menuHandler.handleOverdueSweep();
+                break;
+            case 5:
+                menuHandler.handleExportTransactions();
+                break;
+            case 6:
+                menuHandler.handleArchiveReturnedLoans();
+                break;
             case 0:
                 break;
             default:
@@ -181,16 +233,97 @@ public class ConsoleUI {
 
     private void showSystemStatus() {
         System.out.println("\n=== SYSTEM STATUS ===");
+        System.out.println("✓ Storage Engine: " + AppConfig.STORAGE_ENGINE);
+        if (AppContext.isInMemory()) {
+            printRuntimeStatus();
+            return;
+        }
+
         try {
             // Test database connection
-            com.library.util.DatabaseConnection.getConnection().close();
+            DatabaseConnection.getConnection().close();
             System.out.println("✓ Database Connection: OK");
         } catch (Exception e) {
             System.out.println("✗ Database Connection: ERROR - " + e.getMessage());
         }
 
+        ConnectionPool.PoolStats pool = DatabaseConnection.getPoolStats();
+        if (pool != null) {
+            System.out.println("\n--- Connection Pool ---");
+            System.out.printf("Connections: %d total (%d active, %d idle), size %d-%d%n",
+                    pool.getTotalConnections(), pool.getActiveConnections(), pool.getIdleConnections(),
+                    pool.getMinSize(), pool.getMaxSize());
+            System.out.printf("Acquired: %d, avg wait %.2f ms, waiting threads: %d%n",
+                    pool.getAcquireCount(), pool.getAverageWaitMillis(), pool.getWaitingThreads());
+            System.out.printf("Created: %d, destroyed: %d, validation failures: %d%n",
+                    pool.getConnectionsCreated(), pool.getConnectionsDestroyed(), pool.getValidationFailures());
+            System.out.printf("Acquire timeouts: %d, suspected leaks: %d%n",
+                    pool.getAcquireTimeouts(), pool.getLeaksDetected());
+        }
+
+        StatementCache.Stats statements = DatabaseConnection.getStatementCacheStats();
+        if (statements != null) {
+            System.out.println("\n--- Statement Cache ---");
+            System.out.printf("Hits: %d, misses: %d, evictions: %d, hit ratio: %.1f%%%n",
+                    statements.getHits(), statements.getMisses(), statements.getEvictions(),
+                    statements.getHitRatio() * 100);
+            for (StatementCache.SqlStats sql : statements.getTopStatements(5)) {
+                System.out.printf("  %6d hits %4d misses  %s%n",
+                        sql.getHits(), sql.getMisses(), sql.getSql().replaceAll("\\s+", " ").trim());
+            }
+        }
+
+        AppContext context = AppContext.get();
+        if (context.getBookCacheStats() != null || context.getUserCacheStats() != null) {
+            System.out.println("\n--- Entity Cache ---");
+            printCacheStats("Books", context.getBookCacheStats());
+            printCacheStats("Users", context.getUserCacheStats());
+        }
+
+        printRuntimeStatus();
+    }
+
+    private void printOperationMetrics() {
+        List<OperationMetrics> operations = MetricsRegistry.getOperations();
+        operations.removeIf(op -> op.getCalls() == 0 && op.getInFlight() == 0);
+        if (operations.isEmpty()) {
+            return;
+        }
+
+        System.out.println("\n--- Operation Metrics ---");
+        System.out.printf("%-42s %8s %6s %8s %9s %9s %9s %5s%n",
+                "Operation", "Calls", "Errors", "Ops/s", "p50 ms", "p99 ms", "p999 ms", "Peak");
+        for (OperationMetrics op : operations) {
+            LatencyHistogram latency = op.getLatency();
+            System.out.printf("%-42s %8d %6d %8.2f %9.3f %9.3f %9.3f %5d%n",
+                    op.getName(), op.getCalls(), op.getErrors(), MetricsRegistry.getThroughput(op),
+                    latency.getValueAtQuantile(0.5) / 1e6, latency.getValueAtQuantile(0.99) / 1e6,
+                    latency.getValueAtQuantile(0.999) / 1e6, op.getMaxInFlight());
+        }
+    }
+
+    private void printRuntimeStatus() {
+        printOperationMetrics();
+
+        AsyncExecutor async = AppContext.get().getAsyncExecutor();
+        if (async != null) {
+            System.out.println("\n--- Async Executor ---");
+            System.out.printf("Threads: %s, free permits: %d, queued tasks: %d%n",
+                    async.usesVirtualThreads() ? "virtual" : "platform pool",
+                    async.getAvailablePermits(), async.getQueuedTasks());
+        }
+
         System.out.println("✓ System Status: Running");
         System.out.println("✓ Java Version: " + System.getProperty("java.version"));
         System.out.println("✓ Application Version: 1.0.0");
     }
+
+    private void printCacheStats(String name, LruCache.Stats stats) {
+        if (stats == null) {
+            return;
+        }
+        System.out.printf("%-6s %d/%d entries, hit rate %.1f%% (%d hits, %d misses), %d evicted, %d expired%n",
+                name + ":", stats.getSize(), stats.getMaxSize(), stats.getHitRate() * 100,
+                stats.getHits(), stats.getMisses(), stats.getEvictions(), stats.getExpirations());
+    }
 }
@@ -49,6 +49,21 @@ public class InputValidator {
         return value;
     }
 
+    public double getValidPositiveAmount(String prompt) {
+        while (true) {
+            try {
+                System.out.print(prompt);
+                double value = Double.parseDouble(scanner.nextLine().trim());
+                if (value > 0) {
+                    return value;
+                }
+                System.out.println("Amount must be positive. Please try again.");
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid amount format. Please enter a number.");
+            }
+        }
+    }
+
     public String getValidEmail(String prompt) {
         String email;
         do {
@@ -100,5 +115,21 @@ public class InputValidator {
             }
         }
     }
+
+    // Null when the user just presses Enter
+    public LocalDate getOptionalDate(String prompt) {
+        while (true) {
+            System.out.print(prompt + " (YYYY-MM-DD, Enter to skip): ");
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(input, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            } catch (DateTimeParseException e) {
+                System.out.println("Invalid date format. Please use YYYY-MM-DD format.");
+            }
+        }
+    }
 }
 
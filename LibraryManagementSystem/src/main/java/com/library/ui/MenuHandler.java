@@ -1,30 +1,48 @@
 package com.library.ui;
+import com.library.config.AppConfig;
+import com.library.config.AppContext;
+import com.library.exception.ConcurrencyConflictException;
 import com.library.exception.LibraryException;
+import com.library.metrics.PrometheusExporter;
 import com.library.model.Book;
+import com.library.model.BookMatch;
+import com.library.model.ExportReport;
+import com.library.model.Hold;
+import com.library.model.ImportReport;
+import com.library.model.InventorySummary;
+import com.library.model.Page;
+import com.library.model.SweepCheckpoint;
 import com.library.model.Transaction;
+import com.library.model.TransactionFilter;
 import com.library.model.User;
-import com.library.service.BookService;
-import com.library.service.TransactionService;
-import com.library.service.UserService;
+import com.library.model.enums.ExportFormat;
+import com.library.model.enums.SearchMode;
+import com.library.model.enums.TransactionStatus;
+import com.library.search.Completion;
+import com.library.service.TransactionExportService;
+import com.library.service.AsyncLibraryService;
 import com.library.util.ValidationUtil;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 public class MenuHandler {
     private final Scanner scanner;
     private final InputValidator validator;
-    private final BookService bookService;
-    private final UserService userService;
-    private final TransactionService transactionService;
+    private final AppContext context;
 
     public MenuHandler(Scanner scanner) {
         this.scanner = scanner;
         this.validator = new InputValidator(scanner);
-        this.bookService = new BookService();
-        this.userService = new UserService();
-        this.transactionService = new TransactionService();
+        this.context = AppContext.get();
     }
     // ========== BOOK MANAGEMENT ==========
     public void handleAddBook() {
@@ -40,7 +58,7 @@ public class MenuHandler {
 
             Book book = new Book(isbn, title, author, category, totalCopies, publishedDate);
 
-            int bookId = bookService.addBook(book);
+            int bookId = context.bookService().addBook(book);
             System.out.println("✓ Book added successfully with ID: " + bookId);
 
         } catch (LibraryException e) {
@@ -54,9 +72,20 @@ public class MenuHandler {
             System.out.print("Enter search keyword (title/author/category) or press Enter for all books: ");
             String keyword = scanner.nextLine().trim();
 
-            List<Book> books = bookService.searchBooks(keyword);
+            SearchMode mode = AppConfig.DEFAULT_SEARCH_MODE;
+            Page<Book> page = context.bookService().searchBooksPage(keyword, null, mode);
+            if (page.getItems().isEmpty() && mode != SearchMode.LIKE && !keyword.isEmpty()) {
+                // No word matches; fall back to a plain substring search
+                mode = SearchMode.LIKE;
+                page = context.bookService().searchBooksPage(keyword, null, mode);
+            }
 
-            if (books.isEmpty()) {
+            if (page.getItems().isEmpty() && !keyword.isEmpty()) {
+                // Still nothing; the keyword may be misspelled
+                printFuzzyMatches(context.bookService().searchBooksFuzzy(keyword));
+                return;
+            }
+            if (page.getItems().isEmpty()) {
                 System.out.println("No books found.");
                 return;
             }
@@ -66,13 +95,19 @@ public class MenuHandler {
                     "ID", "ISBN", "Title", "Author", "Category", "Available");
             System.out.println("-".repeat(100));
 
-            for (Book book : books) {
-                System.out.printf("%-5d %-13s %-30s %-20s %-15s %d/%d%n",
-                        book.getBookId(), book.getIsbn(),
-                        truncate(book.getTitle(), 30),
-                        truncate(book.getAuthor(), 20),
-                        truncate(book.getCategory(), 15),
-                        book.getAvailableCopies(), book.getTotalCopies());
+            while (true) {
+                for (Book book : page.getItems()) {
+                    System.out.printf("%-5d %-13s %-30s %-20s %-15s %d/%d%n",
+                            book.getBookId(), book.getIsbn(),
+                            truncate(book.getTitle(), 30),
+                            truncate(book.getAuthor(), 20),
+                            truncate(book.getCategory(), 15),
+                            book.getAvailableCopies(), book.getTotalCopies());
+                }
+                if (!page.hasNext() || !confirmNextPage()) {
+                    break;
+                }
+                page = context.bookService().searchBooksPage(keyword, page.getNextCursor(), mode);
             }
 
         } catch (LibraryException e) {
@@ -80,45 +115,121 @@ public class MenuHandler {
         }
     }
 
+    private void printFuzzyMatches(List<BookMatch> matches) {
+        if (matches.isEmpty()) {
+            System.out.println("No books found.");
+            return;
+        }
+        System.out.println("\nNo exact matches. Closest books:");
+        System.out.printf("%-5s %-30s %-20s %-15s %-10s %s%n",
+                "ID", "Title", "Author", "Category", "Available", "Match");
+        System.out.println("-".repeat(95));
+        for (BookMatch match : matches) {
+            Book book = match.getBook();
+            System.out.printf("%-5d %-30s %-20s %-15s %-10s %.0f%%%n",
+                    book.getBookId(),
+                    truncate(book.getTitle(), 30),
+                    truncate(book.getAuthor(), 20),
+                    truncate(book.getCategory(), 15),
+                    book.getAvailableCopies() + "/" + book.getTotalCopies(),
+                    match.getSimilarity() * 100);
+        }
+    }
+
+    // Per-keystroke lookups from a front end go straight to AutocompleteService; the console
+    // approximates that by re-querying after each line typed
+    public void handleQuickFind() {
+        try {
+            System.out.println("\n=== Quick Find ===");
+            System.out.println("Type the start of a title or author. Enter a result number to open it, or Enter to finish.");
+
+            List<Completion> completions = List.of();
+            while (true) {
+                System.out.print("> ");
+                String input = scanner.nextLine().trim();
+                if (input.isEmpty()) {
+                    return;
+                }
+                if (input.matches("\\d+") && !completions.isEmpty()) {
+                    int choice = Integer.parseInt(input);
+                    if (choice >= 1 && choice <= completions.size()) {
+                        printBookDetails(context.bookService().findBook(completions.get(choice - 1).getBookId()));
+                        return;
+                    }
+                }
+
+                long start = System.nanoTime();
+                completions = context.autocompleteService().complete(input);
+                long micros = (System.nanoTime() - start) / 1_000;
+
+                if (completions.isEmpty()) {
+                    System.out.println("No matches.");
+                    continue;
+                }
+                for (int i = 0; i < completions.size(); i++) {
+                    Completion completion = completions.get(i);
+                    System.out.printf("%2d. %-40s %-25s %d loans%n", i + 1,
+                            truncate(completion.getTitle(), 40),
+                            truncate(completion.getAuthor(), 25),
+                            completion.getPopularity());
+                }
+                System.out.println("(" + micros + " µs)");
+            }
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        }
+    }
+
+    private void printBookDetails(Book book) {
+        System.out.println("\n--- Book Details ---");
+        System.out.printf("%-12s %d%n", "ID:", book.getBookId());
+        System.out.printf("%-12s %s%n", "ISBN:", book.getIsbn());
+        System.out.printf("%-12s %s%n", "Title:", book.getTitle());
+        System.out.printf("%-12s %s%n", "Author:", book.getAuthor());
+        System.out.printf("%-12s %s%n", "Category:", book.getCategory() != null ? book.getCategory() : "");
+        System.out.printf("%-12s %d/%d%n", "Available:", book.getAvailableCopies(), book.getTotalCopies());
+    }
+
     public void handleUpdateBook() {
         try {
             System.out.println("\n=== Update Book ===");
             int bookId = validator.getValidInteger("Enter Book ID to update: ");
 
-            Book book = bookService.findBook(bookId);
+            Book book = context.bookService().findBook(bookId);
             System.out.println("Current book details: " + book);
 
             System.out.print("Enter new title (current: " + book.getTitle() + "): ");
             String title = scanner.nextLine().trim();
-            if (!title.isEmpty()) book.setTitle(title);
 
             System.out.print("Enter new author (current: " + book.getAuthor() + "): ");
             String author = scanner.nextLine().trim();
-            if (!author.isEmpty()) book.setAuthor(author);
 
             System.out.print("Enter new category (current: " + book.getCategory() + "): ");
             String category = scanner.nextLine().trim();
-            if (!category.isEmpty()) book.setCategory(category);
 
             System.out.print("Enter new total copies (current: " + book.getTotalCopies() + "): ");
             String totalCopiesStr = scanner.nextLine().trim();
-            if (!totalCopiesStr.isEmpty()) {
-                int totalCopies = Integer.parseInt(totalCopiesStr);
+            Integer totalCopies = totalCopiesStr.isEmpty() ? null : Integer.parseInt(totalCopiesStr);
+
+            if (!title.isEmpty()) book.setTitle(title);
+            if (!author.isEmpty()) book.setAuthor(author);
+            if (!category.isEmpty()) book.setCategory(category);
+            if (totalCopies != null) {
                 book.setTotalCopies(totalCopies);
                 // Adjust available copies if needed
                 if (book.getAvailableCopies() > totalCopies) {
                     book.setAvailableCopies(totalCopies);
                 }
             }
-
             book.setUpdatedAt(LocalDate.now());
 
-            if (bookService.updateBook(book)) {
-                System.out.println("✓ Book updated successfully!");
-            } else {
-                System.out.println("✗ Failed to update book.");
-            }
+            // Saved against the version shown above, so a concurrent edit is reported rather than overwritten
+            context.bookService().updateBook(book);
+            System.out.println("✓ Book updated successfully! " + book);
 
+        } catch (ConcurrencyConflictException e) {
+            System.out.println("✗ Conflict: " + e.getMessage());
+            System.out.println("Reload the book to see the latest details before editing again.");
         } catch (LibraryException e) {
             System.out.println("✗ Error: " + e.getMessage());
         } catch (NumberFormatException e) {
@@ -131,14 +242,14 @@ public class MenuHandler {
             System.out.println("\n=== Delete Book ===");
             int bookId = validator.getValidInteger("Enter Book ID to delete: ");
 
-            Book book = bookService.findBook(bookId);
+            Book book = context.bookService().findBook(bookId);
             System.out.println("Book to delete: " + book);
 
             System.out.print("Are you sure you want to delete this book? (y/N): ");
             String confirmation = scanner.nextLine().trim().toLowerCase();
 
             if (confirmation.equals("y") || confirmation.equals("yes")) {
-                if (bookService.deleteBook(bookId)) {
+                if (context.bookService().deleteBook(bookId)) {
                     System.out.println("✓ Book deleted successfully!");
                 } else {
                     System.out.println("✗ Failed to delete book.");
@@ -152,6 +263,50 @@ public class MenuHandler {
         }
     }
 
+    public void handleBulkImport() {
+        try {
+            System.out.println("\n=== Bulk Import Books ===");
+            System.out.println("CSV columns: isbn,title,author,category,total_copies,published_date (YYYY-MM-DD)");
+
+            Path file = Paths.get(validator.getValidString("Enter CSV file path: "));
+            if (!Files.isReadable(file)) {
+                System.out.println("✗ File not found or not readable: " + file);
+                return;
+            }
+
+            System.out.print("Enter batch size (press Enter for " + AppConfig.IMPORT_BATCH_SIZE + "): ");
+            String batchInput = scanner.nextLine().trim();
+            int batchSize = batchInput.isEmpty() ? AppConfig.IMPORT_BATCH_SIZE : Integer.parseInt(batchInput);
+
+            ImportReport report = context.catalogImportService().importCsv(file, batchSize);
+
+            System.out.println("\n--- Import Summary ---");
+            System.out.printf("%-24s %d%n", "Rows read:", report.getRowsRead());
+            System.out.printf("%-24s %d%n", "Imported:", report.getImported());
+            System.out.printf("%-24s %d%n", "Already in catalog:", report.getAlreadyInCatalog());
+            System.out.printf("%-24s %d%n", "Duplicate ISBN in file:", report.getDuplicatesInFile());
+            System.out.printf("%-24s %d%n", "Rejected:", report.getErrorCount());
+            System.out.printf("Elapsed: %.1f s (%.0f rows/s)%n",
+                    report.getElapsedMillis() / 1000.0, report.getRowsPerSecond());
+
+            if (report.getErrorCount() > 0) {
+                System.out.println("\n--- Rejected Rows ---");
+                for (ImportReport.RowError error : report.getSampleErrors()) {
+                    System.out.printf("Line %-8d %s%n", error.getLineNumber(), error.getMessage());
+                }
+                if (report.getErrorCount() > report.getSampleErrors().size()) {
+                    System.out.println("... " + (report.getErrorCount() - report.getSampleErrors().size()) + " more");
+                }
+                System.out.println("Full error report: " + report.getErrorReportFile());
+            }
+
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            System.out.println("✗ Invalid number format.");
+        }
+    }
+
     // ========== USER MANAGEMENT ==========
     public void handleRegisterUser() {
         try {
@@ -164,7 +319,7 @@ public class MenuHandler {
 
             User user = new User(firstName, lastName, email, phoneNumber);
 
-            int userId = userService.registerUser(user);
+            int userId = context.userService().registerUser(user);
             System.out.println("✓ User registered successfully with ID: " + userId);
 
         } catch (LibraryException e) {
@@ -178,25 +333,35 @@ public class MenuHandler {
             System.out.print("Enter search keyword (name/email) or press Enter for all users: ");
             String keyword = scanner.nextLine().trim();
 
-            List<User> users = userService.searchUsers(keyword);
+            Page<User> page = keyword.isEmpty()
+                    ? context.userService().getUsersPage(null)
+                    : new Page<>(context.userService().searchUsers(keyword), null);
 
-            if (users.isEmpty()) {
+            if (page.getItems().isEmpty()) {
                 System.out.println("No users found.");
                 return;
             }
 
             System.out.println("\n--- Search Results ---");
-            System.out.printf("%-5s %-25s %-30s %-15s %-10s%n",
-                    "ID", "Name", "Email", "Phone", "Type");
-            System.out.println("-".repeat(90));
-
-            for (User user : users) {
-                System.out.printf("%-5d %-25s %-30s %-15s %-10s%n",
-                        user.getUserId(),
-                        truncate(user.getFullName(), 25),
-                        truncate(user.getEmail(), 30),
-                        user.getPhoneNumber() != null ? truncate(user.getPhoneNumber(), 15) : "N/A",
-                        user.getUserType());
+            System.out.printf("%-5s %-25s %-30s %-15s %-10s %-6s %-8s%n",
+                    "ID", "Name", "Email", "Phone", "Type", "Loans", "Fines");
+            System.out.println("-".repeat(106));
+
+            while (true) {
+                for (User user : page.getItems()) {
+                    System.out.printf("%-5d %-25s %-30s %-15s %-10s %-6d $%-7.2f%n",
+                            user.getUserId(),
+                            truncate(user.getFullName(), 25),
+                            truncate(user.getEmail(), 30),
+                            user.getPhoneNumber() != null ? truncate(user.getPhoneNumber(), 15) : "N/A",
+                            user.getUserType(),
+                            user.getActiveLoans(),
+                            user.getOutstandingFines());
+                }
+                if (!page.hasNext() || !confirmNextPage()) {
+                    break;
+                }
+                page = context.userService().getUsersPage(page.getNextCursor());
             }
 
         } catch (LibraryException e) {
@@ -209,7 +374,7 @@ public class MenuHandler {
             System.out.println("\n=== Update User ===");
             int userId = validator.getValidInteger("Enter User ID to update: ");
 
-            User user = userService.findUser(userId);
+            User user = context.userService().findUser(userId);
             System.out.println("Current user details: " + user);
 
             System.out.print("Enter new first name (current: " + user.getFirstName() + "): ");
@@ -242,7 +407,7 @@ public class MenuHandler {
 
             user.setUpdatedAt(LocalDate.now());
 
-            if (userService.updateUser(user)) {
+            if (context.userService().updateUser(user)) {
                 System.out.println("✓ User updated successfully!");
             } else {
                 System.out.println("✗ Failed to update user.");
@@ -253,6 +418,29 @@ public class MenuHandler {
         }
     }
 
+    public void handleRecordFinePayment() {
+        try {
+            System.out.println("\n=== Record Fine Payment ===");
+            int userId = validator.getValidInteger("Enter User ID: ");
+
+            User user = context.userService().findUser(userId);
+            System.out.println("User: " + user.getFullName() + " (" + user.getEmail() + ")");
+            System.out.printf("Outstanding fines: $%.2f%n", user.getOutstandingFines());
+            if (user.getOutstandingFines() <= 0) {
+                System.out.println("Nothing to pay.");
+                return;
+            }
+
+            double amount = validator.getValidPositiveAmount("Enter payment amount: $");
+            double remaining = context.userService().recordFinePayment(userId, amount);
+            System.out.println("✓ Payment recorded successfully!");
+            System.out.printf("Remaining balance: $%.2f%n", remaining);
+
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        }
+    }
+
     // ========== TRANSACTION MANAGEMENT ==========
     public void handleBorrowBook() {
         try {
@@ -261,16 +449,28 @@ public class MenuHandler {
             int bookId = validator.getValidInteger("Enter Book ID: ");
             int userId = validator.getValidInteger("Enter User ID: ");
 
-            // Verify book and user exist
-            Book book = bookService.findBook(bookId);
-            User user = userService.findUser(userId);
+            // Verify book and user exist, looking both up at once
+            AsyncLibraryService.LoanParties parties =
+                    AsyncLibraryService.await(context.asyncLibraryService().loadLoanParties(bookId, userId));
+            Book book = parties.getBook();
+            User user = parties.getUser();
 
             System.out.println("Book: " + book.getTitle() + " by " + book.getAuthor());
             System.out.println("User: " + user.getFullName() + " (" + user.getEmail() + ")");
+            System.out.printf("Books on loan: %d of %d, outstanding fines: $%.2f%n",
+                    user.getActiveLoans(), AppConfig.MAX_BOOKS_PER_USER, user.getOutstandingFines());
             System.out.println("Available copies: " + book.getAvailableCopies());
 
-            if (book.getAvailableCopies() <= 0) {
+            Hold readyHold = context.holdService().findReadyHold(bookId, userId);
+            if (readyHold != null) {
+                System.out.println("A copy is on hold for this user until " + readyHold.getExpiryDate() + ".");
+            } else if (book.getAvailableCopies() <= 0) {
                 System.out.println("✗ Book is not available for borrowing.");
+                System.out.print("Place a hold instead? (y/N): ");
+                String answer = scanner.nextLine().trim().toLowerCase();
+                if (answer.equals("y") || answer.equals("yes")) {
+                    placeHold(bookId, userId);
+                }
                 return;
             }
 
@@ -278,9 +478,9 @@ public class MenuHandler {
             String confirmation = scanner.nextLine().trim().toLowerCase();
 
             if (confirmation.equals("y") || confirmation.equals("yes")) {
-                int transactionId = transactionService.borrowBook(bookId, userId);
+                int transactionId = context.transactionService().borrowBook(bookId, userId);
                 System.out.println("✓ Book borrowed successfully! Transaction ID: " + transactionId);
-                System.out.println("Due date: " + LocalDate.now().plusDays(14));
+                System.out.println("Due date: " + LocalDate.now().plusDays(AppConfig.DEFAULT_BORROW_DAYS));
             } else {
                 System.out.println("Borrow operation cancelled.");
             }
@@ -296,9 +496,11 @@ public class MenuHandler {
 
             int transactionId = validator.getValidInteger("Enter Transaction ID: ");
 
-            Transaction transaction = transactionService.findTransaction(transactionId);
-            Book book = bookService.findBook(transaction.getBookId());
-            User user = userService.findUser(transaction.getUserId());
+            AsyncLibraryService.LoanDetails details =
+                    AsyncLibraryService.await(context.asyncLibraryService().loadLoanDetails(transactionId));
+            Transaction transaction = details.getTransaction();
+            Book book = details.getBook();
+            User user = details.getUser();
 
             System.out.println("Transaction Details:");
             System.out.println("Book: " + book.getTitle() + " by " + book.getAuthor());
@@ -310,7 +512,7 @@ public class MenuHandler {
             if (transaction.isOverdue()) {
                 System.out.println("⚠ WARNING: This book is overdue!");
                 long daysOverdue = java.time.temporal.ChronoUnit.DAYS.between(transaction.getDueDate(), LocalDate.now());
-                double estimatedFine = daysOverdue * 1.0;
+                double estimatedFine = daysOverdue * AppConfig.FINE_PER_DAY;
                 System.out.println("Estimated fine: $" + String.format("%.2f", estimatedFine));
             }
 
@@ -318,16 +520,10 @@ public class MenuHandler {
             String confirmation = scanner.nextLine().trim().toLowerCase();
 
             if (confirmation.equals("y") || confirmation.equals("yes")) {
-                if (transactionService.returnBook(transactionId)) {
-                    System.out.println("✓ Book returned successfully!");
-
-                    // Show final transaction details
-                    Transaction updatedTransaction = transactionService.findTransaction(transactionId);
-                    if (updatedTransaction.getFineAmount() > 0) {
-                        System.out.println("Fine amount: $" + String.format("%.2f", updatedTransaction.getFineAmount()));
-                    }
-                } else {
-                    System.out.println("✗ Failed to return book.");
+                Transaction updatedTransaction = context.transactionService().returnBook(transactionId);
+                System.out.println("✓ Book returned successfully!");
+                if (updatedTransaction.getFineAmount() > 0) {
+                    System.out.println("Fine amount: $" + String.format("%.2f", updatedTransaction.getFineAmount()));
                 }
             } else {
                 System.out.println("Return operation cancelled.");
@@ -338,6 +534,100 @@ public class MenuHandler {
         }
     }
 
+    public void handlePlaceHold() {
+        try {
+            System.out.println("\n=== Place Hold ===");
+
+            int bookId = validator.getValidInteger("Enter Book ID: ");
+            int userId = validator.getValidInteger("Enter User ID: ");
+            placeHold(bookId, userId);
+
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        }
+    }
+
+    private void placeHold(int bookId, int userId) throws LibraryException {
+        int holdId = context.holdService().placeHold(bookId, userId);
+        System.out.println("✓ Hold placed successfully! Hold ID: " + holdId);
+        System.out.println("Position in queue: " + context.holdService().getQueuePosition(holdId));
+    }
+
+    public void handleCancelHold() {
+        try {
+            System.out.println("\n=== Cancel Hold ===");
+
+            int holdId = validator.getValidInteger("Enter Hold ID: ");
+            Hold hold = context.holdService().findHold(holdId);
+            System.out.println("Hold: " + hold);
+
+            System.out.print("Confirm cancellation? (y/N): ");
+            String confirmation = scanner.nextLine().trim().toLowerCase();
+
+            if (confirmation.equals("y") || confirmation.equals("yes")) {
+                context.holdService().cancelHold(holdId);
+                System.out.println("✓ Hold cancelled successfully!");
+            } else {
+                System.out.println("Cancellation aborted.");
+            }
+
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        }
+    }
+
+    public void handleViewHolds() {
+        try {
+            System.out.println("\n=== View Holds ===");
+            System.out.println("1. User Holds");
+            System.out.println("2. Book Holds");
+
+            int choice = validator.getValidInteger("Enter choice (1-2): ");
+            List<Hold> holds;
+
+            switch (choice) {
+                case 1:
+                    holds = context.holdService().getUserHolds(validator.getValidInteger("Enter User ID: "));
+                    break;
+                case 2:
+                    holds = context.holdService().getBookHolds(validator.getValidInteger("Enter Book ID: "));
+                    break;
+                default:
+                    System.out.println("Invalid choice.");
+                    return;
+            }
+
+            if (holds.isEmpty()) {
+                System.out.println("No holds found.");
+                return;
+            }
+
+            Map<Integer, Book> books = context.bookService().findBooks(
+                    holds.stream().map(Hold::getBookId).collect(Collectors.toSet()));
+
+            System.out.println("\n--- Hold Results ---");
+            System.out.printf("%-8s %-8s %-25s %-8s %-10s %-10s %-12s %-12s%n",
+                    "Hold ID", "Book ID", "Title", "User ID", "Status", "Position", "Ready Date", "Expires");
+            System.out.println("-".repeat(101));
+
+            for (Hold hold : holds) {
+                int position = hold.isActive() ? context.holdService().getQueuePosition(hold.getHoldId()) : -1;
+                System.out.printf("%-8d %-8d %-25s %-8d %-10s %-10s %-12s %-12s%n",
+                        hold.getHoldId(),
+                        hold.getBookId(),
+                        truncate(titleOf(books.get(hold.getBookId())), 25),
+                        hold.getUserId(),
+                        hold.getStatus(),
+                        position > 0 ? String.valueOf(position) : "-",
+                        hold.getReadyDate() != null ? hold.getReadyDate().toString() : "N/A",
+                        hold.getExpiryDate() != null ? hold.getExpiryDate().toString() : "N/A");
+            }
+
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        }
+    }
+
     public void handleViewTransactions() {
         try {
             System.out.println("\n=== View Transactions ===");
@@ -347,48 +637,67 @@ public class MenuHandler {
             System.out.println("4. Overdue Transactions");
 
             int choice = validator.getValidInteger("Enter choice (1-4): ");
-            List<Transaction> transactions = null;
+            TransactionPager pager;
 
             switch (choice) {
                 case 1:
-                    transactions = transactionService.getAllTransactions();
+                    pager = context.transactionService()::getAllTransactionsPage;
                     break;
                 case 2:
                     int userId = validator.getValidInteger("Enter User ID: ");
-                    transactions = transactionService.getUserTransactions(userId);
+                    pager = cursor -> context.transactionService().getUserTransactionsPage(userId, cursor);
                     break;
                 case 3:
                     int bookId = validator.getValidInteger("Enter Book ID: ");
-                    transactions = transactionService.getBookTransactions(bookId);
+                    pager = cursor -> context.transactionService().getBookTransactionsPage(bookId, cursor);
                     break;
                 case 4:
-                    transactions = transactionService.getOverdueTransactions();
+                    List<Transaction> overdue = context.transactionService().getOverdueTransactions();
+                    pager = cursor -> new Page<>(overdue, null);
                     break;
                 default:
                     System.out.println("Invalid choice.");
                     return;
             }
 
-            if (transactions == null || transactions.isEmpty()) {
+            Page<Transaction> page = pager.fetch(null);
+            if (page.getItems().isEmpty()) {
                 System.out.println("No transactions found.");
                 return;
             }
 
             System.out.println("\n--- Transaction Results ---");
-            System.out.printf("%-8s %-8s %-8s %-12s %-12s %-12s %-10s %-8s%n",
-                    "Trans ID", "Book ID", "User ID", "Borrow Date", "Due Date", "Return Date", "Status", "Fine");
-            System.out.println("-".repeat(90));
-
-            for (Transaction transaction : transactions) {
-                System.out.printf("%-8d %-8d %-8d %-12s %-12s %-12s %-10s $%-7.2f%n",
-                        transaction.getTransactionId(),
-                        transaction.getBookId(),
-                        transaction.getUserId(),
-                        transaction.getBorrowDate(),
-                        transaction.getDueDate(),
-                        transaction.getReturnDate() != null ? transaction.getReturnDate().toString() : "N/A",
-                        transaction.getStatus(),
-                        transaction.getFineAmount());
+            System.out.printf("%-8s %-8s %-25s %-8s %-20s %-12s %-12s %-12s %-10s %-8s%n",
+                    "Trans ID", "Book ID", "Title", "User ID", "User", "Borrow Date", "Due Date", "Return Date",
+                    "Status", "Fine");
+            System.out.println("-".repeat(137));
+
+            while (true) {
+                // One batch lookup per page for the titles and names, rather than one per row
+                List<Transaction> items = page.getItems();
+                Map<Integer, Book> books = context.bookService().findBooks(
+                        items.stream().map(Transaction::getBookId).collect(Collectors.toSet()));
+                Map<Integer, User> users = context.userService().findUsers(
+                        items.stream().map(Transaction::getUserId).collect(Collectors.toSet()));
+
+                for (Transaction transaction : items) {
+                    User user = users.get(transaction.getUserId());
+                    System.out.printf("%-8d %-8d %-25s %-8d %-20s %-12s %-12s %-12s %-10s $%-7.2f%n",
+                            transaction.getTransactionId(),
+                            transaction.getBookId(),
+                            truncate(titleOf(books.get(transaction.getBookId())), 25),
+                            transaction.getUserId(),
+                            truncate(user != null ? user.getFullName() : "(unknown)", 20),
+                            transaction.getBorrowDate(),
+                            transaction.getDueDate(),
+                            transaction.getReturnDate() != null ? transaction.getReturnDate().toString() : "N/A",
+                            transaction.getStatus(),
+                            transaction.getFineAmount());
+                }
+                if (!page.hasNext() || !confirmNextPage()) {
+                    break;
+                }
+                page = pager.fetch(page.getNextCursor());
             }
 
         } catch (LibraryException e) {
@@ -396,44 +705,71 @@ public class MenuHandler {
         }
     }
 
+    private static String titleOf(Book book) {
+        return book != null ? book.getTitle() : "(unknown)";
+    }
+
+    @FunctionalInterface
+    private interface TransactionPager {
+        Page<Transaction> fetch(String cursor) throws LibraryException;
+    }
+
     // ========== REPORTS ==========
     public void handleInventoryReport() {
         try {
             System.out.println("\n=== Inventory Report ===");
-            List<Book> books = bookService.getAllBooks();
+            InventorySummary totals = context.inventoryService().getTotals();
 
-            if (books.isEmpty()) {
+            if (totals.getTitleCount() == 0) {
                 System.out.println("No books in inventory.");
                 return;
             }
 
-            int totalBooks = 0;
-            int totalAvailable = 0;
-            int totalBorrowed = 0;
+            System.out.printf("%-30s %-8s %-8s %-10s %-8s%n",
+                    "Category", "Titles", "Total", "Available", "Out");
+            System.out.println("-".repeat(70));
+
+            for (InventorySummary category : context.inventoryService().getCategoryBreakdown()) {
+                System.out.printf("%-30s %-8d %-8d %-10d %-8d%n",
+                        truncate(category.getCategory(), 30),
+                        category.getTitleCount(),
+                        category.getTotalCopies(),
+                        category.getAvailableCopies(),
+                        category.getCheckedOutCopies());
+            }
+
+            System.out.println("-".repeat(70));
+            System.out.printf("%-30s %-8d %-8d %-10d %-8d%n", "TOTALS:",
+                    totals.getTitleCount(), totals.getTotalCopies(),
+                    totals.getAvailableCopies(), totals.getCheckedOutCopies());
+
+            System.out.print("\nShow per-book detail? (y/N): ");
+            String answer = scanner.nextLine().trim().toLowerCase();
+            if (!answer.equals("y") && !answer.equals("yes")) {
+                return;
+            }
 
+            Page<Book> page = context.bookService().searchBooksPage(null, null);
             System.out.printf("%-5s %-30s %-20s %-8s %-8s %-8s%n",
                     "ID", "Title", "Author", "Total", "Available", "Borrowed");
             System.out.println("-".repeat(85));
 
-            for (Book book : books) {
-                int borrowed = book.getTotalCopies() - book.getAvailableCopies();
-
-                System.out.printf("%-5d %-30s %-20s %-8d %-8d %-8d%n",
-                        book.getBookId(),
-                        truncate(book.getTitle(), 30),
-                        truncate(book.getAuthor(), 20),
-                        book.getTotalCopies(),
-                        book.getAvailableCopies(),
-                        borrowed);
-
-                totalBooks += book.getTotalCopies();
-                totalAvailable += book.getAvailableCopies();
-                totalBorrowed += borrowed;
+            while (true) {
+                for (Book book : page.getItems()) {
+                    System.out.printf("%-5d %-30s %-20s %-8d %-8d %-8d%n",
+                            book.getBookId(),
+                            truncate(book.getTitle(), 30),
+                            truncate(book.getAuthor(), 20),
+                            book.getTotalCopies(),
+                            book.getAvailableCopies(),
+                            book.getTotalCopies() - book.getAvailableCopies());
+                }
+                if (!page.hasNext() || !confirmNextPage()) {
+                    break;
+                }
+                page = context.bookService().searchBooksPage(null, page.getNextCursor());
             }
 
-            System.out.println("-".repeat(85));
-            System.out.printf("%-56s %-8d %-8d %-8d%n", "TOTALS:", totalBooks, totalAvailable, totalBorrowed);
-
         } catch (LibraryException e) {
             System.out.println("✗ Error: " + e.getMessage());
         }
@@ -442,51 +778,149 @@ public class MenuHandler {
     public void handleOverdueReport() {
         try {
             System.out.println("\n=== Overdue Books Report ===");
-            List<Transaction> overdueTransactions = transactionService.getOverdueTransactions();
-
-            if (overdueTransactions.isEmpty()) {
+            // Fines accrue once per day; the report catches up today's sweep before it reads them
+            SweepCheckpoint sweep = context.overdueSweepService().runSweep();
+            System.out.println("Days late and fines as of the overdue sweep on " + sweep.getRunDate());
+
+            int[] rows = {0};
+            double totalFines = context.transactionService().streamOverdueReport(entry -> {
+                if (rows[0]++ == 0) {
+                    System.out.printf("%-8s %-30s %-25s %-12s %-8s %-10s%n",
+                            "Trans ID", "Book Title", "User Name", "Due Date", "Days Late", "Fine");
+                    System.out.println("-".repeat(100));
+                }
+                System.out.printf("%-8d %-30s %-25s %-12s %-8d $%-9.2f%n",
+                        entry.getTransactionId(),
+                        truncate(entry.getBookTitle(), 30),
+                        truncate(entry.getUserName(), 25),
+                        entry.getDueDate(),
+                        entry.getDaysLate(),
+                        entry.getFine());
+            });
+
+            if (rows[0] == 0) {
                 System.out.println("✓ No overdue books found!");
                 return;
             }
 
-            System.out.printf("%-8s %-30s %-25s %-12s %-8s %-10s%n",
-                    "Trans ID", "Book Title", "User Name", "Due Date", "Days Late", "Fine");
             System.out.println("-".repeat(100));
+            System.out.printf("Total Outstanding Fines: $%.2f%n", totalFines);
 
-            double totalFines = 0;
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        }
+    }
 
-            for (Transaction transaction : overdueTransactions) {
-                try {
-                    Book book = bookService.findBook(transaction.getBookId());
-                    User user = userService.findUser(transaction.getUserId());
+    public void handleOverdueSweep() {
+        try {
+            System.out.println("\n=== Overdue Sweep ===");
 
-                    long daysLate = java.time.temporal.ChronoUnit.DAYS.between(
-                            transaction.getDueDate(), LocalDate.now());
-                    double fine = daysLate * 1.0;
-                    totalFines += fine;
+            SweepCheckpoint result = context.overdueSweepService().runSweep(checkpoint ->
+                    System.out.printf("Chunk %d: %d scanned, %d updated (%d ms)%n",
+                            checkpoint.getChunks(), checkpoint.getRowsScanned(),
+                            checkpoint.getRowsUpdated(), checkpoint.getElapsed().toMillis()));
 
-                    System.out.printf("%-8d %-30s %-25s %-12s %-8d $%-9.2f%n",
-                            transaction.getTransactionId(),
-                            truncate(book.getTitle(), 30),
-                            truncate(user.getFullName(), 25),
-                            transaction.getDueDate(),
-                            daysLate,
-                            fine);
+            System.out.println("✓ Overdue sweep for " + result.getRunDate() + " complete");
+            System.out.printf("Loans scanned: %d, flagged or re-fined: %d, chunks: %d, took %d ms%n",
+                    result.getRowsScanned(), result.getRowsUpdated(), result.getChunks(),
+                    result.getElapsed().toMillis());
+
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        }
+    }
+
+    public void handleExportTransactions() {
+        try {
+            System.out.println("\n=== Export Transactions ===");
+            System.out.println("1. CSV");
+            System.out.println("2. JSON Lines");
+            int choice = validator.getValidInteger("Enter format (1-2): ");
+            if (choice != 1 && choice != 2) {
+                System.out.println("Invalid choice.");
+                return;
+            }
+            ExportFormat format = choice == 1 ? ExportFormat.CSV : ExportFormat.JSON_LINES;
 
-                } catch (LibraryException e) {
-                    System.out.println("Error loading details for transaction " + transaction.getTransactionId());
+            LocalDate from = validator.getOptionalDate("Borrowed on or after");
+            LocalDate to = validator.getOptionalDate("Borrowed on or before");
+
+            System.out.print("Statuses, comma-separated (BORROWED, RETURNED, OVERDUE, LOST; Enter for all): ");
+            String statusInput = scanner.nextLine().trim();
+            EnumSet<TransactionStatus> statuses = EnumSet.noneOf(TransactionStatus.class);
+            for (String status : statusInput.split(",")) {
+                if (!status.isBlank()) {
+                    statuses.add(TransactionStatus.valueOf(status.trim().toUpperCase()));
                 }
             }
+            TransactionFilter filter = new TransactionFilter(from, to, statuses);
 
-            System.out.println("-".repeat(100));
-            System.out.printf("Total Outstanding Fines: $%.2f%n", totalFines);
+            System.out.print("Compress with gzip? (y/N): ");
+            String gzipInput = scanner.nextLine().trim().toLowerCase();
+            boolean gzip = gzipInput.equals("y") || gzipInput.equals("yes");
+
+            System.out.print("Output file [" + AppConfig.EXPORT_DEFAULT_FILE + "]: ");
+            String fileInput = scanner.nextLine().trim();
+            Path file = TransactionExportService.resolveFileName(
+                    Paths.get(fileInput.isEmpty() ? AppConfig.EXPORT_DEFAULT_FILE : fileInput), format, gzip);
+
+            System.out.println("Exporting transactions (" + filter + ") to " + file.toAbsolutePath());
+            ExportReport report = context.transactionExportService().exportTransactions(file, format, filter, gzip,
+                    progress -> System.out.printf("  %,d rows written (%.0f rows/s)%n",
+                            progress.getRowsWritten(), progress.getRowsPerSecond()));
+
+            System.out.printf("✓ Exported %,d transactions to %s%n", report.getRowsWritten(), report.getFile());
+            System.out.printf("File size: %,d bytes. Elapsed: %.1f s (%.0f rows/s)%n",
+                    report.getBytesWritten(), report.getElapsedMillis() / 1000.0, report.getRowsPerSecond());
 
         } catch (LibraryException e) {
             System.out.println("✗ Error: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ Invalid filter: " + e.getMessage());
+        }
+    }
+
+    public void handleArchiveReturnedLoans() {
+        try {
+            System.out.println("\n=== Archive Returned Loans ===");
+            System.out.println("Moving loans returned more than " + AppConfig.ARCHIVE_AFTER_DAYS
+                    + " days ago to the archive...");
+
+            long moved = context.transactionArchiveService().archiveReturnedLoans(total ->
+                    System.out.printf("  %,d loans archived%n", total));
+
+            System.out.println(moved == 0 ? "✓ Nothing to archive." : String.format("✓ Archived %,d loans.", moved));
+
+        } catch (LibraryException e) {
+            System.out.println("✗ Error: " + e.getMessage());
+        }
+    }
+
+    public void handleExportMetrics() {
+        System.out.println("\n=== Export Metrics ===");
+        if (!AppConfig.METRICS_ENABLED) {
+            System.out.println("✗ Metrics are disabled (library.metrics=false).");
+            return;
+        }
+
+        System.out.print("Output file [" + AppConfig.METRICS_EXPORT_FILE + "]: ");
+        String input = scanner.nextLine().trim();
+        Path file = Paths.get(input.isEmpty() ? AppConfig.METRICS_EXPORT_FILE : input);
+        try {
+            PrometheusExporter.exportTo(file);
+            System.out.println("✓ Metrics written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("✗ Error writing metrics: " + e.getMessage());
         }
     }
 
     // ========== UTILITY METHODS ==========
+    private boolean confirmNextPage() {
+        System.out.print("Show next page? (y/N): ");
+        String answer = scanner.nextLine().trim().toLowerCase();
+        return answer.equals("y") || answer.equals("yes");
+    }
+
     private String truncate(String str, int length) {
         if (str == null) return "";
         return str.length() > length ? str.substring(0, length - 3) + "..." : str;
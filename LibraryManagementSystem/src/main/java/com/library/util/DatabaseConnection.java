@@ -1,5 +1,7 @@
 package com.library.util;
 
+import com.library.config.AppConfig;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -10,20 +12,80 @@ public class DatabaseConnection {
     private static final String USERNAME = "postgres";
     private static final String PASSWORD = "Radha";
 
+    // Counter rows per category in inventory_summary
+    private static final int INVENTORY_SHARDS = 16;
+
+    private static volatile ConnectionPool pool;
+
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        return getPool().getConnection();
     }
 
-    public static void initializeDatabase() throws SQLException {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
+    public static ConnectionPool.PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStats() : null;
+    }
+
+    public static StatementCache.Stats getStatementCacheStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStatementCacheStats() : null;
+    }
 
-            // Create tables
-            createUsersTable(stmt);
-            createBooksTable(stmt);
-            createTransactionsTable(stmt);
+    public static void shutdown() {
+        synchronized (DatabaseConnection.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
 
-            System.out.println("Database initialized successfully!");
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null) {
+                    DriverManager.setLoginTimeout(AppConfig.CONNECTION_TIMEOUT);
+                    current = new ConnectionPool(URL, USERNAME, PASSWORD,
+                            AppConfig.POOL_MIN_SIZE, AppConfig.POOL_MAX_SIZE,
+                            AppConfig.POOL_ACQUIRE_TIMEOUT_MS, AppConfig.POOL_IDLE_TIMEOUT_MS,
+                            AppConfig.POOL_LEAK_THRESHOLD_MS, AppConfig.POOL_VALIDATION_TIMEOUT,
+                            AppConfig.STATEMENT_CACHE_SIZE,
+                            AppConfig.POOL_HOUSEKEEPING_INTERVAL_MS);
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static final SchemaMigrator MIGRATOR = new SchemaMigrator()
+            .add(1, "Create users, books and transactions tables", stmt -> {
+                createUsersTable(stmt);
+                createBooksTable(stmt);
+                createTransactionsTable(stmt);
+            })
+            .add(2, "Add full-text search column to books", DatabaseConnection::createBookSearchIndex)
+            .add(3, "Add indexes for transaction and catalog queries", DatabaseConnection::createQueryIndexes)
+            .add(4, "Add row version columns for optimistic locking", DatabaseConnection::addVersionColumns)
+            .add(5, "Create holds table for reservation queues", DatabaseConnection::createHoldsTable)
+            .add(6, "Create trigger-maintained inventory summary", DatabaseConnection::createInventorySummary)
+            .add(7, "Track overdue loans by status for the overdue sweep", DatabaseConnection::createOverdueSweep)
+            .add(8, "Add per-user active loan and outstanding fine counters", DatabaseConnection::addUserLoanCounters)
+            .add(9, "Create transactions archive for returned loans", DatabaseConnection::createTransactionArchive)
+            .add(10, "Index books by update time for autocomplete refresh", DatabaseConnection::indexBooksByUpdateTime)
+            .add(11, "Add trigram index for fuzzy book search", DatabaseConnection::createBookTrigramIndex);
+
+    public static void initializeDatabase() throws SQLException {
+        try (Connection conn = getConnection()) {
+            int applied = MIGRATOR.migrate(conn);
+            if (applied > 0) {
+                System.out.println("Database initialized successfully! Applied " + applied
+                        + " migration(s), schema version " + MIGRATOR.getLatestVersion());
+            } else {
+                System.out.println("Database schema is up to date (version " + MIGRATOR.getLatestVersion() + ")");
+            }
         }
     }
 
@@ -66,6 +128,283 @@ public class DatabaseConnection {
 
 
 
+    private static void createBookSearchIndex(Statement stmt) throws SQLException {
+        // Generated column keeps the search document in step with every insert/update
+        String column = """
+            ALTER TABLE books ADD COLUMN IF NOT EXISTS search_vector tsvector
+            GENERATED ALWAYS AS (
+                setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+                setweight(to_tsvector('english', coalesce(author, '')), 'B') ||
+                setweight(to_tsvector('english', coalesce(category, '')), 'C')
+            ) STORED
+        """;
+        stmt.executeUpdate(column);
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_books_search_vector ON books USING GIN (search_vector)");
+    }
+
+    private static void createQueryIndexes(Statement stmt) throws SQLException {
+        // Cover findByUserId/findByBookId and their keyset pages in index order
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_user
+            ON transactions (user_id, borrow_date DESC, transaction_id DESC)
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_book
+            ON transactions (book_id, borrow_date DESC, transaction_id DESC)
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_borrow_date
+            ON transactions (borrow_date DESC, transaction_id DESC)
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_status_due
+            ON transactions (status, due_date)
+        """);
+        // Open loans are a small slice of the table; findOverdue only ever reads them
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_borrowed_due
+            ON transactions (due_date) WHERE status = 'BORROWED'
+        """);
+        // Serves findAll and its pages (status != 'DELETED' ORDER BY title, book_id)
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_books_active_title
+            ON books (title, book_id) WHERE status != 'DELETED'
+        """);
+    }
+
+    private static void addVersionColumns(Statement stmt) throws SQLException {
+        stmt.executeUpdate("ALTER TABLE books ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0");
+        stmt.executeUpdate("ALTER TABLE transactions ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0");
+    }
+
+    private static void createHoldsTable(Statement stmt) throws SQLException {
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS holds (
+                hold_id SERIAL PRIMARY KEY,
+                book_id INTEGER NOT NULL REFERENCES books(book_id),
+                user_id INTEGER NOT NULL REFERENCES users(user_id),
+                priority INTEGER NOT NULL DEFAULT 0,
+                status VARCHAR(20) NOT NULL DEFAULT 'WAITING',
+                placed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                ready_date DATE,
+                expiry_date DATE,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+        """);
+        // A patron holds at most one place in a book's queue
+        stmt.executeUpdate("""
+            CREATE UNIQUE INDEX IF NOT EXISTS idx_holds_active_book_user
+            ON holds (book_id, user_id) WHERE status IN ('WAITING', 'READY')
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_holds_queue
+            ON holds (book_id, priority DESC, placed_at, hold_id) WHERE status = 'WAITING'
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_holds_ready_expiry
+            ON holds (expiry_date) WHERE status = 'READY'
+        """);
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_holds_user ON holds (user_id)");
+    }
+
+    private static void createInventorySummary(Statement stmt) throws SQLException {
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS inventory_summary (
+                category VARCHAR(100) NOT NULL,
+                shard SMALLINT NOT NULL,
+                title_count INTEGER NOT NULL DEFAULT 0,
+                total_copies BIGINT NOT NULL DEFAULT 0,
+                available_copies BIGINT NOT NULL DEFAULT 0,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                PRIMARY KEY (category, shard)
+            )
+        """);
+
+        // Statement-level triggers fold a whole batch import or multi-row update into one
+        // upsert per touched category and shard instead of one per book row. Each category
+        // is spread over INVENTORY_SHARDS rows by book id, so concurrent borrows and returns
+        // of different books rarely queue on the same counter row
+        stmt.executeUpdate("""
+            CREATE OR REPLACE FUNCTION maintain_inventory_summary() RETURNS trigger AS $$
+            BEGIN
+                IF TG_OP = 'INSERT' THEN
+        """ + inventoryDelta("""
+                    SELECT book_id, category, 1, total_copies, available_copies FROM new_rows WHERE status != 'DELETED'
+        """) + """
+                ELSIF TG_OP = 'UPDATE' THEN
+        """ + inventoryDelta("""
+                    SELECT book_id, category, 1, total_copies, available_copies FROM new_rows WHERE status != 'DELETED'
+                    UNION ALL
+                    SELECT book_id, category, -1, -total_copies, -available_copies FROM old_rows WHERE status != 'DELETED'
+        """) + """
+                ELSE
+        """ + inventoryDelta("""
+                    SELECT book_id, category, -1, -total_copies, -available_copies FROM old_rows WHERE status != 'DELETED'
+        """) + """
+                END IF;
+                RETURN NULL;
+            END;
+            $$ LANGUAGE plpgsql
+        """);
+
+        // Transition tables need one trigger per event; edits that leave every counted column
+        // alone (titles, authors, version bumps) do not fire the update trigger at all
+        String[][] triggers = {
+                {"trg_books_inventory_insert", "INSERT", "NEW TABLE AS new_rows"},
+                {"trg_books_inventory_update", "UPDATE OF category, total_copies, available_copies, status",
+                        "OLD TABLE AS old_rows NEW TABLE AS new_rows"},
+                {"trg_books_inventory_delete", "DELETE", "OLD TABLE AS old_rows"}};
+        for (String[] trigger : triggers) {
+            stmt.executeUpdate("DROP TRIGGER IF EXISTS " + trigger[0] + " ON books");
+            stmt.executeUpdate("CREATE TRIGGER " + trigger[0] + " AFTER " + trigger[1] + " ON books"
+                    + " REFERENCING " + trigger[2]
+                    + " FOR EACH STATEMENT EXECUTE FUNCTION maintain_inventory_summary()");
+        }
+
+        stmt.executeUpdate("""
+            INSERT INTO inventory_summary (category, shard, title_count, total_copies, available_copies)
+            SELECT COALESCE(category, 'Uncategorized'), book_id %% %d,
+                   COUNT(*), SUM(total_copies), SUM(available_copies)
+            FROM books WHERE status != 'DELETED'
+            GROUP BY 1, 2
+            ON CONFLICT (category, shard) DO NOTHING
+        """.formatted(INVENTORY_SHARDS));
+    }
+
+    private static void createOverdueSweep(Statement stmt) throws SQLException {
+        // OVERDUE now means an open loan past its due date; returned loans are always RETURNED
+        // and returned_late keeps what the old OVERDUE label said about them
+        stmt.executeUpdate("ALTER TABLE transactions ADD COLUMN IF NOT EXISTS returned_late BOOLEAN NOT NULL DEFAULT FALSE");
+        stmt.executeUpdate("""
+            UPDATE transactions SET returned_late = TRUE, status = 'RETURNED'
+            WHERE status = 'OVERDUE' AND return_date IS NOT NULL
+        """);
+        stmt.executeUpdate("DROP INDEX IF EXISTS idx_transactions_borrowed_due");
+        // Keyset order for the sweep over open loans
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_open_due
+            ON transactions (due_date, transaction_id) WHERE status IN ('BORROWED', 'OVERDUE')
+        """);
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS sweep_checkpoints (
+                job_name VARCHAR(50) PRIMARY KEY,
+                run_date DATE NOT NULL,
+                last_due_date DATE,
+                last_transaction_id INTEGER NOT NULL DEFAULT 0,
+                rows_scanned BIGINT NOT NULL DEFAULT 0,
+                rows_updated BIGINT NOT NULL DEFAULT 0,
+                chunks INTEGER NOT NULL DEFAULT 0,
+                started_at TIMESTAMP NOT NULL,
+                completed_at TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+        """);
+    }
+
+    private static void addUserLoanCounters(Statement stmt) throws SQLException {
+        stmt.executeUpdate("""
+            ALTER TABLE users
+            ADD COLUMN IF NOT EXISTS active_loans INTEGER NOT NULL DEFAULT 0 CHECK (active_loans >= 0),
+            ADD COLUMN IF NOT EXISTS outstanding_fines DECIMAL(10,2) NOT NULL DEFAULT 0.00
+        """);
+        // Fines charged before this migration have no payment record, so balances start at zero
+        stmt.executeUpdate("""
+            UPDATE users u SET active_loans = counts.loans
+            FROM (
+                SELECT user_id, COUNT(*) AS loans FROM transactions
+                WHERE status IN ('BORROWED', 'OVERDUE')
+                GROUP BY user_id
+            ) counts
+            WHERE u.user_id = counts.user_id
+        """);
+    }
+
+    private static void createTransactionArchive(Statement stmt) throws SQLException {
+        // Ids come from the live table's sequence, so the archive keeps them rather than generating its own
+        stmt.executeUpdate("""
+            CREATE TABLE IF NOT EXISTS transactions_archive (
+                transaction_id INTEGER PRIMARY KEY,
+                book_id INTEGER REFERENCES books(book_id),
+                user_id INTEGER REFERENCES users(user_id),
+                borrow_date DATE NOT NULL,
+                due_date DATE NOT NULL,
+                return_date DATE,
+                status VARCHAR(20) NOT NULL,
+                returned_late BOOLEAN NOT NULL DEFAULT FALSE,
+                fine_amount DECIMAL(10,2) DEFAULT 0.00,
+                created_at TIMESTAMP,
+                updated_at TIMESTAMP,
+                version INTEGER NOT NULL DEFAULT 0,
+                archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_archive_user
+            ON transactions_archive (user_id, borrow_date DESC, transaction_id DESC)
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_archive_book
+            ON transactions_archive (book_id, borrow_date DESC, transaction_id DESC)
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_archive_borrow_date
+            ON transactions_archive (borrow_date DESC, transaction_id DESC)
+        """);
+        // Order in which the archiver picks returned loans off the live table
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_transactions_returned
+            ON transactions (return_date, transaction_id) WHERE status = 'RETURNED'
+        """);
+        // History reads go through the view; the planner pushes filters and ordered scans into both tables
+        stmt.executeUpdate("""
+            CREATE OR REPLACE VIEW transaction_history AS
+            SELECT transaction_id, book_id, user_id, borrow_date, due_date, return_date,
+                   status, returned_late, fine_amount, created_at, updated_at, version
+            FROM transactions
+            UNION ALL
+            SELECT transaction_id, book_id, user_id, borrow_date, due_date, return_date,
+                   status, returned_late, fine_amount, created_at, updated_at, version
+            FROM transactions_archive
+        """);
+    }
+
+    private static void indexBooksByUpdateTime(Statement stmt) throws SQLException {
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_books_updated_at ON books (updated_at)");
+    }
+
+    private static void createBookTrigramIndex(Statement stmt) throws SQLException {
+        stmt.executeUpdate("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        stmt.executeUpdate("""
+            ALTER TABLE books ADD COLUMN IF NOT EXISTS search_text TEXT
+            GENERATED ALWAYS AS (
+                coalesce(title, '') || ' ' || coalesce(author, '') || ' ' || coalesce(category, '')
+            ) STORED
+        """);
+        stmt.executeUpdate("""
+            CREATE INDEX IF NOT EXISTS idx_books_search_text_trgm
+            ON books USING GIN (search_text gin_trgm_ops) WHERE status != 'DELETED'
+        """);
+    }
+
+    // Adds the net per-shard change of (book_id, category, titles, total, available) rows to the summary
+    private static String inventoryDelta(String changes) {
+        return """
+                    INSERT INTO inventory_summary AS s (category, shard, title_count, total_copies, available_copies)
+                    SELECT COALESCE(category, 'Uncategorized'), book_id %% %d, SUM(titles), SUM(total), SUM(available)
+                    FROM (
+        """.formatted(INVENTORY_SHARDS) + changes + """
+                    ) AS changes (book_id, category, titles, total, available)
+                    GROUP BY 1, 2
+                    HAVING SUM(titles) <> 0 OR SUM(total) <> 0 OR SUM(available) <> 0
+                    ON CONFLICT (category, shard) DO UPDATE
+                    SET title_count = s.title_count + EXCLUDED.title_count,
+                        total_copies = s.total_copies + EXCLUDED.total_copies,
+                        available_copies = s.available_copies + EXCLUDED.available_copies,
+                        updated_at = CURRENT_TIMESTAMP;
+        """;
+    }
+
     private static void createTransactionsTable(Statement stmt) throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS transactions (
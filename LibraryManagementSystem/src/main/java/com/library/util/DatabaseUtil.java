@@ -4,6 +4,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 public class DatabaseUtil {
 
@@ -45,6 +50,16 @@ public class DatabaseUtil {
         }
     }
 
+    // Distinct, non-null ids split into arrays of at most chunkSize, for binding to "= ANY(?)"
+    public static List<Integer[]> chunkIds(Collection<Integer> ids, int chunkSize) {
+        Integer[] distinct = new LinkedHashSet<>(ids).stream().filter(id -> id != null).toArray(Integer[]::new);
+        List<Integer[]> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.length; from += chunkSize) {
+            chunks.add(Arrays.copyOfRange(distinct, from, Math.min(distinct.length, from + chunkSize)));
+        }
+        return chunks;
+    }
+
     public static void rollback(Connection connection) {
         if (connection != null) {
             try {
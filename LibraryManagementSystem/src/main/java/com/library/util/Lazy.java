@@ -0,0 +1,34 @@
+package com.library.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe memoizing supplier; the factory runs at most once, on first use.
+ */
+public class Lazy<T> implements Supplier<T> {
+    private final Supplier<T> factory;
+    private volatile T value;
+
+    public Lazy(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public T get() {
+        T current = value;
+        if (current == null) {
+            synchronized (this) {
+                current = value;
+                if (current == null) {
+                    current = factory.get();
+                    value = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public boolean isInitialized() {
+        return value != null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.library.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies numbered schema migrations once each and records them in schema_version.
+ * When the recorded version is already current, startup costs a single SELECT.
+ */
+public class SchemaMigrator {
+    private static final String UNDEFINED_TABLE = "42P01";
+    // Arbitrary key serialising concurrent migrators across application instances
+    private static final long MIGRATION_LOCK_KEY = 7_262_025L;
+
+    private final List<Migration> migrations = new ArrayList<>();
+
+    @FunctionalInterface
+    public interface MigrationStep {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    public SchemaMigrator add(int version, String description, MigrationStep step) {
+        if (!migrations.isEmpty() && version <= getLatestVersion()) {
+            throw new IllegalArgumentException("Migrations must be added in increasing version order");
+        }
+        migrations.add(new Migration(version, description, step));
+        return this;
+    }
+
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+    }
+
+    public int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            if (UNDEFINED_TABLE.equals(e.getSQLState())) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Brings the schema up to the latest version and returns how many migrations ran.
+     */
+    public int migrate(Connection conn) throws SQLException {
+        if (getCurrentVersion(conn) >= getLatestVersion()) {
+            return 0;
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description VARCHAR(255) NOT NULL,
+                    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+            stmt.execute("SELECT pg_advisory_xact_lock(" + MIGRATION_LOCK_KEY + ")");
+
+            // Another instance may have migrated while we waited for the lock
+            int current = getCurrentVersion(conn);
+            int applied = 0;
+            for (Migration migration : migrations) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                migration.step.apply(stmt);
+                recordVersion(conn, migration);
+                applied++;
+            }
+
+            conn.commit();
+            return applied;
+        } catch (SQLException e) {
+            DatabaseUtil.rollback(conn);
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void recordVersion(Connection conn, Migration migration) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.version);
+            pstmt.setString(2, migration.description);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final MigrationStep step;
+
+        private Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.library.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for a single pooled connection, keyed by SQL text.
+ * Closing a cached statement only clears its parameters so the next caller with the
+ * same SQL reuses the server-side plan instead of re-parsing it.
+ */
+public class StatementCache {
+    private final Connection physical;
+    private final int maxSize;
+    private final Stats stats;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(Connection physical, int maxSize, Stats stats) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.stats = stats;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        if (maxSize <= 0) {
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : "N:" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            stats.recordHit(sql);
+            cached.inUse = true;
+            return cached.newHandle();
+        }
+        stats.recordMiss(sql);
+
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // Same SQL already checked out on this connection; hand out an uncached statement
+            return statement;
+        }
+
+        cached = new CachedStatement(statement);
+        cached.inUse = true;
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.newHandle();
+    }
+
+    private void evictOverflow() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next();
+            if (!eldest.inUse) {
+                it.remove();
+                stats.evictions.increment();
+                closeQuietly(eldest.statement);
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+
+    private static final class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private PreparedStatement newHandle() {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new StatementHandle(this));
+        }
+
+        private void checkIn() throws SQLException {
+            inUse = false;
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            if (statement.getFetchSize() != 0) {
+                statement.setFetchSize(0);
+            }
+            if (statement.getMaxRows() != 0) {
+                statement.setMaxRows(0);
+            }
+            if (statement.getQueryTimeout() != 0) {
+                statement.setQueryTimeout(0);
+            }
+        }
+    }
+
+    private static final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean handleClosed;
+
+        private StatementHandle(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        handleClosed = true;
+                        cached.checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || cached.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+                default:
+                    break;
+            }
+            if (handleClosed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Hit/miss counters shared by the statement caches of every connection in a pool.
+     * Per-SQL counters are kept for the most recently prepared statements only, in an
+     * LRU bounded like the per-connection caches, so ad-hoc SQL cannot grow it forever.
+     */
+    public static final class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final Map<String, SqlCounters> perStatement;
+
+        Stats(int maxTracked) {
+            this.perStatement = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SqlCounters> eldest) {
+                    return size() > maxTracked;
+                }
+            };
+        }
+
+        private void recordHit(String sql) {
+            hits.increment();
+            countersFor(sql).hits.increment();
+        }
+
+        private void recordMiss(String sql) {
+            misses.increment();
+            countersFor(sql).misses.increment();
+        }
+
+        private SqlCounters countersFor(String sql) {
+            synchronized (perStatement) {
+                return perStatement.computeIfAbsent(sql, key -> new SqlCounters());
+            }
+        }
+
+        public long getHits() { return hits.sum(); }
+        public long getMisses() { return misses.sum(); }
+        public long getEvictions() { return evictions.sum(); }
+
+        public double getHitRatio() {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? 0.0 : (double) h / total;
+        }
+
+        /** Per-SQL counters, most frequently prepared statements first. */
+        public List<SqlStats> getTopStatements(int limit) {
+            List<SqlStats> rows = new ArrayList<>();
+            synchronized (perStatement) {
+                for (Map.Entry<String, SqlCounters> entry : perStatement.entrySet()) {
+                    rows.add(new SqlStats(entry.getKey(), entry.getValue().hits.sum(), entry.getValue().misses.sum()));
+                }
+            }
+            rows.sort(Comparator.comparingLong((SqlStats row) -> row.hits + row.misses).reversed());
+            return rows.size() > limit ? rows.subList(0, limit) : rows;
+        }
+    }
+
+    private static final class SqlCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+
+    public static final class SqlStats {
+        private final String sql;
+        private final long hits;
+        private final long misses;
+
+        private SqlStats(String sql, long hits, long misses) {
+            this.sql = sql;
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        public String getSql() { return sql; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+    }
+}
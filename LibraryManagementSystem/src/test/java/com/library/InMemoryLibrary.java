@@ -0,0 +1,61 @@
+package com.library;
+
+import com.library.dao.memory.InMemoryBookDAO;
+import com.library.dao.memory.InMemoryHoldDAO;
+import com.library.dao.memory.InMemoryStore;
+import com.library.dao.memory.InMemoryTransactionDAO;
+import com.library.dao.memory.InMemoryUserDAO;
+import com.library.model.Book;
+import com.library.model.User;
+import com.library.service.BookService;
+import com.library.service.HoldService;
+import com.library.service.OverdueSweepService;
+import com.library.service.TransactionService;
+import com.library.service.UserService;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * A fresh in-memory library for tests: one store, the DAOs over it and the services over those,
+ * so tests need no database.
+ */
+public class InMemoryLibrary {
+    public static final LocalDate TODAY = LocalDate.now();
+
+    public final InMemoryStore store;
+    public final InMemoryBookDAO bookDAO;
+    public final InMemoryUserDAO userDAO;
+    public final InMemoryTransactionDAO transactionDAO;
+    public final InMemoryHoldDAO holdDAO;
+    public final BookService bookService;
+    public final UserService userService;
+    public final HoldService holdService;
+    public final OverdueSweepService overdueSweepService;
+    public final TransactionService transactionService;
+    private int booksAdded;
+
+    public InMemoryLibrary() {
+        this.store = new InMemoryStore();
+        this.bookDAO = new InMemoryBookDAO(store);
+        this.userDAO = new InMemoryUserDAO(store);
+        this.transactionDAO = new InMemoryTransactionDAO(store);
+        this.holdDAO = new InMemoryHoldDAO(store);
+        this.bookService = new BookService(bookDAO);
+        this.userService = new UserService(userDAO);
+        this.holdService = new HoldService(holdDAO, bookService, userService);
+        this.overdueSweepService = new OverdueSweepService(transactionDAO);
+        this.transactionService = new TransactionService(transactionDAO, bookService, userService, holdService,
+                overdueSweepService);
+    }
+
+    public int addBook(String title, int copies) throws SQLException {
+        booksAdded++;
+        return bookDAO.create(new Book(String.format("978%010d", booksAdded), title, "J.R.R. Tolkien", "Fantasy",
+                copies, TODAY));
+    }
+
+    public int addUser(String firstName) throws SQLException {
+        return userDAO.create(new User(firstName, "Reader", firstName.toLowerCase() + "@example.com", "5550100"));
+    }
+}
@@ -0,0 +1,192 @@
+package com.library.dao.memory;
+
+import com.library.InMemoryLibrary;
+import com.library.dao.interfaces.TransactionDAO;
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.Transaction;
+import com.library.model.User;
+import com.library.model.enums.BookStatus;
+import com.library.model.enums.HoldStatus;
+import com.library.model.enums.TransactionStatus;
+import com.library.model.enums.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static com.library.InMemoryLibrary.TODAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryTransactionDAOTest {
+    private static final int MAX_LOANS = 2;
+    private static final double MAX_FINES = 10.0;
+
+    private InMemoryLibrary library;
+    private InMemoryTransactionDAO transactionDAO;
+    private int bookId;
+    private int userId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        library = new InMemoryLibrary();
+        transactionDAO = library.transactionDAO;
+        bookId = library.addBook("The Hobbit", 2);
+        userId = library.addUser("Ada");
+    }
+
+    private int borrow(LocalDate borrowDate, LocalDate dueDate) throws SQLException {
+        return transactionDAO.borrowBook(bookId, userId, borrowDate, dueDate, MAX_LOANS, MAX_FINES);
+    }
+
+    @Test
+    void borrowClaimsACopyAndCountsTheLoan() throws SQLException {
+        int transactionId = borrow(TODAY, TODAY.plusDays(14));
+
+        assertTrue(transactionId > 0);
+        assertEquals(1, library.bookDAO.findById(bookId).getAvailableCopies());
+        assertEquals(1, library.userDAO.findById(userId).getActiveLoans());
+        Transaction transaction = transactionDAO.findById(transactionId);
+        assertEquals(TransactionStatus.BORROWED, transaction.getStatus());
+        assertEquals(1, transactionDAO.findByUserId(userId).size());
+    }
+
+    @Test
+    void borrowIsRefusedWhenNoCopyIsLeft() throws SQLException {
+        int otherUserId = library.addUser("Alan");
+        borrow(TODAY, TODAY.plusDays(14));
+        borrow(TODAY, TODAY.plusDays(14));
+
+        assertEquals(TransactionDAO.NO_COPY_AVAILABLE,
+                transactionDAO.borrowBook(bookId, otherUserId, TODAY, TODAY.plusDays(14), MAX_LOANS, MAX_FINES));
+        assertEquals(0, library.bookDAO.findById(bookId).getAvailableCopies());
+        assertEquals(0, library.userDAO.findById(otherUserId).getActiveLoans());
+    }
+
+    @Test
+    void borrowIsRefusedAtTheLoanLimitWithoutClaimingACopy() throws SQLException {
+        int otherBookId = library.addBook("The Silmarillion", 5);
+        borrow(TODAY, TODAY.plusDays(14));
+        borrow(TODAY, TODAY.plusDays(14));
+
+        assertEquals(TransactionDAO.LOAN_LIMIT_REACHED,
+                transactionDAO.borrowBook(otherBookId, userId, TODAY, TODAY.plusDays(14), MAX_LOANS, MAX_FINES));
+        assertEquals(5, library.bookDAO.findById(otherBookId).getAvailableCopies());
+        assertEquals(MAX_LOANS, library.userDAO.findById(userId).getActiveLoans());
+    }
+
+    @Test
+    void borrowIsRefusedOverTheFineLimit() throws SQLException {
+        int transactionId = borrow(TODAY.minusDays(40), TODAY.minusDays(26));
+        transactionDAO.returnBook(transactionId, TODAY, 0.5, TODAY.plusDays(3));
+
+        assertEquals(TransactionDAO.FINE_LIMIT_EXCEEDED, borrow(TODAY, TODAY.plusDays(14)));
+        assertEquals(2, library.bookDAO.findById(bookId).getAvailableCopies());
+
+        library.userDAO.recordFinePayment(userId, 3.0);
+        assertTrue(borrow(TODAY, TODAY.plusDays(14)) > 0);
+    }
+
+    @Test
+    void borrowIsRefusedForInactiveUsers() throws SQLException {
+        User user = library.userDAO.findById(userId);
+        user.setStatus(UserStatus.SUSPENDED);
+        library.userDAO.update(user);
+
+        assertEquals(TransactionDAO.USER_NOT_ACTIVE, borrow(TODAY, TODAY.plusDays(14)));
+        assertEquals(2, library.bookDAO.findById(bookId).getAvailableCopies());
+    }
+
+    @Test
+    void borrowReportsWhichPartyIsMissing() throws SQLException {
+        assertEquals(TransactionDAO.BOOK_NOT_FOUND,
+                transactionDAO.borrowBook(bookId + 100, userId, TODAY, TODAY.plusDays(14), MAX_LOANS, MAX_FINES));
+        assertEquals(TransactionDAO.USER_NOT_FOUND,
+                transactionDAO.borrowBook(bookId, userId + 100, TODAY, TODAY.plusDays(14), MAX_LOANS, MAX_FINES));
+        assertEquals(2, library.bookDAO.findById(bookId).getAvailableCopies());
+    }
+
+    @Test
+    void returnRestocksTheCopyAndChargesLateDays() throws SQLException {
+        int transactionId = borrow(TODAY.minusDays(20), TODAY.minusDays(6));
+
+        Transaction returned = transactionDAO.returnBook(transactionId, TODAY, 0.5, TODAY.plusDays(3));
+
+        assertEquals(TransactionStatus.RETURNED, returned.getStatus());
+        assertTrue(returned.isReturnedLate());
+        assertEquals(TODAY, returned.getReturnDate());
+        assertEquals(3.0, returned.getFineAmount());
+        Book book = library.bookDAO.findById(bookId);
+        assertEquals(2, book.getAvailableCopies());
+        assertEquals(BookStatus.AVAILABLE, book.getStatus());
+        User user = library.userDAO.findById(userId);
+        assertEquals(0, user.getActiveLoans());
+        assertEquals(3.0, user.getOutstandingFines());
+    }
+
+    @Test
+    void returnOnTimeChargesNothing() throws SQLException {
+        int transactionId = borrow(TODAY, TODAY.plusDays(14));
+
+        Transaction returned = transactionDAO.returnBook(transactionId, TODAY, 0.5, TODAY.plusDays(3));
+        assertEquals(TransactionStatus.RETURNED, returned.getStatus());
+        assertFalse(returned.isReturnedLate());
+        assertEquals(0.0, returned.getFineAmount());
+    }
+
+    @Test
+    void returnSetsTheCopyAsideForTheHeadOfTheQueue() throws SQLException {
+        int transactionId = borrow(TODAY, TODAY.plusDays(14));
+        borrow(TODAY, TODAY.plusDays(14));
+        int later = library.holdDAO.create(new Hold(bookId, library.addUser("Alan"), 0));
+        int urgent = library.holdDAO.create(new Hold(bookId, library.addUser("Grace"), 1));
+
+        transactionDAO.returnBook(transactionId, TODAY, 0.5, TODAY.plusDays(3));
+
+        Hold readied = library.holdDAO.findById(urgent);
+        assertEquals(HoldStatus.READY, readied.getStatus());
+        assertEquals(TODAY.plusDays(3), readied.getExpiryDate());
+        assertEquals(HoldStatus.WAITING, library.holdDAO.findById(later).getStatus());
+        Book book = library.bookDAO.findById(bookId);
+        assertEquals(0, book.getAvailableCopies());
+        assertEquals(BookStatus.RESERVED, book.getStatus());
+    }
+
+    @Test
+    void returningTwiceIsRefused() throws SQLException {
+        int transactionId = borrow(TODAY, TODAY.plusDays(14));
+        transactionDAO.returnBook(transactionId, TODAY, 0.5, TODAY.plusDays(3));
+
+        assertNull(transactionDAO.returnBook(transactionId, TODAY, 0.5, TODAY.plusDays(3)));
+        assertEquals(2, library.bookDAO.findById(bookId).getAvailableCopies());
+        assertEquals(0, library.userDAO.findById(userId).getActiveLoans());
+    }
+
+    @Test
+    void updateWithAStaleVersionIsRefused() throws SQLException {
+        int transactionId = borrow(TODAY, TODAY.plusDays(14));
+        Transaction first = transactionDAO.findById(transactionId);
+        Transaction second = transactionDAO.findById(transactionId);
+
+        first.setFineAmount(1.0);
+        assertTrue(transactionDAO.update(first));
+        assertEquals(1, first.getVersion());
+
+        second.setFineAmount(2.0);
+        assertFalse(transactionDAO.update(second));
+        assertEquals(1.0, transactionDAO.findById(transactionId).getFineAmount());
+    }
+
+    @Test
+    void borrowAndReturnBumpTheBookVersion() throws SQLException {
+        int transactionId = borrow(TODAY, TODAY.plusDays(14));
+        assertEquals(1, library.bookDAO.findById(bookId).getVersion());
+
+        transactionDAO.returnBook(transactionId, TODAY, 0.5, TODAY.plusDays(3));
+        assertEquals(2, library.bookDAO.findById(bookId).getVersion());
+    }
+}
@@ -0,0 +1,125 @@
+package com.library.dao.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntObjectMapTest {
+
+    // Mirrors IntObjectMap.slot so tests can build probe chains on purpose
+    private static int home(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // Keys whose home slot is the given one in a table of the given capacity
+    private static List<Integer> keysHomedAt(int slot, int capacity, int count) {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 1; keys.size() < count; key++) {
+            if (home(key, capacity - 1) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    void putReplacesAndReturnsPreviousValue() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertNull(map.put(7, "a"));
+        assertEquals("a", map.put(7, "b"));
+        assertEquals("b", map.get(7));
+        assertEquals(1, map.size());
+        assertNull(map.get(8));
+    }
+
+    @Test
+    void rejectsNullValues() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    void removeShiftsCollidingKeysBackAcrossTheTableEnd() {
+        // Capacity 16 holds up to 8 entries without resizing; the chain starts in the last
+        // slot and wraps to the front, so deleting its head must shift entries across the end
+        IntObjectMap<Integer> map = new IntObjectMap<>(8);
+        List<Integer> chain = keysHomedAt(15, 16, 4);
+        for (int key : chain) {
+            map.put(key, key);
+        }
+
+        assertEquals(chain.get(0), map.remove(chain.get(0)));
+        for (int key : chain.subList(1, chain.size())) {
+            assertEquals(key, map.get(key), "key " + key + " lost after backward shift");
+        }
+        assertNull(map.get(chain.get(0)));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void removeLeavesEntriesHomedAfterTheGapInPlace() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(8);
+        List<Integer> first = keysHomedAt(3, 16, 2);
+        int second = keysHomedAt(5, 16, 1).get(0);
+        for (int key : first) {
+            map.put(key, key);
+        }
+        map.put(second, second);
+
+        map.remove(first.get(0));
+        assertEquals(first.get(1), map.get(first.get(1)));
+        assertEquals(second, map.get(second));
+        assertNull(map.remove(first.get(0)));
+    }
+
+    @Test
+    void resizeKeepsEveryEntry() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(2);
+        for (int key = -5_000; key < 5_000; key++) {
+            map.put(key, key);
+        }
+        assertEquals(10_000, map.size());
+        assertEquals(10_000, map.values().size());
+        for (int key = -5_000; key < 5_000; key++) {
+            assertEquals(key, map.get(key));
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(512);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 512; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void valuesReturnsStoredInstances() {
+        IntObjectMap<Object> map = new IntObjectMap<>();
+        Object value = new Object();
+        map.put(3, value);
+        assertSame(value, map.values().get(0));
+    }
+}
@@ -0,0 +1,122 @@
+package com.library.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    // Sub-bucket width over its lower bound, the most a reported value can overshoot
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 16;
+
+    private static long lowerBoundOf(int bucket) {
+        return bucket == 0 ? 0 : LatencyHistogram.upperBoundOf(bucket - 1) + 1;
+    }
+
+    private static void assertInOwnBucket(long value) {
+        int bucket = LatencyHistogram.bucketOf(value);
+        assertTrue(lowerBoundOf(bucket) <= value && value <= LatencyHistogram.upperBoundOf(bucket),
+                value + " outside bucket " + bucket);
+    }
+
+    @Test
+    void smallValuesGetABucketEach() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.upperBoundOf(value));
+        }
+    }
+
+    @Test
+    void linearRangeEndsAtSixteen() {
+        assertEquals(15, LatencyHistogram.bucketOf(15));
+        assertEquals(16, LatencyHistogram.bucketOf(16));
+        assertEquals(16, LatencyHistogram.upperBoundOf(16));
+        assertEquals(31, LatencyHistogram.bucketOf(31));
+        assertEquals(31, LatencyHistogram.upperBoundOf(31));
+        // From 32 on, each sub-bucket spans two or more values
+        assertEquals(32, LatencyHistogram.bucketOf(32));
+        assertEquals(32, LatencyHistogram.bucketOf(33));
+        assertEquals(33, LatencyHistogram.upperBoundOf(32));
+    }
+
+    @Test
+    void powersOfTwoStartANewRow() {
+        for (int exponent = 4; exponent < 63; exponent++) {
+            long power = 1L << exponent;
+            int bucket = LatencyHistogram.bucketOf(power);
+            assertEquals(0, bucket % 16, "2^" + exponent);
+            assertEquals(bucket - 1, LatencyHistogram.bucketOf(power - 1), "2^" + exponent + " - 1");
+            assertEquals(power - 1, LatencyHistogram.upperBoundOf(bucket - 1));
+            assertInOwnBucket(power);
+            assertInOwnBucket(power - 1);
+            assertInOwnBucket(power + 1);
+        }
+    }
+
+    @Test
+    void largestValueFitsTheLastBucket() {
+        int bucket = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(bucket));
+        assertTrue(bucket < 64 * 16);
+        assertInOwnBucket(Long.MAX_VALUE);
+    }
+
+    @Test
+    void bucketsAreContiguousAndWithinTheErrorBound() {
+        int last = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+        for (int bucket = 1; bucket <= last; bucket++) {
+            long lower = lowerBoundOf(bucket);
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue(upper >= lower, "bucket " + bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(lower));
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper));
+            assertTrue((double) (upper - lower) / lower <= MAX_RELATIVE_ERROR, "bucket " + bucket);
+        }
+    }
+
+    @Test
+    void quantilesAreWithinTheDocumentedError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(3);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-uniform from 1 microsecond to 1 second
+            values[i] = (long) Math.pow(10, 3 + 6 * random.nextDouble());
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[] {0.01, 0.5, 0.9, 0.99, 0.999, 1.0}) {
+            long exact = values[(int) Math.ceil(quantile * values.length) - 1];
+            long reported = histogram.getValueAtQuantile(quantile);
+            assertTrue(reported >= exact && reported <= exact * (1 + MAX_RELATIVE_ERROR),
+                    "p" + quantile + ": exact " + exact + ", reported " + reported);
+        }
+        assertEquals(values[values.length - 1], histogram.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    void countsSumsAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+        assertEquals(0.0, histogram.getMeanNanos());
+
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(400, histogram.getSumNanos());
+        assertEquals(300, histogram.getMaxNanos());
+        assertEquals(0, histogram.getValueAtQuantile(0.0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getValueAtQuantile(0.99));
+    }
+}
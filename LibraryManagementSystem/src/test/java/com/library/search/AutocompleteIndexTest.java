@@ -0,0 +1,260 @@
+package com.library.search;
+
+import com.library.model.Book;
+import com.library.model.enums.BookStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompleteIndexTest {
+
+    private static Book book(int bookId, String title, String author) {
+        Book book = new Book("97800000000" + bookId, title, author, null, 1, LocalDate.now());
+        book.setBookId(bookId);
+        return book;
+    }
+
+    private static AutocompleteIndex loaded(int capacity, Map<Integer, Long> popularity, Book... books) {
+        AutocompleteIndex index = new AutocompleteIndex(capacity);
+        index.beginRebuild();
+        index.finishRebuild(List.of(books), popularity);
+        return index;
+    }
+
+    private static List<Integer> ids(List<Completion> completions) {
+        List<Integer> ids = new ArrayList<>();
+        for (Completion completion : completions) {
+            ids.add(completion.getBookId());
+        }
+        return ids;
+    }
+
+    @Test
+    void completesPrefixesOfTitleAndAuthorWordsByPopularity() {
+        AutocompleteIndex index = loaded(10, Map.of(1, 5L, 2, 9L),
+                book(1, "The Hobbit", "J.R.R. Tolkien"),
+                book(2, "The Silmarillion", "J.R.R. Tolkien"),
+                book(3, "Dune", "Frank Herbert"));
+
+        assertEquals(List.of(2, 1), ids(index.complete("tolk", 10)));
+        assertEquals(List.of(1), ids(index.complete("HOB", 10)));
+        assertEquals(List.of(2), ids(index.complete("the sil", 10)));
+        assertTrue(index.complete("tolkiens", 10).isEmpty());
+        assertTrue(index.complete("  ", 10).isEmpty());
+        assertFalse(index.needsRebuild());
+    }
+
+    @Test
+    void tiesBreakByTitleThenId() {
+        AutocompleteIndex index = loaded(10, Map.of(),
+                book(3, "beta", "x"), book(1, "Alpha", "x"), book(2, "alpha", "x"));
+
+        assertEquals(List.of(1, 2, 3), ids(index.complete("x", 10)));
+    }
+
+    @Test
+    void insertAfterLoadIsVisibleAndKeepsPopularityOnReindex() {
+        AutocompleteIndex index = loaded(10, Map.of(1, 7L), book(1, "The Hobbit", "J.R.R. Tolkien"));
+
+        index.put(book(2, "Hobbit Tales", "Anonymous"));
+        assertEquals(List.of(1, 2), ids(index.complete("hob", 10)));
+
+        // Renaming moves the book to its new words and keeps its loan count
+        index.put(book(1, "There and Back Again", "J.R.R. Tolkien"));
+        assertEquals(List.of(2), ids(index.complete("hob", 10)));
+        assertEquals(7L, index.complete("back", 10).get(0).getPopularity());
+    }
+
+    @Test
+    void removeForgetsTheBookAndPrunesItsWords() {
+        AutocompleteIndex index = loaded(10, Map.of(), book(1, "The Hobbit", "J.R.R. Tolkien"));
+
+        index.remove(1);
+        assertEquals(0, index.size());
+        assertTrue(index.complete("hobbit", 10).isEmpty());
+        assertTrue(index.complete("t", 10).isEmpty());
+
+        index.remove(1);
+        index.put(book(1, "The Hobbit", "J.R.R. Tolkien"));
+        assertEquals(List.of(1), ids(index.complete("hobbit", 10)));
+    }
+
+    @Test
+    void deletedBooksAreRemovedOnPut() {
+        AutocompleteIndex index = loaded(10, Map.of(), book(1, "The Hobbit", "J.R.R. Tolkien"));
+        Book deleted = book(1, "The Hobbit", "J.R.R. Tolkien");
+        deleted.setStatus(BookStatus.DELETED);
+
+        index.put(deleted);
+        assertTrue(index.complete("hobbit", 10).isEmpty());
+    }
+
+    @Test
+    void wordsSharingAPrefixAreIndexedSeparately() {
+        AutocompleteIndex index = loaded(10, Map.of(2, 1L),
+                book(1, "Tolkien", "Carpenter"),
+                book(2, "Tolkienesque", "Various"));
+
+        assertEquals(List.of(2, 1), ids(index.complete("tolk", 10)));
+        assertEquals(List.of(2, 1), ids(index.complete("tolkien", 10)));
+        assertEquals(List.of(2), ids(index.complete("tolkiene", 10)));
+
+        index.remove(2);
+        assertEquals(List.of(1), ids(index.complete("tolk", 10)));
+        assertTrue(index.complete("tolkiene", 10).isEmpty());
+        index.remove(1);
+        assertTrue(index.complete("t", 10).isEmpty());
+    }
+
+    @Test
+    void wordsRepeatedWithinABookCountOnce() {
+        AutocompleteIndex index = loaded(10, Map.of(),
+                book(1, "New York, New York", "Anne New"),
+                book(2, "Newer Worlds", "Someone"));
+
+        assertEquals(List.of(1, 2), ids(index.complete("new", 10)));
+        assertEquals(List.of(1), ids(index.complete("new new york", 10)));
+
+        index.remove(1);
+        assertEquals(List.of(2), ids(index.complete("new", 10)));
+        assertTrue(index.complete("york", 10).isEmpty());
+    }
+
+    @Test
+    void popularityDropAtAFullNodeLetsTheNextBookIn() {
+        AutocompleteIndex index = loaded(2, Map.of(1, 10L, 2, 9L, 3, 8L),
+                book(1, "Alpha", "x"), book(2, "Amber", "x"), book(3, "Atlas", "x"));
+        assertEquals(List.of(1, 2), ids(index.complete("a", 2)));
+
+        index.updatePopularity(Map.of(1, 1L, 2, 9L, 3, 8L));
+        assertEquals(List.of(2, 3), ids(index.complete("a", 2)));
+
+        index.updatePopularity(Map.of(1, 20L, 2, 9L, 3, 8L));
+        assertEquals(List.of(1, 2), ids(index.complete("a", 2)));
+    }
+
+    @Test
+    void removalAtAFullNodeLetsTheNextBookIn() {
+        AutocompleteIndex index = loaded(2, Map.of(1, 10L, 2, 9L, 3, 8L),
+                book(1, "Alpha", "x"), book(2, "Amber", "x"), book(3, "Atlas", "x"));
+        assertEquals(List.of(1, 2), ids(index.complete("a", 2)));
+
+        index.remove(1);
+        assertEquals(List.of(2, 3), ids(index.complete("a", 2)));
+    }
+
+    @Test
+    void multiWordQueryStopsAtTheCacheOnlyWhenItHasEnoughMatches() {
+        // "x" is the smallest node for the first two queries; its cache holds books 1 and 2 only
+        Map<Integer, Long> popularity = Map.of(1, 30L, 2, 20L, 3, 10L);
+        AutocompleteIndex index = loaded(2, popularity,
+                book(1, "Red Fox", "x"), book(2, "Red Hen", "x"), book(3, "Blue Jay", "x"),
+                book(4, "Red Ant", "y"), book(5, "Blue Whale", "y"), book(6, "Blue Owl", "y"),
+                book(7, "Blue Moon", "y"));
+
+        // Both cached entries match, so the cache alone answers
+        assertEquals(List.of(1, 2), ids(index.complete("red x", 2)));
+        // Neither cached entry matches "blue", so the subtree has to be scanned
+        assertEquals(List.of(3), ids(index.complete("blue x", 2)));
+        // "fox" is smaller still, and a cache that is not full holds its whole subtree
+        assertEquals(List.of(1), ids(index.complete("fox x", 2)));
+        // A limit above the capacity always scans
+        assertEquals(List.of(1, 2, 3), ids(index.complete("x", 5)));
+    }
+
+    @Test
+    void writesDuringARebuildAreReplayedOverTheSnapshot() {
+        AutocompleteIndex index = new AutocompleteIndex(5);
+        assertTrue(index.needsRebuild());
+
+        index.beginRebuild();
+        index.put(book(2, "Dune", "Frank Herbert"));
+        index.remove(1);
+        index.finishRebuild(List.of(book(1, "The Hobbit", "J.R.R. Tolkien")), Map.of());
+
+        assertTrue(index.complete("hobbit", 5).isEmpty());
+        assertEquals(List.of(2), ids(index.complete("dune", 5)));
+        assertFalse(index.needsRebuild());
+
+        index.markStale();
+        assertTrue(index.needsRebuild());
+    }
+
+    @Test
+    void matchesABruteForceRankingUnderRandomChanges() {
+        String[] words = {"a", "ab", "abc", "abd", "b", "ba", "bab", "c", "ca", "cab"};
+        Random random = new Random(7);
+        AutocompleteIndex index = loaded(3, Map.of());
+        Map<Integer, Book> books = new HashMap<>();
+        Map<Integer, Long> popularity = new HashMap<>();
+
+        for (int step = 0; step < 3_000; step++) {
+            int bookId = random.nextInt(40);
+            switch (random.nextInt(4)) {
+                case 0:
+                    books.remove(bookId);
+                    index.remove(bookId);
+                    break;
+                case 1:
+                    popularity.put(bookId, (long) random.nextInt(5));
+                    index.updatePopularity(popularity);
+                    break;
+                default:
+                    // A book new to the index starts unranked until the next popularity refresh
+                    Book book = book(bookId, randomText(words, random), randomText(words, random));
+                    if (books.put(bookId, book) == null) {
+                        popularity.remove(bookId);
+                    }
+                    index.put(book);
+            }
+
+            String query = randomText(words, random);
+            int limit = 1 + random.nextInt(5);
+            assertEquals(expected(books, popularity, query, limit), ids(index.complete(query, limit)),
+                    "query '" + query + "' limit " + limit + " at step " + step);
+        }
+    }
+
+    private static String randomText(String[] words, Random random) {
+        StringBuilder text = new StringBuilder(words[random.nextInt(words.length)]);
+        for (int n = random.nextInt(3); n > 0; n--) {
+            text.append(' ').append(words[random.nextInt(words.length)]);
+        }
+        return text.toString();
+    }
+
+    private static List<Integer> expected(Map<Integer, Book> books, Map<Integer, Long> popularity,
+                                          String query, int limit) {
+        List<String> prefixes = Tokenizer.words(query);
+        List<Book> matches = new ArrayList<>();
+        for (Book book : books.values()) {
+            List<String> tokens = Tokenizer.words(book.getTitle() + " " + book.getAuthor());
+            boolean all = true;
+            for (String prefix : prefixes) {
+                all &= tokens.stream().anyMatch(token -> token.startsWith(prefix));
+            }
+            if (all) {
+                matches.add(book);
+            }
+        }
+        matches.sort(Comparator.comparingLong((Book book) -> popularity.getOrDefault(book.getBookId(), 0L))
+                .reversed()
+                .thenComparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER)
+                .thenComparingInt(Book::getBookId));
+        List<Integer> ids = new ArrayList<>();
+        for (Book book : matches.subList(0, Math.min(limit, matches.size()))) {
+            ids.add(book.getBookId());
+        }
+        return ids;
+    }
+}
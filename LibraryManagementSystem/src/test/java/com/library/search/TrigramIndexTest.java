@@ -0,0 +1,156 @@
+package com.library.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    // Scores every document directly: the fraction of the query's trigrams it contains
+    private static List<String> bruteForce(Map<Integer, String> documents, String query, double threshold, int limit) {
+        long[] queryTrigrams = TrigramIndex.trigrams(query);
+        if (queryTrigrams.length == 0) {
+            return new ArrayList<>();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(threshold * queryTrigrams.length - 1e-9));
+        List<TrigramIndex.Match> matches = new ArrayList<>();
+        for (Map.Entry<Integer, String> document : documents.entrySet()) {
+            long[] trigrams = TrigramIndex.trigrams(document.getValue());
+            int shared = 0;
+            for (long trigram : queryTrigrams) {
+                if (Arrays.binarySearch(trigrams, trigram) >= 0) {
+                    shared++;
+                }
+            }
+            if (shared >= minShared) {
+                matches.add(new TrigramIndex.Match(document.getKey(), (double) shared / queryTrigrams.length));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(TrigramIndex.Match::getScore).reversed()
+                .thenComparingInt(TrigramIndex.Match::getId));
+        return describe(matches.subList(0, Math.min(limit, matches.size())));
+    }
+
+    private static List<String> describe(List<TrigramIndex.Match> matches) {
+        List<String> described = new ArrayList<>();
+        for (TrigramIndex.Match match : matches) {
+            described.add(match.getId() + "@" + match.getScore());
+        }
+        return described;
+    }
+
+    @Test
+    void padsWordsLikePgTrgm() {
+        // "  c", " ca", "cat", "at " and the shared word "cat" once
+        assertEquals(4, TrigramIndex.trigrams("Cat cat").length);
+        assertEquals(0, TrigramIndex.trigrams(" - ").length);
+    }
+
+    @Test
+    void transposedLettersStillFindTheAuthor() {
+        TrigramIndex index = new TrigramIndex();
+        Map<Integer, String> documents = new HashMap<>();
+        documents.put(1, "The Hobbit J.R.R. Tolkien Fantasy");
+        documents.put(2, "Dune Frank Herbert Science Fiction");
+        documents.put(3, "Tolstoy War and Peace Classics");
+        documents.forEach(index::add);
+
+        List<TrigramIndex.Match> matches = index.search("Tolkein", 0.3, 10);
+
+        assertEquals(1, matches.get(0).getId());
+        assertEquals(bruteForce(documents, "Tolkein", 0.3, 10), describe(matches));
+    }
+
+    @Test
+    void fullThresholdRequiresEveryTrigram() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "tolkien");
+        index.add(2, "tolkein");
+        index.add(3, "tolkien tolkein");
+
+        assertEquals(List.of("1@1.0", "3@1.0"), describe(index.search("tolkien", 1.0, 10)));
+    }
+
+    @Test
+    void queryWithTooFewIndexedTrigramsFindsNothing() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "tolkien");
+
+        assertTrue(index.search("xyzzy", 0.1, 10).isEmpty());
+        assertTrue(index.search("tolkien", 0.5, 0).isEmpty());
+        assertTrue(index.search("", 0.5, 10).isEmpty());
+    }
+
+    @Test
+    void removedDocumentsAreNotFound() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "tolkien");
+        index.add(1, "tolkien");
+        index.add(2, "tolkien");
+
+        index.remove(1, "tolkien");
+        assertEquals(List.of("2@1.0"), describe(index.search("tolkien", 0.3, 10)));
+        index.remove(2, "tolkien");
+        assertTrue(index.search("tolkien", 0.3, 10).isEmpty());
+    }
+
+    @Test
+    void limitKeepsTheBestScoresThenLowestIds() {
+        TrigramIndex index = new TrigramIndex();
+        Map<Integer, String> documents = new HashMap<>();
+        for (int id = 1; id <= 30; id++) {
+            documents.put(id, id % 3 == 0 ? "tolkien" : "tolkein");
+        }
+        documents.forEach(index::add);
+
+        assertEquals(bruteForce(documents, "tolkien", 0.3, 5), describe(index.search("tolkien", 0.3, 5)));
+    }
+
+    @Test
+    void matchesABruteForceScorerAcrossThresholds() {
+        // A small alphabet makes some trigrams very common and others rare, so queries mix
+        // merged lists with probed ones and exercise the early exit of the probing loop
+        Random random = new Random(11);
+        TrigramIndex index = new TrigramIndex();
+        Map<Integer, String> documents = new HashMap<>();
+        for (int id = 1; id <= 2_000; id++) {
+            String text = randomText(random);
+            documents.put(id, text);
+            index.add(id, text);
+        }
+        for (int id = 1; id <= 2_000; id += 7) {
+            index.remove(id, documents.remove(id));
+        }
+
+        double[] thresholds = {0.05, 0.2, 0.3, 0.5, 0.75, 1.0};
+        for (int i = 0; i < 300; i++) {
+            String query = randomText(random);
+            double threshold = thresholds[random.nextInt(thresholds.length)];
+            int limit = 1 + random.nextInt(40);
+            assertEquals(bruteForce(documents, query, threshold, limit),
+                    describe(index.search(query, threshold, limit)),
+                    "query '" + query + "' threshold " + threshold + " limit " + limit);
+        }
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int words = 1 + random.nextInt(3); words > 0; words--) {
+            for (int length = 2 + random.nextInt(5); length > 0; length--) {
+                // Skewed towards the start of the alphabet
+                text.append((char) ('a' + (int) (6 * Math.pow(random.nextDouble(), 2))));
+            }
+            text.append(' ');
+        }
+        return text.toString();
+    }
+}
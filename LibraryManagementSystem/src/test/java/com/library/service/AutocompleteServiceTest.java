@@ -0,0 +1,63 @@
+package com.library.service;
+
+import com.library.config.AppConfig;
+import com.library.dao.memory.InMemoryBookDAO;
+import com.library.dao.memory.InMemoryStore;
+import com.library.dao.memory.InMemoryTransactionDAO;
+import com.library.dao.memory.InMemoryUserDAO;
+import com.library.model.Book;
+import com.library.model.User;
+import com.library.search.AutocompleteIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompleteServiceTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private InMemoryStore store;
+    private InMemoryBookDAO bookDAO;
+    private AutocompleteService autocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        bookDAO = new InMemoryBookDAO(store);
+        autocompleteService = new AutocompleteService(new AutocompleteIndex(AppConfig.AUTOCOMPLETE_MAX_RESULTS),
+                bookDAO, new InMemoryTransactionDAO(store));
+    }
+
+    @Test
+    void refreshPicksUpBooksWrittenByOtherProcesses() throws Exception {
+        int hobbit = bookDAO.create(new Book("9780261103573", "The Hobbit", "J.R.R. Tolkien", "Fantasy", 1, TODAY));
+        assertEquals(1, autocompleteService.complete("hob").size());
+
+        // Written straight to the DAO, as another process would, so the index is not told
+        int dune = bookDAO.create(new Book("9780441013593", "Dune", "Frank Herbert", "Science Fiction", 1, TODAY));
+        bookDAO.delete(hobbit);
+        assertTrue(autocompleteService.complete("dune").isEmpty());
+
+        assertEquals(1, autocompleteService.refresh());
+        assertEquals(dune, autocompleteService.complete("dune").get(0).getBookId());
+        assertTrue(autocompleteService.complete("hob").isEmpty());
+    }
+
+    @Test
+    void refreshRanksByRecentLoans() throws Exception {
+        int hobbit = bookDAO.create(new Book("9780261103573", "The Hobbit", "J.R.R. Tolkien", "Fantasy", 1, TODAY));
+        int silmarillion = bookDAO.create(
+                new Book("9780261102736", "The Silmarillion", "J.R.R. Tolkien", "Fantasy", 1, TODAY));
+        assertEquals(hobbit, autocompleteService.complete("tolkien").get(0).getBookId());
+
+        int userId = new InMemoryUserDAO(store).create(new User("Ada", "Lovelace", "ada@example.com", "5550100"));
+        new InMemoryTransactionDAO(store).borrowBook(silmarillion, userId, TODAY, TODAY.plusDays(14), 5, 10.0);
+        autocompleteService.refresh();
+
+        assertEquals(silmarillion, autocompleteService.complete("tolkien").get(0).getBookId());
+        assertEquals(1L, autocompleteService.complete("tolkien").get(0).getPopularity());
+    }
+}
@@ -0,0 +1,161 @@
+package com.library.service;
+
+import com.library.InMemoryLibrary;
+import com.library.config.AppConfig;
+import com.library.exception.TransactionException;
+import com.library.model.Book;
+import com.library.model.enums.BookStatus;
+import com.library.model.enums.HoldStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.library.InMemoryLibrary.TODAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoldServiceTest {
+    private InMemoryLibrary library;
+    private HoldService holdService;
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        library = new InMemoryLibrary();
+        holdService = library.holdService;
+        transactionService = library.transactionService;
+    }
+
+    @Test
+    void holdIsRefusedWhileCopiesAreOnTheShelf() throws Exception {
+        int bookId = library.addBook("The Hobbit", 1);
+        int userId = library.addUser("Ada");
+
+        assertThrows(TransactionException.class, () -> holdService.placeHold(bookId, userId));
+    }
+
+    @Test
+    void returnedCopyGoesToTheFirstWaitingHold() throws Exception {
+        int bookId = library.addBook("The Hobbit", 1);
+        int first = library.addUser("Alan");
+        int second = library.addUser("Grace");
+        int transactionId = transactionService.borrowBook(bookId, library.addUser("Ada"));
+        int firstHold = holdService.placeHold(bookId, first);
+        int secondHold = holdService.placeHold(bookId, second);
+
+        transactionService.returnBook(transactionId);
+
+        assertEquals(HoldStatus.READY, holdService.findHold(firstHold).getStatus());
+        assertEquals(TODAY.plusDays(AppConfig.HOLD_PICKUP_DAYS), holdService.findHold(firstHold).getExpiryDate());
+        assertEquals(HoldStatus.WAITING, holdService.findHold(secondHold).getStatus());
+        assertEquals(0, holdService.getQueuePosition(firstHold));
+        assertEquals(1, holdService.getQueuePosition(secondHold));
+        Book book = library.bookDAO.findById(bookId);
+        assertEquals(0, book.getAvailableCopies());
+        assertEquals(BookStatus.RESERVED, book.getStatus());
+
+        // Only the holder may take the set-aside copy
+        assertThrows(TransactionException.class, () -> transactionService.borrowBook(bookId, second));
+        assertTrue(transactionService.borrowBook(bookId, first) > 0);
+        assertEquals(HoldStatus.FULFILLED, holdService.findHold(firstHold).getStatus());
+    }
+
+    @Test
+    void higherPriorityHoldsAreServedFirst() throws Exception {
+        int bookId = library.addBook("The Hobbit", 1);
+        int transactionId = transactionService.borrowBook(bookId, library.addUser("Ada"));
+        int ordinary = holdService.placeHold(bookId, library.addUser("Alan"));
+        int urgent = holdService.placeHold(bookId, library.addUser("Grace"), 1);
+
+        transactionService.returnBook(transactionId);
+
+        assertEquals(HoldStatus.READY, holdService.findHold(urgent).getStatus());
+        assertEquals(HoldStatus.WAITING, holdService.findHold(ordinary).getStatus());
+    }
+
+    @Test
+    void bookIsReservedOnlyWhileNoCopyIsOnTheShelf() throws Exception {
+        int bookId = library.addBook("The Hobbit", 3);
+        int[] loans = new int[3];
+        for (int i = 0; i < loans.length; i++) {
+            loans[i] = transactionService.borrowBook(bookId, library.addUser("Reader" + i));
+        }
+        holdService.placeHold(bookId, library.addUser("Alan"));
+
+        transactionService.returnBook(loans[0]);
+        assertEquals(BookStatus.RESERVED, library.bookDAO.findById(bookId).getStatus());
+
+        transactionService.returnBook(loans[1]);
+        Book book = library.bookDAO.findById(bookId);
+        assertEquals(1, book.getAvailableCopies());
+        assertEquals(BookStatus.AVAILABLE, book.getStatus());
+    }
+
+    @Test
+    void returnResyncsTheQueueWhenTheHeadMovedOn() throws Exception {
+        int bookId = library.addBook("The Hobbit", 1);
+        int transactionId = transactionService.borrowBook(bookId, library.addUser("Ada"));
+        int stale = holdService.placeHold(bookId, library.addUser("Alan"));
+        int next = holdService.placeHold(bookId, library.addUser("Grace"));
+
+        // Cancelled behind the mirror's back, so the return readies the second hold
+        library.holdDAO.release(stale, HoldStatus.CANCELLED);
+        transactionService.returnBook(transactionId);
+
+        assertEquals(HoldStatus.READY, holdService.findHold(next).getStatus());
+        assertEquals(0, holdService.getQueuePosition(next));
+        assertEquals(-1, holdService.getQueuePosition(stale));
+        assertEquals(1, holdService.getActiveHoldCount());
+    }
+
+    @Test
+    void expiredHoldPassesItsCopyToTheNextHolder() throws Exception {
+        int bookId = library.addBook("The Hobbit", 1);
+        int transactionId = transactionService.borrowBook(bookId, library.addUser("Ada"));
+        int lapsedHold = holdService.placeHold(bookId, library.addUser("Alan"));
+        int nextHold = holdService.placeHold(bookId, library.addUser("Grace"));
+
+        // Return straight through the DAO so the copy is set aside with a pickup date already past
+        library.transactionDAO.returnBook(transactionId, TODAY.minusDays(5), 1.0, TODAY.minusDays(1));
+        holdService.onCopyReturned(bookId);
+
+        assertEquals(1, holdService.expireReadyHolds());
+        assertEquals(HoldStatus.EXPIRED, holdService.findHold(lapsedHold).getStatus());
+        assertEquals(HoldStatus.READY, holdService.findHold(nextHold).getStatus());
+        Book book = library.bookDAO.findById(bookId);
+        assertEquals(0, book.getAvailableCopies());
+        assertEquals(BookStatus.RESERVED, book.getStatus());
+        assertEquals(0, holdService.expireReadyHolds());
+    }
+
+    @Test
+    void expiredHoldRestocksTheCopyWhenNobodyIsWaiting() throws Exception {
+        int bookId = library.addBook("The Hobbit", 1);
+        int transactionId = transactionService.borrowBook(bookId, library.addUser("Ada"));
+        holdService.placeHold(bookId, library.addUser("Alan"));
+
+        library.transactionDAO.returnBook(transactionId, TODAY.minusDays(5), 1.0, TODAY.minusDays(1));
+        holdService.onCopyReturned(bookId);
+
+        assertEquals(1, holdService.expireReadyHolds());
+        Book book = library.bookDAO.findById(bookId);
+        assertEquals(1, book.getAvailableCopies());
+        assertEquals(BookStatus.AVAILABLE, book.getStatus());
+        assertEquals(0, holdService.getActiveHoldCount());
+    }
+
+    @Test
+    void cancellingAReadyHoldPassesTheCopyOn() throws Exception {
+        int bookId = library.addBook("The Hobbit", 1);
+        int transactionId = transactionService.borrowBook(bookId, library.addUser("Ada"));
+        int cancelled = holdService.placeHold(bookId, library.addUser("Alan"));
+        int next = holdService.placeHold(bookId, library.addUser("Grace"));
+        transactionService.returnBook(transactionId);
+
+        holdService.cancelHold(cancelled);
+
+        assertEquals(HoldStatus.CANCELLED, holdService.findHold(cancelled).getStatus());
+        assertEquals(HoldStatus.READY, holdService.findHold(next).getStatus());
+        assertEquals(0, library.bookDAO.findById(bookId).getAvailableCopies());
+    }
+}
@@ -0,0 +1,112 @@
+package com.library.service;
+
+import com.library.InMemoryLibrary;
+import com.library.config.AppConfig;
+import com.library.dao.memory.InMemoryTransactionDAO;
+import com.library.model.OverdueReportEntry;
+import com.library.model.SweepCheckpoint;
+import com.library.model.Transaction;
+import com.library.model.enums.TransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.library.InMemoryLibrary.TODAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverdueSweepServiceTest {
+    private InMemoryLibrary library;
+    private InMemoryTransactionDAO transactionDAO;
+    private OverdueSweepService sweepService;
+    private int bookId;
+    private int userId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        library = new InMemoryLibrary();
+        transactionDAO = library.transactionDAO;
+        sweepService = library.overdueSweepService;
+        bookId = library.addBook("The Hobbit", 10);
+        userId = library.addUser("Ada");
+    }
+
+    private int loanDue(LocalDate dueDate) throws SQLException {
+        return transactionDAO.borrowBook(bookId, userId, dueDate.minusDays(AppConfig.DEFAULT_BORROW_DAYS), dueDate,
+                Integer.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    @Test
+    void flagsLoansPastDueAndAccruesTheirFines() throws Exception {
+        int late = loanDue(TODAY.minusDays(3));
+        int dueToday = loanDue(TODAY);
+        int returned = loanDue(TODAY.minusDays(8));
+        transactionDAO.returnBook(returned, TODAY.minusDays(7), AppConfig.FINE_PER_DAY, TODAY);
+
+        SweepCheckpoint checkpoint = sweepService.runSweep();
+
+        assertTrue(checkpoint.isComplete());
+        assertEquals(1, checkpoint.getRowsUpdated());
+        Transaction flagged = transactionDAO.findById(late);
+        assertEquals(TransactionStatus.OVERDUE, flagged.getStatus());
+        assertEquals(3 * AppConfig.FINE_PER_DAY, flagged.getFineAmount());
+        assertEquals(TransactionStatus.BORROWED, transactionDAO.findById(dueToday).getStatus());
+        Transaction closed = transactionDAO.findById(returned);
+        assertEquals(TransactionStatus.RETURNED, closed.getStatus());
+        assertTrue(closed.isReturnedLate());
+        assertEquals(AppConfig.FINE_PER_DAY, closed.getFineAmount());
+    }
+
+    @Test
+    void runsOncePerDay() throws Exception {
+        loanDue(TODAY.minusDays(3));
+        SweepCheckpoint first = sweepService.runSweep();
+        loanDue(TODAY.minusDays(1));
+
+        SweepCheckpoint second = sweepService.runSweep();
+
+        assertEquals(first.getChunks(), second.getChunks());
+        assertEquals(first.getRowsUpdated(), second.getRowsUpdated());
+        assertEquals(TODAY, sweepService.getLastCheckpoint().getRunDate());
+    }
+
+    @Test
+    void interruptedRunResumesAfterItsCheckpoint() throws Exception {
+        for (int days = 1; days <= 5; days++) {
+            loanDue(TODAY.minusDays(days));
+        }
+
+        SweepCheckpoint checkpoint = transactionDAO.sweepOverdueChunk(
+                new SweepCheckpoint(OverdueSweepService.JOB_NAME, TODAY), AppConfig.FINE_PER_DAY, 2);
+        assertFalse(checkpoint.isComplete());
+        assertEquals(2, checkpoint.getRowsUpdated());
+
+        // The next run picks up the saved checkpoint instead of starting over
+        SweepCheckpoint finished = sweepService.runSweep();
+        assertTrue(finished.isComplete());
+        assertEquals(5, finished.getRowsScanned());
+        assertEquals(5, finished.getRowsUpdated());
+        assertEquals(5, transactionDAO.findOverdue().size());
+    }
+
+    @Test
+    void overdueReportCatchesUpTheSweepFirst() throws Exception {
+        loanDue(TODAY.minusDays(2));
+        loanDue(TODAY.minusDays(4));
+
+        List<OverdueReportEntry> entries = new ArrayList<>();
+        double total = library.transactionService.streamOverdueReport(entries::add);
+
+        assertEquals(2, entries.size());
+        for (OverdueReportEntry entry : entries) {
+            assertEquals(entry.getDaysLate() * AppConfig.FINE_PER_DAY, entry.getFine());
+        }
+        assertEquals(6 * AppConfig.FINE_PER_DAY, total);
+        assertEquals(2, library.transactionService.getOverdueTransactions().size());
+    }
+}
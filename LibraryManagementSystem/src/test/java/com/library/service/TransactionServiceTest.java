@@ -0,0 +1,124 @@
+package com.library.service;
+
+import com.library.InMemoryLibrary;
+import com.library.config.AppConfig;
+import com.library.exception.BookNotFoundException;
+import com.library.exception.TransactionException;
+import com.library.exception.UserNotFoundException;
+import com.library.model.enums.HoldStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static com.library.InMemoryLibrary.TODAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionServiceTest {
+    private InMemoryLibrary library;
+    private TransactionService transactionService;
+    private int bookId;
+    private int userId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        library = new InMemoryLibrary();
+        transactionService = library.transactionService;
+        bookId = library.addBook("The Hobbit", AppConfig.MAX_BOOKS_PER_USER + 1);
+        userId = library.addUser("Ada");
+    }
+
+    // Closes a loan that ran the given number of days late, leaving its fine on the user
+    private void returnLate(int lateDays) throws Exception {
+        int transactionId = library.transactionDAO.borrowBook(bookId, userId, TODAY.minusDays(lateDays + 14),
+                TODAY.minusDays(lateDays), AppConfig.MAX_BOOKS_PER_USER, AppConfig.MAX_OUTSTANDING_FINES);
+        transactionService.returnBook(transactionId);
+    }
+
+    @Test
+    void borrowAndReturnKeepTheCountersInStep() throws Exception {
+        int transactionId = transactionService.borrowBook(bookId, userId);
+        assertEquals(AppConfig.MAX_BOOKS_PER_USER, library.bookDAO.findById(bookId).getAvailableCopies());
+        assertEquals(1, library.userService.findUser(userId).getActiveLoans());
+
+        transactionService.returnBook(transactionId);
+        assertEquals(AppConfig.MAX_BOOKS_PER_USER + 1, library.bookDAO.findById(bookId).getAvailableCopies());
+        assertEquals(0, library.userService.findUser(userId).getActiveLoans());
+    }
+
+    @Test
+    void borrowIsRefusedAtTheLoanLimit() throws Exception {
+        for (int i = 0; i < AppConfig.MAX_BOOKS_PER_USER; i++) {
+            transactionService.borrowBook(bookId, userId);
+        }
+
+        TransactionException e = assertThrows(TransactionException.class,
+                () -> transactionService.borrowBook(bookId, userId));
+        assertTrue(e.getMessage().contains("maximum of " + AppConfig.MAX_BOOKS_PER_USER), e.getMessage());
+        assertEquals(1, library.bookDAO.findById(bookId).getAvailableCopies());
+        assertEquals(AppConfig.MAX_BOOKS_PER_USER, library.userDAO.findById(userId).getActiveLoans());
+    }
+
+    @Test
+    void borrowIsRefusedOverTheFineLimit() throws Exception {
+        returnLate((int) (AppConfig.MAX_OUTSTANDING_FINES / AppConfig.FINE_PER_DAY) + 1);
+
+        TransactionException e = assertThrows(TransactionException.class,
+                () -> transactionService.borrowBook(bookId, userId));
+        assertTrue(e.getMessage().startsWith("User owes"), e.getMessage());
+        assertEquals(0, library.userDAO.findById(userId).getActiveLoans());
+    }
+
+    @Test
+    void borrowIsAllowedAtExactlyTheFineLimit() throws Exception {
+        returnLate((int) (AppConfig.MAX_OUTSTANDING_FINES / AppConfig.FINE_PER_DAY));
+
+        assertTrue(transactionService.borrowBook(bookId, userId) > 0);
+    }
+
+    @Test
+    void paidFinesLiftTheLimit() throws Exception {
+        returnLate((int) (AppConfig.MAX_OUTSTANDING_FINES / AppConfig.FINE_PER_DAY) + 1);
+
+        library.userService.recordFinePayment(userId, AppConfig.FINE_PER_DAY);
+        assertTrue(transactionService.borrowBook(bookId, userId) > 0);
+    }
+
+    @Test
+    void heldCopyIsRefusedAtTheLoanLimitAndStaysSetAside() throws Exception {
+        int heldBookId = library.addBook("The Silmarillion", 1);
+        int otherUserId = library.addUser("Alan");
+        int loanId = transactionService.borrowBook(heldBookId, otherUserId);
+        int holdId = library.holdService.placeHold(heldBookId, userId);
+        transactionService.returnBook(loanId);
+        for (int i = 0; i < AppConfig.MAX_BOOKS_PER_USER; i++) {
+            transactionService.borrowBook(bookId, userId);
+        }
+
+        TransactionException e = assertThrows(TransactionException.class,
+                () -> transactionService.borrowBook(heldBookId, userId));
+        assertTrue(e.getMessage().contains("maximum of " + AppConfig.MAX_BOOKS_PER_USER), e.getMessage());
+        assertEquals(HoldStatus.READY, library.holdDAO.findById(holdId).getStatus());
+        assertEquals(0, library.bookDAO.findById(heldBookId).getAvailableCopies());
+    }
+
+    @Test
+    void refusalsNameTheirCause() throws Exception {
+        assertThrows(BookNotFoundException.class, () -> transactionService.borrowBook(bookId + 100, userId));
+        assertThrows(UserNotFoundException.class, () -> transactionService.borrowBook(bookId, userId + 100));
+        assertEquals(0, library.userDAO.findById(userId).getActiveLoans());
+    }
+
+    @Test
+    void returningAClosedLoanIsRefused() throws Exception {
+        int transactionId = transactionService.borrowBook(bookId, userId);
+        transactionService.returnBook(transactionId);
+
+        TransactionException e = assertThrows(TransactionException.class,
+                () -> transactionService.returnBook(transactionId));
+        assertEquals("Book is not currently borrowed", e.getMessage());
+        assertThrows(TransactionException.class, () -> transactionService.returnBook(transactionId + 100));
+    }
+}